@@ -0,0 +1,33 @@
+package chaos_room.bench;
+
+import chaos_room.model.CardCatalog;
+import chaos_room.model.Deck;
+import chaos_room.model.MonsterCard;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogBenchmark {
+
+    @Benchmark
+    public CardCatalog loadCatalog() {
+        return CardCatalog.load();
+    }
+
+    @Benchmark
+    public List<MonsterCard> getCardsFromJson() {
+        return Deck.getCardsFromJson("MonsterCards.json", MonsterCard.class);
+    }
+
+    @Benchmark
+    public Deck newDeck() {
+        return new Deck();
+    }
+}
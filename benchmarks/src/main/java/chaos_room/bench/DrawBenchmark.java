@@ -0,0 +1,40 @@
+package chaos_room.bench;
+
+import chaos_room.model.Card;
+import chaos_room.model.Game;
+import chaos_room.model.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DrawBenchmark {
+    private Player player;
+
+    @Setup
+    public void setUp() {
+        player = new Player("Bench", "Male");
+        new Game(Collections.singletonList(player));
+    }
+
+    // Every drawn card is discarded again, so the draw pile is reshuffled instead of running dry
+    @Benchmark
+    public Card drawDoorCard() {
+        Card card = player.drawDoorCard();
+        player.getDeck().discard(card);
+        return card;
+    }
+
+    @Benchmark
+    public Card drawTreasureCard() {
+        Card card = player.drawTreasureCard();
+        player.getDeck().discard(card);
+        return card;
+    }
+}
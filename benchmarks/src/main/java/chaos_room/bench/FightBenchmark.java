@@ -0,0 +1,44 @@
+package chaos_room.bench;
+
+import chaos_room.controller.BattleController;
+import chaos_room.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FightBenchmark {
+    // With a headless view the controllers skip building messages and menu titles
+    @Param({"false", "true"})
+    public boolean headless;
+
+    private Game game;
+    private Player player;
+    private BattleController battleController;
+    private MonsterCard monster;
+
+    @Setup
+    public void setUp() {
+        player = new Player("Bench", "Male");
+        game = new Game(Collections.singletonList(player));
+        battleController = new BattleController(game, new StubView(headless));
+        monster = (MonsterCard) CardCatalog.getInstance().getCard("MON-002");
+        // A full hand, so winning does not draw treasure and every invocation does the same work
+        while (player.getInventory().size() < player.getMaxCardsInHand()) {
+            player.getInventory().add(player.drawTreasureCard());
+        }
+    }
+
+    // The stub view always chooses "Fight", which this player always wins
+    @Benchmark
+    public FightOutcome handleFight() {
+        player.setLevel(20);
+        return battleController.handleFight(monster, player);
+    }
+}
@@ -0,0 +1,48 @@
+package chaos_room.bench;
+
+import chaos_room.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FightOddsBenchmark {
+    private Encounter cached;
+    private Encounter uncached;
+
+    // A warrior with a full hand of bonus cards and other cards against a strong monster
+    @Setup
+    public void setUp() {
+        MonsterCard monster = new MonsterCard("m1", "Dragon", CardType.MONSTER, "Strong", 30, "Lose levels", 1, 1, "dynamic", null, "drawPile", 30);
+        cached = new Encounter(monster, newPlayer(3, 2), 30, 5, true);
+        // More bonus cards than a cache signature holds, so every call runs the dynamic programming
+        uncached = new Encounter(monster, newPlayer(8, 4), 30, 5, true);
+    }
+
+    private static Player newPlayer(int bonusCards, int otherCards) {
+        Player player = new Player("Bench", "Male");
+        player.setLevel(4);
+        for (int i = 0; i < bonusCards; i++) {
+            player.getInventory().add(new OneTimeBonusCard("b" + i, "Potion", CardType.BONUS, "Bonus", 0, i % 2 == 0 ? 5 : 10, "drawPile"));
+        }
+        for (int i = 0; i < otherCards; i++) {
+            player.getInventory().add(new EquipmentCard("e" + i, "Helmet", CardType.EQUIPMENT, "Armor", 1, "head", 100, "drawPile"));
+        }
+        return player;
+    }
+
+    @Benchmark
+    public FightOdds cachedOdds() {
+        return FightOdds.of(cached);
+    }
+
+    @Benchmark
+    public FightOdds computedOdds() {
+        return FightOdds.of(uncached);
+    }
+}
@@ -0,0 +1,94 @@
+package chaos_room.bench;
+
+import chaos_room.controller.GameController;
+import chaos_room.model.Card;
+import chaos_room.model.Game;
+import chaos_room.model.GameJournal;
+import chaos_room.model.GameRandom;
+import chaos_room.model.Player;
+import chaos_room.sim.GreedyPolicy;
+import chaos_room.sim.HeadlessView;
+import chaos_room.sim.Simulation;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JournalBenchmark {
+    private Path dir;
+    private Player player;
+    private GameJournal journal;
+    private Path recorded;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("journal-bench");
+        player = new Player("Bench", "Male");
+        journal = GameJournal.start(dir.resolve("draws.journal"),
+                new Game(Collections.singletonList(player), new GameRandom(1)));
+
+        // A complete 4-player game to replay
+        recorded = dir.resolve("game.journal");
+        playGame(recorded);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.close();
+        for (Path file : new Path[] {dir.resolve("draws.journal"), recorded, dir.resolve("played.journal")}) {
+            Files.deleteIfExists(file);
+        }
+        Files.delete(dir);
+    }
+
+    private static Game playGame(Path journalFile) throws IOException {
+        Game game = new Game(Simulation.newPlayers(4), new GameRandom(42));
+        GameJournal journal = journalFile != null ? GameJournal.start(journalFile, game) : null;
+        try {
+            for (Player player : game.getPlayers()) {
+                player.starterPack();
+            }
+            GameController controller = new GameController(game, new HeadlessView(game, new GreedyPolicy()));
+            controller.setMaxTurns(Simulation.MAX_TURNS);
+            controller.playGame();
+        } finally {
+            if (journal != null) journal.close();
+        }
+        return game;
+    }
+
+    // Two journaled events per call; compare with DrawBenchmark.drawDoorCard
+    @Benchmark
+    public Card drawDoorCardJournaled() {
+        Card card = player.drawDoorCard();
+        player.getDeck().discard(card);
+        return card;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Game playGame() throws IOException {
+        return playGame(null);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Game playGameJournaled() throws IOException {
+        return playGame(dir.resolve("played.journal"));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Game replayGame() throws IOException {
+        return GameJournal.replay(recorded);
+    }
+}
@@ -0,0 +1,36 @@
+package chaos_room.bench;
+
+import chaos_room.metrics.Metrics;
+import chaos_room.model.CardType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+    // Run with -t 4 to see contended recording; -prof gc shows it allocates nothing
+    @Benchmark
+    public void countCardDrawn() {
+        Metrics.CARDS_DRAWN.increment(CardType.MONSTER);
+    }
+
+    @Benchmark
+    public void timeTurn() {
+        Metrics.TURN.recordSince(System.nanoTime());
+    }
+
+    @Benchmark
+    public void recordInputWait() {
+        Metrics.recordInputWait(1000);
+    }
+
+    @Benchmark
+    public String scrape() {
+        return Metrics.scrape();
+    }
+}
@@ -0,0 +1,50 @@
+package chaos_room.bench;
+
+import chaos_room.model.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerBenchmark {
+    private Game game;
+    private Player player;
+    private MonsterCard[] monsters;
+
+    @Setup
+    public void setUp() {
+        player = new Player("Bench", "Male");
+        game = new Game(Collections.singletonList(player));
+        player.setLevel(5);
+
+        // A full playerDeck: a race, a class and every equipment card
+        CardCatalog catalog = CardCatalog.getInstance();
+        for (Card card : catalog.getCards()) {
+            if ("race-dwarf".equals(card.getId()) || "class-warrior".equals(card.getId()) || card instanceof EquipmentCard) {
+                player.addCardToPlayerDeck(card);
+            }
+        }
+        monsters = catalog.getCards(CardType.MONSTER).toArray(new MonsterCard[0]);
+    }
+
+    @Benchmark
+    public int getStrength() {
+        return player.getStrength();
+    }
+
+    // Evaluates the tags of every monster in the catalog once
+    @Benchmark
+    @OperationsPerInvocation(13)
+    public void checkMonsterTags(Blackhole blackhole) {
+        for (MonsterCard monster : monsters) {
+            blackhole.consume(game.checkMonsterTags(monster, player));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package chaos_room.bench;
+
+import chaos_room.model.Game;
+import chaos_room.model.GameRandom;
+import chaos_room.model.GameSave;
+import chaos_room.model.Player;
+import chaos_room.sim.Simulation;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SaveBenchmark {
+    private Game game;
+    private byte[] saved;
+
+    // A 6-player game a few turns in, with full hands
+    @Setup
+    public void setUp() {
+        game = new Game(Simulation.newPlayers(6), new GameRandom(8));
+        for (Player player : game.getPlayers()) {
+            player.starterPack();
+            player.addCardToPlayerDeck(player.getInventory().get(0));
+        }
+        for (int i = 0; i < 9; i++) {
+            game.nextTurn();
+        }
+        saved = GameSave.toBytes(game);
+        System.out.println("\nSave size: " + saved.length + " bytes");
+    }
+
+    @Benchmark
+    public byte[] save() {
+        return GameSave.toBytes(game);
+    }
+
+    @Benchmark
+    public Game load() throws IOException {
+        return GameSave.fromBytes(saved);
+    }
+}
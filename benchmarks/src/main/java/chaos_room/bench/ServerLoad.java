@@ -0,0 +1,145 @@
+package chaos_room.bench;
+
+import chaos_room.model.CardJson;
+import chaos_room.server.GameApi;
+import chaos_room.server.GameHttpServer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Loopback load test for the HTTP server mode. Opens many sessions, reports the heap
+ * and threads they hold while idle at their first menu, then plays menu actions from a
+ * few client threads and reports the latency from posting a choice to seeing the next menu.
+ *
+ *   java -cp target/benchmarks.jar chaos_room.bench.ServerLoad [sessions] [clients] [actions per client]
+ */
+public class ServerLoad {
+    private static String base;
+
+    public static void main(String[] args) throws Exception {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int actions = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+
+        GameApi api = new GameApi(newExecutor("game-"), sessions);
+        try (GameHttpServer server = new GameHttpServer(new InetSocketAddress("127.0.0.1", 0), api, newExecutor("http-"))) {
+            server.start();
+            base = "http://127.0.0.1:" + server.getPort() + GameHttpServer.API_ROOT + "/games";
+
+            long heapBefore = usedHeap();
+            int threadsBefore = Thread.activeCount();
+            String[] ids = new String[sessions];
+            for (int i = 0; i < sessions; i++) {
+                ids[i] = request("POST", base, "{\"players\": [\"P" + i + "\"], \"seed\": " + i + "}").get("id").asText();
+            }
+            // Every game is now parked at its first menu
+            for (String id : ids) {
+                request("GET", base + "/" + id + "?wait=10000", null);
+            }
+            long heapAfter = usedHeap();
+            System.out.printf("%d idle sessions: %.1f KB heap and %.2f threads per session%n", sessions,
+                    (heapAfter - heapBefore) / 1024.0 / sessions, (Thread.activeCount() - threadsBefore) / (double) sessions);
+
+            ExecutorService pool = newExecutor("client-");
+            List<Future<long[]>> results = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                results.add(pool.submit(() -> play(ids, client, clients, actions)));
+            }
+            long[] all = new long[0];
+            for (Future<long[]> result : results) {
+                long[] latencies = result.get();
+                int offset = all.length;
+                all = Arrays.copyOf(all, offset + latencies.length);
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+            }
+            pool.shutdown();
+            Arrays.sort(all);
+            System.out.printf("%d menu actions from %d clients: p50 %.2f ms, p99 %.2f ms, max %.2f ms%n", all.length, clients,
+                    all[all.length / 2] / 1e6, all[(int) (all.length * 0.99)] / 1e6, all[all.length - 1] / 1e6);
+        }
+    }
+
+    private static ExecutorService newExecutor(String prefix) {
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, prefix);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Answers menus in this client's share of the sessions, round robin, until a game ends
+    private static long[] play(String[] ids, int client, int clients, int actions) throws IOException {
+        long[] latencies = new long[actions];
+        long[] after = new long[ids.length];
+        int played = 0;
+        int session = client;
+        while (played < actions) {
+            String id = ids[session];
+            JsonNode state = request("GET", base + "/" + id + "?wait=10000&after=" + after[session], null);
+            long menu = state.get("pendingMenu").asLong();
+            if (state.get("over").asBoolean() || menu == 0) break;
+            int choice = 2; // kick open the door, or the third option of whatever is asked
+            for (JsonNode event : state.get("events")) {
+                if (event.get("id").asLong() == menu && event.get("options").size() <= choice) {
+                    choice = 0;
+                }
+            }
+            after[session] = state.get("lastEventId").asLong();
+            long start = System.nanoTime();
+            request("POST", base + "/" + id + "/choice", "{\"menu\": " + menu + ", \"choice\": " + choice + "}");
+            request("GET", base + "/" + id + "?wait=10000&after=" + after[session], null);
+            latencies[played++] = System.nanoTime() - start;
+            session += clients;
+            if (session >= ids.length) session = client;
+        }
+        return Arrays.copyOf(latencies, played);
+    }
+
+    private static JsonNode request(String method, String url, String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setRequestMethod(method);
+        if (body != null) {
+            connection.setDoOutput(true);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int status = connection.getResponseCode();
+        if (status == 204) return null;
+        if (status != 200) throw new IOException(method + " " + url + " returned " + status);
+        try (InputStream in = connection.getInputStream()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                bytes.write(buffer, 0, n);
+            }
+            return CardJson.mapper().readTree(bytes.toByteArray());
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,193 @@
+package chaos_room.bench;
+
+import chaos_room.server.GameSocketServer;
+import chaos_room.server.SessionThreads;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Loopback load test for the socket server mode. The server runs in a child JVM (started
+ * with the same java as this one) so its heap and threads can be measured apart from the
+ * clients. Connects many players, reports what they cost the server while idle at their
+ * first menu, then plays menu actions from a few client threads and reports the latency
+ * from sending an answer to receiving the next prompt.
+ *
+ *   java -cp target/benchmarks.jar chaos_room.bench.SocketLoad [sessions] [clients] [actions per client]
+ */
+public class SocketLoad {
+    private static final byte[] PROMPT_END = "\r\n> ".getBytes(StandardCharsets.UTF_8);
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && "serve".equals(args[0])) {
+            serve();
+            return;
+        }
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int actions = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process server = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), SocketLoad.class.getName(), "serve")
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        List<Client> all = new ArrayList<>(sessions);
+        try {
+            BufferedReader serverOut = new BufferedReader(new InputStreamReader(server.getInputStream(), StandardCharsets.UTF_8));
+            PrintStream serverIn = new PrintStream(server.getOutputStream(), true, "UTF-8");
+            int port = Integer.parseInt(serverOut.readLine());
+            long[] before = stats(serverIn, serverOut);
+
+            for (int i = 0; i < sessions; i++) {
+                Client client = new Client(port);
+                client.readPrompt("name?\r\n".getBytes(StandardCharsets.UTF_8));
+                client.send("P" + i);
+                client.readPrompt(PROMPT_END);
+                all.add(client);
+            }
+            long[] after = stats(serverIn, serverOut);
+            System.out.printf("%d idle sessions (%s threads): %.1f KB heap per session, %d platform threads, %d sessions on the server%n",
+                    sessions, after[3] == 1 ? "virtual" : "platform", (after[0] - before[0]) / 1024.0 / sessions,
+                    after[1], after[2]);
+
+            ExecutorService pool = Executors.newFixedThreadPool(clients, runnable -> {
+                Thread thread = new Thread(runnable, "client");
+                thread.setDaemon(true);
+                return thread;
+            });
+            List<Future<long[]>> results = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                int first = c;
+                results.add(pool.submit(() -> play(all, first, clients, actions)));
+            }
+            long[] latencies = new long[0];
+            for (Future<long[]> result : results) {
+                long[] part = result.get();
+                int offset = latencies.length;
+                latencies = Arrays.copyOf(latencies, offset + part.length);
+                System.arraycopy(part, 0, latencies, offset, part.length);
+            }
+            pool.shutdown();
+            Arrays.sort(latencies);
+            System.out.printf("%d menu actions from %d clients: p50 %.2f ms, p99 %.2f ms, max %.2f ms%n", latencies.length, clients,
+                    latencies[latencies.length / 2] / 1e6, latencies[(int) (latencies.length * 0.99)] / 1e6,
+                    latencies[latencies.length - 1] / 1e6);
+        } finally {
+            for (Client client : all) {
+                client.socket.close();
+            }
+            server.destroy();
+        }
+    }
+
+    // Answers menus in this client thread's share of the sessions, round robin
+    private static long[] play(List<Client> all, int first, int step, int actions) throws IOException {
+        long[] latencies = new long[actions];
+        int played = 0;
+        int index = first;
+        int misses = 0;
+        while (played < actions && misses < all.size()) {
+            Client client = all.get(index);
+            index += step;
+            if (index >= all.size()) index = first;
+            if (client.over) {
+                misses++;
+                continue;
+            }
+            // Kick open the door when the turn menu is up, otherwise take the first option
+            long start = System.nanoTime();
+            client.send(client.options >= 3 ? "3" : "1");
+            if (client.readPrompt(PROMPT_END)) {
+                latencies[played++] = System.nanoTime() - start;
+                misses = 0;
+            }
+        }
+        return Arrays.copyOf(latencies, played);
+    }
+
+    // Heap used after GC, platform thread count, open sessions, and 1 if sessions run on virtual threads
+    private static long[] stats(PrintStream serverIn, BufferedReader serverOut) throws IOException {
+        serverIn.println("stats");
+        String[] fields = serverOut.readLine().split(" ");
+        long[] values = new long[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            values[i] = Long.parseLong(fields[i]);
+        }
+        return values;
+    }
+
+    private static void serve() throws Exception {
+        GameSocketServer server = new GameSocketServer(new InetSocketAddress("127.0.0.1", 0),
+                SessionThreads.newPerSessionExecutor("player-"));
+        server.start();
+        System.out.println(server.getPort());
+        BufferedReader commands = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        while (commands.readLine() != null) {
+            for (int i = 0; i < 3; i++) {
+                System.gc();
+                Thread.sleep(100);
+            }
+            System.out.println(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed()
+                    + " " + ManagementFactory.getThreadMXBean().getThreadCount()
+                    + " " + server.getSessionCount()
+                    + " " + (SessionThreads.isVirtualAvailable() ? 1 : 0));
+        }
+        server.close();
+    }
+
+    private static final class Client {
+        final Socket socket;
+        final InputStream in;
+        final OutputStream out;
+        int options;
+        boolean over;
+
+        Client(int port) throws IOException {
+            socket = new Socket("127.0.0.1", port);
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(30_000);
+            in = new BufferedInputStream(socket.getInputStream(), 512);
+            out = socket.getOutputStream();
+        }
+
+        void send(String line) throws IOException {
+            out.write((line + "\r\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+
+        // Reads up to the given ending, counting the menu options on the way. False once the game is over.
+        boolean readPrompt(byte[] end) throws IOException {
+            options = 0;
+            byte[] recent = new byte[end.length];
+            long read = 0;
+            while (true) {
+                int b = in.read();
+                if (b < 0) {
+                    over = true;
+                    return false;
+                }
+                System.arraycopy(recent, 1, recent, 0, recent.length - 1);
+                recent[recent.length - 1] = (byte) b;
+                read++;
+                if (b == ')' && recent.length > 1 && recent[recent.length - 2] >= '1' && recent[recent.length - 2] <= '9') options++;
+                if (read >= end.length && Arrays.equals(recent, end)) return true;
+            }
+        }
+    }
+}
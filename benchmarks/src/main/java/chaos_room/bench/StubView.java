@@ -0,0 +1,41 @@
+package chaos_room.bench;
+
+import chaos_room.model.Card;
+import chaos_room.model.Player;
+import chaos_room.view.GameView;
+
+// Always picks the first option and throws every message away
+public class StubView implements GameView {
+    private final boolean headless;
+
+    public StubView(boolean headless) {
+        this.headless = headless;
+    }
+
+    @Override
+    public int displayMenu(Object[] options, String title) {
+        return 0;
+    }
+
+    @Override
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    @Override
+    public void displayMessage(String message) {
+    }
+
+    @Override
+    public void waitForInput() {
+    }
+
+    @Override
+    public String getCardInfo(Card card) {
+        return "";
+    }
+
+    @Override
+    public void displayGameOver(Player player) {
+    }
+}
@@ -1,34 +1,97 @@
+import chaos_room.metrics.MetricsServer;
 import chaos_room.model.*;
 import chaos_room.view.ConsoleView;
 import chaos_room.controller.GameController;
+import chaos_room.sim.BotSeatView;
+import chaos_room.sim.DecisionPolicy;
+import chaos_room.sim.MctsPolicy;
+import chaos_room.sim.Simulation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 
 public class Main {
-    public static void main(String[] args) throws InterruptedException {
-        ConsoleView view = new ConsoleView();
-        view.displayWelcomeMessage();
-        
-        int playerCount = view.askForNumberOfPlayers();
-        List<Player> players = new ArrayList<>();
-        
-        for (int i = 0; i < playerCount; i++) {
-            view.displayMessage("Registering Player " + (i + 1));
-            players.add(view.registration());
-            view.displaySeparator();
-        }
-        
-        Game game = new Game(players);
-        GameController controller = new GameController(game, view);
-
-        for (Player p : players) {
-            p.starterPack();
-            view.displayMessage("Inventory of player " + p.getName() + ":");
-            for (Card card : p.getInventory()) {
-                view.displayMessage(String.format("- %s (Type: %s, Description: %s)", card.getName(), card.getType(), card.getDescription()));
+    public static final String SAVE_PROPERTY = "chaos_room.save";
+    private static final int MAX_PLAYERS = 6;
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        // Closing a null resource is skipped, so the metrics endpoint stays optional
+        try (ConsoleView view = new ConsoleView(); MetricsServer metrics = MetricsServer.startIfConfigured()) {
+            view.displayWelcomeMessage();
+            // The intro plays on its own timer; load the cards meanwhile
+            CardCatalog.getInstance();
+            if (metrics != null) view.displayMessage("Metrics at http://localhost:" + metrics.getPort() + MetricsServer.PATH);
+
+            Path savePath = Paths.get(System.getProperty(SAVE_PROPERTY, "chaos_room.sav"));
+            Game game = null;
+            if (Files.exists(savePath)
+                    && view.displayMenu(new String[] {"Continue saved game", "New game"}, "A saved game was found") == 0) {
+                try {
+                    game = GameSave.load(savePath);
+                } catch (IOException e) {
+                    view.displayMessage("The saved game could not be loaded: " + e.getMessage());
+                    view.waitForInput();
+                }
+            }
+
+            if (game == null) {
+                int playerCount = view.askForNumberOfPlayers();
+                List<Player> players = new ArrayList<>();
+
+                for (int i = 0; i < playerCount; i++) {
+                    view.displayMessage("Registering Player " + (i + 1));
+                    players.add(view.registration());
+                    view.displaySeparator();
+                }
+                if (playerCount < MAX_PLAYERS) {
+                    String[] counts = new String[MAX_PLAYERS - playerCount + 1];
+                    counts[0] = "None";
+                    for (int i = 1; i < counts.length; i++) {
+                        counts[i] = String.valueOf(i);
+                    }
+                    players.addAll(Simulation.newPlayers(view.displayMenu(counts, "Computer opponents:")));
+                }
+
+                game = new Game(players);
+
+                for (Player p : players) {
+                    p.starterPack();
+                    view.displayMessage("Inventory of player " + p.getName() + ":");
+                    for (Card card : p.getInventory()) {
+                        view.displayMessage(String.format("- %s (Type: %s, Description: %s)", card.getName(), card.getType(), card.getDescription()));
+                    }
+                }
+            }
+            Map<Player, DecisionPolicy> bots = new IdentityHashMap<>();
+            for (Player p : game.getPlayers()) {
+                if (p.isBot()) bots.put(p, new MctsPolicy());
+            }
+            GameController controller = new GameController(game, bots.isEmpty() ? view : new BotSeatView(game, view, bots));
+
+            Autosave autosave = new Autosave(savePath);
+            autosave.save(game);
+            game.addListener(autosave);
+            // A resumed game is journaled from where it was saved
+            GameJournal journal = null;
+            try {
+                journal = GameJournal.startIfConfigured(game, "console-" + System.currentTimeMillis());
+            } catch (IOException e) {
+                view.displayMessage("This game is not being journaled: " + e.getMessage());
+            }
+            try {
+                controller.startGame();
+            } finally {
+                if (journal != null) journal.close();
             }
+            // The game is over, so there is nothing left to continue
+            autosave.delete();
         }
-        controller.startGame();
     }
 }
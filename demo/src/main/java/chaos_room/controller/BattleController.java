@@ -1,13 +1,16 @@
 package chaos_room.controller;
 
+import chaos_room.metrics.Metrics;
 import chaos_room.model.*;
+import chaos_room.view.Decision;
 import chaos_room.view.GameView;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 public class BattleController {
+    private static final String[] FIGHT_OPTIONS = {"Fight", "Use Bonus Card"};
+    private static final String[] WARRIOR_FIGHT_OPTIONS = {"Fight", "Use Bonus Card", "Warrior Rage (Discard for +3)"};
+
     private Game game;
     private GameView view;
 
@@ -16,156 +19,175 @@ public class BattleController {
         this.view = view;
     }
 
-    public void handleFight(MonsterCard monster, Player player) {
-        // Reset monster strength
-        monster.setStrength(monster.getLevel());
-        game.checkMonsterTags(monster, player);
-        
-        boolean fightOver = false;
-        int playerBonus = 0;
-        int warriorBonusUsed = 0;
-
-        while (!fightOver) {
-            int currentStrength = Math.max(1, player.getStrength() + playerBonus);
-            String status = String.format("Battle! Player Strength: %d (Lvl %d + Equip %d + Bonus %d) vs Monster Strength: %d\n |   |  Choose combat action:", 
-                currentStrength, player.getLevel(), player.getStrength() - player.getLevel(), playerBonus, monster.getStrength());
-            
-            boolean isWarrior = player.getPlayerDeck().stream().anyMatch(c -> "class-warrior".equals(c.getId()));
-            String[] options;
-            // Warrior can discard cards for bonus
-            if (isWarrior && warriorBonusUsed < 3) {
-                options = new String[]{"Fight", "Use Bonus Card", "Warrior Rage (Discard for +3)"};
-            } else {
-                options = new String[]{"Fight", "Use Bonus Card"};
+    public FightOutcome handleFight(MonsterCard monster, Player player) {
+        int monsterStrength = game.checkMonsterTags(monster, player);
+        boolean isWarrior = player.hasTrait(Trait.WARRIOR);
+        Encounter encounter = new Encounter(monster, player, monsterStrength, game.getEscapeTarget(monster, player), isWarrior);
+        game.setEncounter(encounter);
+        FightOutcome outcome = null;
+        int levelsLost = 0;
+
+        while (outcome == null) {
+            String status = null;
+            if (!view.isHeadless()) {
+                status = String.format("Battle! Player Strength: %d (Lvl %d + Equip %d + Bonus %d) vs Monster Strength: %d\n |   |  %s\n |   |  Choose combat action:", 
+                    encounter.getPlayerStrength(), player.getLevel(), player.getStrength() - player.getLevel(), encounter.getPlayerBonus(), encounter.getMonsterStrength(),
+                    describeOdds(FightOdds.of(encounter)));
             }
 
-            int choice = view.displayMenu(options, status);
+            // Warrior can discard cards for bonus
+            boolean canRage = encounter.canRage();
+            int choice = view.displayMenu(Decision.FIGHT_ACTION, canRage ? WARRIOR_FIGHT_OPTIONS : FIGHT_OPTIONS, status);
             
-            if (!isWarrior || warriorBonusUsed >= 3) {
+            if (!canRage) {
                 if (choice == 2) choice = 3; 
             }
 
             switch (choice) {
                 case 0:
-                    boolean win = isWarrior ? currentStrength >= monster.getStrength() : currentStrength > monster.getStrength();
-                    
-                    if (win) {
+                    if (encounter.isPlayerWinning()) {
                         handleMonsterDefeated(monster, player);
-                        fightOver = true;
+                        outcome = FightOutcome.WON;
                     } else {
-                        view.displayMessage("You are too weak! You lost the fight!");
-                        Random rand = new Random();
-                        int dieFace = rand.nextInt(6) + 1; 
-                        view.displayMessage("You try to run away... Rolled a " + dieFace);
+                        int dieFace = game.rollDie();
+                        encounter.setEscapeRoll(dieFace);
+                        if (!view.isHeadless()) {
+                            view.displayMessage("You are too weak! You lost the fight!");
+                            view.displayMessage("You try to run away... Rolled a " + dieFace);
+                        }
                         
-                        if (dieFace >= player.getEscapeChances()) {
+                        if (dieFace >= encounter.getEscapeTarget()) {
                             handlePlayerEscaped(monster, player);
+                            outcome = FightOutcome.ESCAPED;
                         } else {
-                            view.displayMessage("Escape failed!");
+                            if (!view.isHeadless()) view.displayMessage("Escape failed!");
                             view.waitForInput();
-                            handlePlayerDefeated(monster, player);
+                            levelsLost = handlePlayerDefeated(monster, player);
+                            outcome = FightOutcome.DEFEATED;
                         }
-                        fightOver = true;
                     }
                     break;
                 case 1: 
                     Card selected = promptBonusCardSelection(player);
                     if (selected != null) {
-                        playerBonus += ((OneTimeBonusCard)selected).getBattleBonus();
-                        player.getInventory().remove(selected);
-                        view.displayMessage("Used " + selected.getName() + "! Bonus +" + ((OneTimeBonusCard)selected).getBattleBonus());
+                        int bonus = ((OneTimeBonusCard) selected).getBattleBonus();
+                        encounter.useBonusCard(bonus);
+                        game.getRecorder().bonusUsed(player, selected, bonus);
+                        player.discard(selected);
+                        if (!view.isHeadless()) view.displayMessage("Used " + selected.getName() + "! Bonus +" + bonus);
                         view.waitForInput();
                     }
                     break;
                 case 2:
                     Card toDiscard = promptCardSelection(player);
                     if (toDiscard != null) {
-                        player.getInventory().remove(toDiscard);
-                        playerBonus += 3;
-                        warriorBonusUsed++;
-                        view.displayMessage("Warrior Rage! Discarded " + toDiscard.getName() + " for +3 Strength.");
+                        player.discard(toDiscard);
+                        encounter.rage();
+                        if (!view.isHeadless()) view.displayMessage("Warrior Rage! Discarded " + toDiscard.getName() + " for +3 Strength.");
                         view.waitForInput();
                     }
                     break;
             }
         }
+        // Defeated, escaped or not, the monster goes to the discard pile
+        game.getDeck().discard(monster);
+        game.fireFightResolved(monster, player, outcome, levelsLost);
+        game.setEncounter(null);
+        if (!view.isHeadless()) Metrics.FIGHTS.increment(outcome);
+        return outcome;
+    }
+
+    private String describeOdds(FightOdds odds) {
+        if (odds.isWinningNow()) return "Odds: you win if you fight now.";
+        String plan = odds.canWin()
+                ? String.format("Playing %d card%s wins (%d of %d plays win).", odds.getCardsToWin(), odds.getCardsToWin() == 1 ? "" : "s", odds.getWinningPlays(), odds.getPlays())
+                : "No play of your cards wins.";
+        return String.format("Odds if you fight now: escape %.0f%%, Bad Stuff %.0f%% (%.1f levels lost on average). %s",
+                odds.getEscapeChance() * 100, odds.getBadStuffChance() * 100, odds.getExpectedLevelsLost(), plan);
     }
 
     private void handleMonsterDefeated(MonsterCard monster, Player player) {
-        view.displayMessage("Congratulations! You have defeated the monster: " + monster.getName());
-        view.displayMessage("You gain " + monster.getTreasure() + " treasures and " + monster.getLevelsGained() + " levels.");
+        boolean headless = view.isHeadless();
+        if (!headless) {
+            view.displayMessage("Congratulations! You have defeated the monster: " + monster.getName());
+            view.displayMessage("You gain " + monster.getTreasure() + " treasures and " + monster.getLevelsGained() + " levels.");
+        }
         
+        int oldLevel = player.getLevel();
         player.levelUp(monster.getLevelsGained());
-        view.displayMessage(String.format("Player %s leveled up to level %d!", player.getName(), player.getLevel()));
+        if (!headless) Metrics.LEVELS_GAINED.add(player.getLevel() - oldLevel);
+        if (!headless) view.displayMessage(String.format("Player %s leveled up to level %d!", player.getName(), player.getLevel()));
 
         for (int i = 0; i < monster.getTreasure(); i++) {
             if (player.getInventory().size() >= player.getMaxCardsInHand()) {
-                view.displayMessage("You cannot take more cards, your inventory is full.");
+                if (!headless) view.displayMessage("You cannot take more cards, your inventory is full.");
             } else {
                 Card treasure = player.drawTreasureCard();
-                player.getInventory().add(treasure);
-                view.displayMessage("Player " + player.getName() + " took a treasure card: " + treasure.getName());
+                if (treasure == null) {
+                    if (!headless) view.displayMessage("There are no treasure cards left to draw.");
+                    break;
+                }
+                player.addToInventory(treasure);
+                if (!headless) view.displayMessage("Player " + player.getName() + " took a treasure card: " + treasure.getName());
             }
         }
         view.waitForInput();
     }
 
     private void handlePlayerEscaped(MonsterCard monster, Player player) {
-        view.displayMessage("You successfully escaped from the monster: " + monster.getName());
+        if (!view.isHeadless()) view.displayMessage("You successfully escaped from the monster: " + monster.getName());
         view.waitForInput();
     }
 
-    private void handlePlayerDefeated(MonsterCard monster, Player player) {
-        view.displayMessage("Bad Stuff: " + monster.getNastyEffect());
+    // Returns the number of levels the player actually lost
+    private int handlePlayerDefeated(MonsterCard monster, Player player) {
+        boolean headless = view.isHeadless();
+        if (!headless) view.displayMessage("Bad Stuff: " + monster.getNastyEffect());
         
-        int lost = 0;
-        Object levelsLostObj = monster.getLevelsLost();
-
-        if (levelsLostObj instanceof Number) {
-            lost = ((Number) levelsLostObj).intValue();
-        } else if (levelsLostObj instanceof String) {
-            String s = (String) levelsLostObj;
-            if ("dynamic".equalsIgnoreCase(s)) {
-                Random rand = new Random();
-                lost = rand.nextInt(6) + 1;
-                view.displayMessage("Rolling die for level loss... Result: " + lost);
-            } else {
-                try {
-                    lost = Integer.parseInt(s);
-                } catch (NumberFormatException e) {}
-            }
+        MonsterModifiers modifiers = monster.getModifiers();
+        int lost = modifiers.getLevelsLost();
+        if (modifiers.isDynamicLevelsLost()) {
+            lost = game.rollDie();
+            if (!headless) view.displayMessage("Rolling die for level loss... Result: " + lost);
         }
 
+        int oldLevel = player.getLevel();
         if (lost > 0) {
-            int oldLevel = player.getLevel();
             int newLevel = Math.max(1, oldLevel - lost);
             player.setLevel(newLevel);
-            if (oldLevel > newLevel) {
-                view.displayMessage("You lost " + (oldLevel - newLevel) + " levels. Current level: " + newLevel);
-            } else {
-                view.displayMessage("You are already at level 1, so you cannot lose more levels.");
+            if (!headless) {
+                if (oldLevel > newLevel) {
+                    view.displayMessage("You lost " + (oldLevel - newLevel) + " levels. Current level: " + newLevel);
+                } else {
+                    view.displayMessage("You are already at level 1, so you cannot lose more levels.");
+                }
             }
         }
         
         view.waitForInput();
+        if (!headless) Metrics.LEVELS_LOST.add(oldLevel - player.getLevel());
+        return oldLevel - player.getLevel();
     }
 
     private Card promptCardSelection(Player player) {
         List<Card> inventory = player.getInventory();
         if (inventory.isEmpty()) {
-            view.displayMessage("Inventory is empty.");
+            if (!view.isHeadless()) view.displayMessage("Inventory is empty.");
             return null;
         }
         
         String[] cardNames = new String[inventory.size() + 1];
-        for (int i = 0; i < inventory.size(); i++) {
-            Card c = inventory.get(i);
-            String details = c.getDetails();
-            cardNames[i] = c.getName() + " (Type: " + c.getClass().getSimpleName() + ")" + details;
+        if (!view.isHeadless()) {
+            for (int i = 0; i < inventory.size(); i++) {
+                Card c = inventory.get(i);
+                String details = c.getDetails();
+                cardNames[i] = c.getName() + " (Type: " + c.getClass().getSimpleName() + ")" + details;
+            }
         }
         cardNames[inventory.size()] = "Cancel";
 
-        int selected = view.displayMenu(cardNames, "[" + player.getName() + "] Select a card:");
+        String title = view.isHeadless() ? null : "[" + player.getName() + "] Select a card:";
+        int selected = view.displayMenu(Decision.RAGE_DISCARD, cardNames, title);
         
         if (selected == inventory.size()) return null;
         
@@ -173,28 +195,25 @@ public class BattleController {
     }
 
     private Card promptBonusCardSelection(Player player) {
-        List<Card> inventory = player.getInventory();
-        List<Card> bonusCards = new ArrayList<>();
-        for (Card c : inventory) {
-            if (c.getType() == CardType.BONUS) {
-                bonusCards.add(c);
-            }
-        }
+        List<Card> bonusCards = player.getInventory(CardType.BONUS);
 
         if (bonusCards.isEmpty()) {
-            view.displayMessage("You have no one-time bonus cards!");
+            if (!view.isHeadless()) view.displayMessage("You have no one-time bonus cards!");
             view.waitForInput();
             return null;
         }
 
         String[] cardNames = new String[bonusCards.size() + 1];
-        for (int i = 0; i < bonusCards.size(); i++) {
-            Card c = bonusCards.get(i);
-            cardNames[i] = c.getName() + c.getDetails();
+        if (!view.isHeadless()) {
+            for (int i = 0; i < bonusCards.size(); i++) {
+                Card c = bonusCards.get(i);
+                cardNames[i] = c.getName() + c.getDetails();
+            }
         }
         cardNames[bonusCards.size()] = "Cancel";
 
-        int selected = view.displayMenu(cardNames, "[" + player.getName() + "] Select a bonus card to use:");
+        String title = view.isHeadless() ? null : "[" + player.getName() + "] Select a bonus card to use:";
+        int selected = view.displayMenu(Decision.BONUS_CARD, cardNames, title);
         
         if (selected == bonusCards.size()) return null;
         
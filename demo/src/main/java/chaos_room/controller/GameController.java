@@ -1,55 +1,71 @@
 package chaos_room.controller;
 
+import chaos_room.metrics.Metrics;
+import chaos_room.metrics.MonsterHistograms;
 import chaos_room.model.*;
+import chaos_room.view.Decision;
 import chaos_room.view.GameView;
 
 public class GameController {
+    public static final int WINNING_LEVEL = 10;
+    private static final String[] TURN_OPTIONS = {"Manage Inventory", "View Equipped Cards", "Kick Open Door (Draw Card)", "End Turn"};
+
     private Game game;
     private GameView view;
     private BattleController battleController;
     private InventoryController inventoryController;
+    private int maxTurns;
 
     public GameController(Game game, GameView view) {
         this.game = game;
         this.view = view;
         this.battleController = new BattleController(game, view);
         this.inventoryController = new InventoryController(view, this.battleController);
+        game.getDeck().setMetered(!view.isHeadless());
+        // Simulations add their own histograms; played games count towards the process-wide ones
+        if (!view.isHeadless()) game.addListener(MonsterHistograms.global());
     }
 
     public void startGame() {
-        while (true) {
+        GameResult result = playGame();
+        if (result.hasWinner()) {
+            gameOver(result.getWinner());
+        }
+    }
+
+    // Plays turns until someone starts their turn at the winning level, or until the turn limit
+    public GameResult playGame() {
+        while (maxTurns <= 0 || game.getTurn() <= maxTurns) {
             Player currentPlayer = game.getCurrentPlayer();
-            view.displayMessage(String.format("Turn %d: Player %s's move", game.getTurn(), currentPlayer.getName()));
+            // Win at level 10
+            if (currentPlayer.getLevel() >= WINNING_LEVEL) {
+                return new GameResult(currentPlayer, game.getTurn());
+            }
+            if (!view.isHeadless()) view.displayMessage(String.format("Turn %d: Player %s's move", game.getTurn(), currentPlayer.getName()));
             playTurn(currentPlayer);
             game.nextTurn();
-            view.displayMessage(currentPlayer.getName() + " has finished their turn.");
+            if (!view.isHeadless()) view.displayMessage(currentPlayer.getName() + " has finished their turn.");
         }
+        return new GameResult(null, maxTurns);
+    }
+
+    // A limit of 0 or less lets the game run until somebody wins
+    public void setMaxTurns(int maxTurns) {
+        this.maxTurns = maxTurns;
     }
 
     private void playTurn(Player player) {
-        // Win at level 10
-        if (player.getLevel() >= 10) {
-            try {
-                gameOver(player);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-            return;
-        }
+        long start = System.nanoTime();
+        long inputWait = Metrics.inputWaitNanos();
         boolean turnOver = false;
         while (!turnOver) {
-            String race = "Human";
-            String pClass = "Citizen";
-
-            for (Card c : player.getPlayerDeck()) {
-                if (CardType.RACE == c.getType()) {
-                    race = c.getName();
-                } else if (CardType.CLASS == c.getType()) {
-                    pClass = c.getName();
-                }
+            String title = null;
+            if (!view.isHeadless()) {
+                String race = player.getRace() != null ? player.getRace().getName() : "Human";
+                String pClass = player.getPlayerClass() != null ? player.getPlayerClass().getName() : "Citizen";
+                title = String.format("Turn %d | Player: %s (Lvl %d) (Strength %d)\n(Character %s %s) | Choose action:", game.getTurn(), player.getName(), player.getLevel(), player.getStrength(), race, pClass);
             }
-            String title = String.format("Turn %d | Player: %s (Lvl %d) (Strength %d)\n(Character %s %s) | Choose action:", game.getTurn(), player.getName(), player.getLevel(), player.getStrength(), race, pClass);
-            int choice = view.displayMenu(new String[]{"Manage Inventory", "View Equipped Cards", "Kick Open Door (Draw Card)", "End Turn"}, title);
+            int choice = view.displayMenu(Decision.TURN_ACTION, TURN_OPTIONS, title);
             switch (choice) {
                 case 0:
                     boolean fought = inventoryController.handleInventoryManagement(player);
@@ -60,36 +76,49 @@ public class GameController {
                     view.waitForInput();
                     break;
                 case 2:
-                    // Phase 1: Kick Open The Door
-                    view.displayMessage(player.getName() + " kicks open the door!");
-                    Card drawnCard = player.drawDoorCard(); 
-                    view.displayMessage("Player " + player.getName() + " drew a card: " + drawnCard.getName());
-                    
-                    if (drawnCard instanceof MonsterCard) {
-                        view.displayMessage("It's a monster! " + drawnCard.getName() + " (Level " + ((MonsterCard)drawnCard).getLevel() + ")");
-                        view.waitForInput();
-                        battleController.handleFight((MonsterCard) drawnCard, player);
-                    } else {
-                        if (player.getInventory().size() >= player.getMaxCardsInHand()) {
-                            view.displayMessage("Inventory full! You cannot carry more cards. " + drawnCard.getName() + " is discarded.");
-                        } else {
-                            view.displayMessage("You found a " + drawnCard.getName() + " (" + drawnCard.getDescription() + "). Added to inventory.");
-                            player.getInventory().add(drawnCard);
-                        }
-                        view.waitForInput();
-                    }
-                    turnOver = true;
+                    turnOver = kickOpenDoor(player);
                     break;
                 case 3:
-                    view.displayMessage(player.getName() + " ends their turn.");
+                    if (!view.isHeadless()) view.displayMessage(player.getName() + " ends their turn.");
                     turnOver = true;
                     break;
             }
         }
+        if (!view.isHeadless()) {
+            Metrics.TURN.record(System.nanoTime() - start - (Metrics.inputWaitNanos() - inputWait));
+        }
+    }
+
+    // Phase 1: Kick Open The Door
+    private boolean kickOpenDoor(Player player) {
+        boolean headless = view.isHeadless();
+        if (!headless) view.displayMessage(player.getName() + " kicks open the door!");
+        Card drawnCard = player.drawDoorCard(); 
+        if (drawnCard == null) {
+            if (!headless) view.displayMessage("The room is empty. There are no door cards left to draw.");
+            view.waitForInput();
+            return true;
+        }
+        if (!headless) view.displayMessage("Player " + player.getName() + " drew a card: " + drawnCard.getName());
+        
+        if (drawnCard instanceof MonsterCard) {
+            if (!headless) view.displayMessage("It's a monster! " + drawnCard.getName() + " (Level " + ((MonsterCard)drawnCard).getLevel() + ")");
+            view.waitForInput();
+            battleController.handleFight((MonsterCard) drawnCard, player);
+        } else {
+            if (player.getInventory().size() >= player.getMaxCardsInHand()) {
+                if (!headless) view.displayMessage("Inventory full! You cannot carry more cards. " + drawnCard.getName() + " is discarded.");
+                player.getDeck().discard(drawnCard);
+            } else {
+                if (!headless) view.displayMessage("You found a " + drawnCard.getName() + " (" + drawnCard.getDescription() + "). Added to inventory.");
+                player.addToInventory(drawnCard);
+            }
+            view.waitForInput();
+        }
+        return true;
     }
 
-    private void gameOver(Player player) throws InterruptedException {
+    private void gameOver(Player player) {
         view.displayGameOver(player);
-        System.exit(0);
     }
 }
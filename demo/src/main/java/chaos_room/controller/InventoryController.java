@@ -1,11 +1,14 @@
 package chaos_room.controller;
 
 import chaos_room.model.*;
+import chaos_room.view.Decision;
 import chaos_room.view.GameView;
 
 import java.util.List;
 
 public class InventoryController {
+    private static final String[] CARD_OPTIONS = {"Use card", "Discard card", "Cancel"};
+
     private GameView view;
     private BattleController battleController;
 
@@ -15,45 +18,50 @@ public class InventoryController {
     }
 
     public boolean handleInventoryManagement(Player player) {
+        boolean headless = view.isHeadless();
         List<Card> inventory = player.getInventory();
         if (inventory.isEmpty()) {
-            view.displayMessage("Inventory is empty.");
+            if (!headless) view.displayMessage("Inventory is empty.");
             return false;
         }
         view.waitForInput();
         String[] cardNames = new String[inventory.size() + 1];
-        for (int i = 0; i < inventory.size(); i++) {
-            Card c = inventory.get(i);
-            String details = c.getDetails();
-            cardNames[i] = c.getName() + " (Type: " + c.getType() + ")" + details;
+        String title = null;
+        if (!headless) {
+            for (int i = 0; i < inventory.size(); i++) {
+                Card c = inventory.get(i);
+                String details = c.getDetails();
+                cardNames[i] = c.getName() + " (Type: " + c.getType() + ")" + details;
+            }
+            title = String.format("[%s] Select a card from inventory (%d/%d cards)", player.getName(), inventory.size(), player.getMaxCardsInHand());
         }
         cardNames[inventory.size()] = "Back";
 
-        int selected = view.displayMenu(cardNames, String.format("[%s] Select a card from inventory (%d/%d cards)", player.getName(), inventory.size(), player.getMaxCardsInHand()));
+        int selected = view.displayMenu(Decision.INVENTORY_CARD, cardNames, title);
         
         if (selected == inventory.size()) return false;
 
         Card chosenCard = inventory.get(selected);
         
-        int choice = view.displayMenu(new String[]{"Use card", "Discard card", "Cancel"}, view.getCardInfo(chosenCard));
+        int choice = view.displayMenu(Decision.CARD_ACTION, CARD_OPTIONS, headless ? null : view.getCardInfo(chosenCard));
         switch (choice) {
             case 0:
                 return handleCardUsage(player, chosenCard);
             case 1:
-                view.displayMessage("You discard the card: " + chosenCard.getName());
-                inventory.remove(chosenCard);
+                if (!headless) view.displayMessage("You discard the card: " + chosenCard.getName());
+                player.discard(chosenCard);
                 return false;
             case 2:
-                view.displayMessage("Card selection canceled.");
+                if (!headless) view.displayMessage("Card selection canceled.");
                 return false;
             default:
-                view.displayMessage("Invalid option.");
+                if (!headless) view.displayMessage("Invalid option.");
                 return false;
         }
     }
 
     private boolean handleCardUsage(Player player, Card card) {
-        view.displayMessage("You use the card: " + card.getName());
+        if (!view.isHeadless()) view.displayMessage("You use the card: " + card.getName());
         
         boolean result = card.use(player, view);
 
@@ -67,6 +75,7 @@ public class InventoryController {
     }
 
     public void showPlayerDeck(Player player) {
+        if (view.isHeadless()) return;
         view.displayMessage("Deck of player " + player.getName() + ":");
         for (Card card : player.getPlayerDeck()) {
             String details = card.getDetails();
@@ -0,0 +1,34 @@
+package chaos_room.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// A count that only goes up; threads add to their own cells, so increments never contend
+public class Counter extends Metric {
+    private final LongAdder count = new LongAdder();
+
+    public Counter(String name, String help) {
+        super(name, help);
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void add(long amount) {
+        count.add(amount);
+    }
+
+    public long get() {
+        return count.sum();
+    }
+
+    @Override
+    protected String getType() {
+        return "counter";
+    }
+
+    @Override
+    protected void writeSamples(StringBuilder out) {
+        out.append(getName()).append(' ').append(get()).append('\n');
+    }
+}
@@ -0,0 +1,45 @@
+package chaos_room.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+// One counter per constant of an enum, written as one label; a null value counts under no label
+public class EnumCounter<E extends Enum<E>> extends Metric {
+    private final String label;
+    private final E[] values;
+    private final LongAdder[] counts;
+    private final LongAdder unlabeled = new LongAdder();
+
+    public EnumCounter(String name, String help, String label, Class<E> type) {
+        super(name, help);
+        this.label = label;
+        this.values = type.getEnumConstants();
+        this.counts = new LongAdder[values.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    public void increment(E value) {
+        (value == null ? unlabeled : counts[value.ordinal()]).increment();
+    }
+
+    public long get(E value) {
+        return (value == null ? unlabeled : counts[value.ordinal()]).sum();
+    }
+
+    @Override
+    protected String getType() {
+        return "counter";
+    }
+
+    @Override
+    protected void writeSamples(StringBuilder out) {
+        for (int i = 0; i < values.length; i++) {
+            out.append(getName()).append('{').append(label).append("=\"")
+                    .append(values[i].name().toLowerCase(Locale.ROOT)).append("\"} ").append(counts[i].sum()).append('\n');
+        }
+        long rest = unlabeled.sum();
+        if (rest > 0) out.append(getName()).append(' ').append(rest).append('\n');
+    }
+}
@@ -0,0 +1,117 @@
+package chaos_room.metrics;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * How often each integer value in a fixed range was seen; values outside the range count at
+ * its nearest end. Recording is one atomic increment, so any number of threads can record
+ * without locks, and the memory is fixed by the range. Histograms over the same range merge
+ * by adding counts, in memory or through writeTo and mergeFrom, so workers and processes
+ * can each keep their own. Reads may run while others record; they see each bucket's count
+ * as of some moment during the read.
+ */
+public class Histogram {
+    private final int min;
+    private final AtomicLongArray counts;
+
+    public Histogram(int min, int max) {
+        if (max < min) throw new IllegalArgumentException("Empty range " + min + ".." + max);
+        this.min = min;
+        this.counts = new AtomicLongArray(max - min + 1);
+    }
+
+    public void record(int value) {
+        counts.incrementAndGet(Math.max(0, Math.min(counts.length() - 1, value - min)));
+    }
+
+    public int getMin() {
+        return min;
+    }
+
+    public int getMax() {
+        return min + counts.length() - 1;
+    }
+
+    public long getCount(int value) {
+        if (value < min || value > getMax()) return 0;
+        return counts.get(value - min);
+    }
+
+    public long getCount() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    // Smallest value that the given fraction of the recorded values does not exceed; min if nothing was recorded
+    public int getPercentile(double fraction) {
+        long[] snapshot = snapshot();
+        long total = 0;
+        for (long count : snapshot) total += count;
+        long needed = (long) Math.ceil(total * fraction);
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= needed && seen > 0) return min + i;
+        }
+        return min;
+    }
+
+    public double getMean() {
+        long total = 0;
+        long sum = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            long count = counts.get(i);
+            total += count;
+            sum += count * (min + i);
+        }
+        return total == 0 ? 0 : (double) sum / total;
+    }
+
+    public void merge(Histogram other) {
+        checkRange(other.min, other.getMax());
+        for (int i = 0; i < counts.length(); i++) {
+            long count = other.counts.get(i);
+            if (count != 0) counts.addAndGet(i, count);
+        }
+    }
+
+    // Bytes writeTo needs
+    public int getEncodedSize() {
+        return 8 + 8 * counts.length();
+    }
+
+    // Range, then one count per value
+    public void writeTo(ByteBuffer out) {
+        out.putInt(min).putInt(getMax());
+        for (int i = 0; i < counts.length(); i++) {
+            out.putLong(counts.get(i));
+        }
+    }
+
+    // Adds the counts written by writeTo of a histogram over the same range
+    public void mergeFrom(ByteBuffer in) {
+        checkRange(in.getInt(), in.getInt());
+        for (int i = 0; i < counts.length(); i++) {
+            long count = in.getLong();
+            if (count != 0) counts.addAndGet(i, count);
+        }
+    }
+
+    private void checkRange(int otherMin, int otherMax) {
+        if (otherMin != min || otherMax != getMax()) {
+            throw new IllegalArgumentException("Cannot merge range " + otherMin + ".." + otherMax + " into " + min + ".." + getMax());
+        }
+    }
+
+    private long[] snapshot() {
+        long[] snapshot = new long[counts.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,26 @@
+package chaos_room.metrics;
+
+// A named metric that writes itself in the Prometheus text format
+public abstract class Metric {
+    private final String name;
+    private final String help;
+
+    protected Metric(String name, String help) {
+        this.name = name;
+        this.help = help;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    protected abstract String getType();
+
+    protected abstract void writeSamples(StringBuilder out);
+
+    final void writeTo(StringBuilder out) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(getType()).append('\n');
+        writeSamples(out);
+    }
+}
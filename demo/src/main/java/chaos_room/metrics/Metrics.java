@@ -0,0 +1,73 @@
+package chaos_room.metrics;
+
+import chaos_room.model.CardType;
+import chaos_room.model.FightOutcome;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The game's metrics, for the whole process. Recording is lock-free and allocates nothing,
+ * so it stays on; reading sums the per-thread cells and is only done when scraped.
+ *
+ * Only games someone plays are counted: games with a headless view (bots' look-ahead,
+ * simulations) would swamp them, and are left out.
+ */
+public final class Metrics {
+    private static final List<Metric> REGISTRY = new CopyOnWriteArrayList<>();
+    private static final ThreadLocal<long[]> INPUT_WAIT_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    public static final EnumCounter<CardType> CARDS_DRAWN = register(new EnumCounter<>(
+            "chaos_room_cards_drawn_total", "Cards drawn from the deck, by card type.", "type", CardType.class));
+    public static final EnumCounter<FightOutcome> FIGHTS = register(new EnumCounter<>(
+            "chaos_room_fights_total", "Fights against monsters, by outcome.", "outcome", FightOutcome.class));
+    public static final Counter LEVELS_GAINED = register(new Counter(
+            "chaos_room_levels_gained_total", "Levels gained by defeating monsters."));
+    public static final Counter LEVELS_LOST = register(new Counter(
+            "chaos_room_levels_lost_total", "Levels lost to Bad Stuff."));
+    public static final Timer CATALOG_LOAD = register(new Timer(
+            "chaos_room_catalog_load_seconds", "Time spent loading the card catalog."));
+    public static final Timer CATALOG_RELOAD = register(new Timer(
+            "chaos_room_catalog_reload_seconds", "Time from a card file change being noticed to new games using the new cards."));
+    public static final Counter CATALOG_RELOAD_FAILURES = register(new Counter(
+            "chaos_room_catalog_reload_failures_total", "Card file changes that were rejected, keeping the previous cards."));
+    public static final Timer TURN = register(new Timer(
+            "chaos_room_turn_seconds", "Time spent computing turns, not counting waits for input."));
+    public static final Timer RENDER = register(new Timer(
+            "chaos_room_render_seconds", "Time spent drawing frames to the terminal."));
+    public static final Timer INPUT_WAIT = register(new Timer(
+            "chaos_room_input_wait_seconds", "Time spent waiting for a player's input."));
+
+    private Metrics() {
+    }
+
+    public static <M extends Metric> M register(M metric) {
+        for (Metric registered : REGISTRY) {
+            if (registered.getName().equals(metric.getName())) {
+                throw new IllegalArgumentException("Metric " + metric.getName() + " is already registered");
+            }
+        }
+        REGISTRY.add(metric);
+        return metric;
+    }
+
+    // Records a wait for input, and adds it to the calling thread's waits
+    public static void recordInputWait(long elapsedNanos) {
+        INPUT_WAIT.record(elapsedNanos);
+        INPUT_WAIT_NANOS.get()[0] += elapsedNanos;
+    }
+
+    // Time the calling thread has waited for input so far, so a turn's timer can leave it out
+    public static long inputWaitNanos() {
+        return INPUT_WAIT_NANOS.get()[0];
+    }
+
+    // Every metric in the Prometheus text exposition format
+    public static String scrape() {
+        StringBuilder out = new StringBuilder(2048);
+        for (Metric metric : REGISTRY) {
+            metric.writeTo(out);
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,88 @@
+package chaos_room.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Serves Metrics.scrape() at /metrics on the loopback interface, for a local Prometheus to scrape,
+// and the global monster histograms at /monsters: a table, or their encoding to merge with ?format=binary
+public class MetricsServer implements AutoCloseable {
+    public static final String PORT_PROPERTY = "chaos_room.metrics.port";
+    public static final String PATH = "/metrics";
+    public static final String MONSTERS_PATH = "/monsters";
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final HttpServer server;
+
+    public MetricsServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext(PATH, this::handle);
+        server.createContext(MONSTERS_PATH, this::handleMonsters);
+        server.start();
+    }
+
+    // Starts the endpoint if -Dchaos_room.metrics.port is set; returns null otherwise
+    public static MetricsServer startIfConfigured() throws IOException {
+        String port = System.getProperty(PORT_PROPERTY);
+        return port == null ? null : new MetricsServer(Integer.parseInt(port.trim()));
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            respond(exchange, CONTENT_TYPE, Metrics.scrape().getBytes(StandardCharsets.UTF_8));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleMonsters(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            MonsterHistograms histograms = MonsterHistograms.global();
+            if ("format=binary".equals(exchange.getRequestURI().getQuery())) {
+                ByteBuffer encoded = histograms.encode();
+                byte[] body = new byte[encoded.remaining()];
+                encoded.get(body);
+                respond(exchange, "application/octet-stream", body);
+            } else {
+                ByteArrayOutputStream table = new ByteArrayOutputStream();
+                histograms.print(new PrintStream(table, true, "UTF-8"));
+                respond(exchange, "text/plain; charset=utf-8", table.toByteArray());
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,174 @@
+package chaos_room.metrics;
+
+import chaos_room.model.Encounter;
+import chaos_room.model.FightOutcome;
+import chaos_room.model.Game;
+import chaos_room.model.GameListener;
+import chaos_room.model.MonsterCard;
+import chaos_room.model.Player;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per monster id, the distributions of how its fights went: the strength gap when the fight
+ * began, the bonus cards spent, the die faces rolled to run away and the levels lost to its
+ * Bad Stuff. Monsters are keyed by id rather than catalog index, so histograms from other
+ * processes, or recorded against another version of the cards, still merge. A monster's
+ * histograms are created on its first fight; after that recording is a map lookup and one
+ * atomic increment per histogram.
+ *
+ * global() collects the fights of played games, like Metrics; simulations keep their own.
+ */
+public class MonsterHistograms implements GameListener {
+    public static final int MIN_GAP = -40;
+    public static final int MAX_GAP = 40;
+    public static final int MAX_BONUS_CARDS = 15;
+    public static final int MAX_LEVELS_LOST = 10;
+    private static final int DIE_FACES = 6;
+    private static final int MAGIC = 0x4D4F4E48; // "MONH"
+
+    private final ConcurrentHashMap<String, Outcomes> byMonster = new ConcurrentHashMap<>();
+
+    private static class Holder {
+        static final MonsterHistograms GLOBAL = new MonsterHistograms();
+    }
+
+    public static MonsterHistograms global() {
+        return Holder.GLOBAL;
+    }
+
+    // A monster's histograms
+    public static final class Outcomes {
+        private final Histogram strengthGap = new Histogram(MIN_GAP, MAX_GAP);
+        private final Histogram bonusCardsSpent = new Histogram(0, MAX_BONUS_CARDS);
+        private final Histogram escapeRolls = new Histogram(1, DIE_FACES);
+        private final Histogram levelsLost = new Histogram(0, MAX_LEVELS_LOST);
+
+        private Outcomes() {
+        }
+
+        // Player strength minus monster strength when each fight began
+        public Histogram getStrengthGap() {
+            return strengthGap;
+        }
+
+        public Histogram getBonusCardsSpent() {
+            return bonusCardsSpent;
+        }
+
+        // Only fights the player had to run from
+        public Histogram getEscapeRolls() {
+            return escapeRolls;
+        }
+
+        // Only fights that ended in Bad Stuff
+        public Histogram getLevelsLost() {
+            return levelsLost;
+        }
+
+        public long getFights() {
+            return strengthGap.getCount();
+        }
+
+        private Histogram[] all() {
+            return new Histogram[]{strengthGap, bonusCardsSpent, escapeRolls, levelsLost};
+        }
+    }
+
+    @Override
+    public void onFightResolved(Game game, MonsterCard monster, Player player, FightOutcome outcome, int levelsLost) {
+        record(game.getEncounter(), outcome, levelsLost);
+    }
+
+    public void record(Encounter encounter, FightOutcome outcome, int levelsLost) {
+        Outcomes outcomes = outcomes(encounter.getMonster().getId());
+        outcomes.strengthGap.record(encounter.getStartingGap());
+        outcomes.bonusCardsSpent.record(encounter.getBonusCardsUsed());
+        if (encounter.getEscapeRoll() > 0) outcomes.escapeRolls.record(encounter.getEscapeRoll());
+        if (outcome == FightOutcome.DEFEATED) outcomes.levelsLost.record(levelsLost);
+    }
+
+    private Outcomes outcomes(String monsterId) {
+        Outcomes outcomes = byMonster.get(monsterId);
+        return outcomes != null ? outcomes : byMonster.computeIfAbsent(monsterId, id -> new Outcomes());
+    }
+
+    // The monster's histograms, or null if it has not been fought
+    public Outcomes get(String monsterId) {
+        return byMonster.get(monsterId);
+    }
+
+    // Every monster fought so far, by id
+    public Map<String, Outcomes> getAll() {
+        return new TreeMap<>(byMonster);
+    }
+
+    public void merge(MonsterHistograms other) {
+        for (Map.Entry<String, Outcomes> entry : other.byMonster.entrySet()) {
+            Histogram[] into = outcomes(entry.getKey()).all();
+            Histogram[] from = entry.getValue().all();
+            for (int i = 0; i < into.length; i++) {
+                into[i].merge(from[i]);
+            }
+        }
+    }
+
+    /**
+     * For sending to another process, which adds them with mergeFrom:
+     *   magic, monster count, then per monster its id (length-prefixed UTF-8) and histograms
+     */
+    public ByteBuffer encode() {
+        Map<String, Outcomes> all = getAll();
+        byte[][] ids = new byte[all.size()][];
+        int size = 8;
+        int i = 0;
+        for (Map.Entry<String, Outcomes> entry : all.entrySet()) {
+            ids[i] = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            size += 2 + ids[i].length;
+            for (Histogram histogram : entry.getValue().all()) {
+                size += histogram.getEncodedSize();
+            }
+            i++;
+        }
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.putInt(MAGIC).putInt(all.size());
+        i = 0;
+        for (Outcomes outcomes : all.values()) {
+            out.putShort((short) ids[i].length).put(ids[i]);
+            for (Histogram histogram : outcomes.all()) {
+                histogram.writeTo(out);
+            }
+            i++;
+        }
+        out.flip();
+        return out;
+    }
+
+    public void mergeFrom(ByteBuffer in) {
+        if (in.getInt() != MAGIC) throw new IllegalArgumentException("Not monster histograms");
+        int monsters = in.getInt();
+        for (int m = 0; m < monsters; m++) {
+            byte[] id = new byte[in.getShort() & 0xFFFF];
+            in.get(id);
+            for (Histogram histogram : outcomes(new String(id, StandardCharsets.UTF_8)).all()) {
+                histogram.mergeFrom(in);
+            }
+        }
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%-8s %10s %16s %10s %10s %10s%n", "Monster", "Fights", "Gap p10/p50/p90", "Bonus avg", "Roll avg", "Lost p90");
+        for (Map.Entry<String, Outcomes> entry : getAll().entrySet()) {
+            Outcomes outcomes = entry.getValue();
+            Histogram gap = outcomes.strengthGap;
+            out.printf("%-8s %10d %16s %10.2f %10.2f %10d%n", entry.getKey(), outcomes.getFights(),
+                    gap.getPercentile(0.1) + "/" + gap.getPercentile(0.5) + "/" + gap.getPercentile(0.9),
+                    outcomes.bonusCardsSpent.getMean(), outcomes.escapeRolls.getMean(), outcomes.levelsLost.getPercentile(0.9));
+        }
+    }
+}
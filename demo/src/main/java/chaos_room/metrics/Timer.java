@@ -0,0 +1,42 @@
+package chaos_room.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// How often something took time and how long in total, written as a summary in seconds
+public class Timer extends Metric {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    public Timer(String name, String help) {
+        super(name, help);
+    }
+
+    public void record(long elapsedNanos) {
+        count.increment();
+        nanos.add(elapsedNanos);
+    }
+
+    // Records the time since a System.nanoTime() reading
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return nanos.sum();
+    }
+
+    @Override
+    protected String getType() {
+        return "summary";
+    }
+
+    @Override
+    protected void writeSamples(StringBuilder out) {
+        out.append(getName()).append("_count ").append(getCount()).append('\n');
+        out.append(getName()).append("_sum ").append(getTotalNanos() / 1e9).append('\n');
+    }
+}
@@ -0,0 +1,87 @@
+package chaos_room.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Saves the game at the start of every turn. The snapshot is taken on the game's thread,
+ * which takes microseconds; writing the file happens on a background thread, so the game
+ * never waits for the disk. If saves come faster than the disk takes them, only the latest
+ * one is written.
+ */
+public class Autosave implements GameListener, AutoCloseable {
+    private final Path file;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "autosave");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // The newest save that has not been written yet
+    private final AtomicReference<byte[]> pending = new AtomicReference<>();
+    private volatile IOException lastError;
+
+    public Autosave(Path file) {
+        this.file = file;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void onFightResolved(Game game, MonsterCard monster, Player player, FightOutcome outcome, int levelsLost) {
+    }
+
+    @Override
+    public void onTurnStarted(Game game) {
+        save(game);
+    }
+
+    public void save(Game game) {
+        if (writer.isShutdown()) return;
+        // Only queue a write when none is queued; a queued one picks up the newest bytes
+        if (pending.getAndSet(GameSave.toBytes(game)) == null) {
+            writer.execute(this::writePending);
+        }
+    }
+
+    private void writePending() {
+        byte[] bytes = pending.getAndSet(null);
+        if (bytes == null) return;
+        try {
+            GameSave.write(bytes, file);
+            lastError = null;
+        } catch (IOException e) {
+            lastError = e;
+        }
+    }
+
+    // The error of the most recent write, or null if it succeeded
+    public IOException getLastError() {
+        return lastError;
+    }
+
+    // Drops any queued save and removes the file, e.g. once the game has been won
+    public void delete() throws IOException {
+        pending.set(null);
+        close();
+        Files.deleteIfExists(file);
+    }
+
+    // Waits for the last queued save to be written; nothing is saved after this
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            // The write in progress still finishes on the writer thread
+            Thread.currentThread().interrupt();
+        }
+    }
+}
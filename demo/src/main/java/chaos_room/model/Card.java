@@ -1,13 +1,20 @@
 package chaos_room.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import java.util.function.Supplier;
+
 @JsonIgnoreProperties(ignoreUnknown = true)
 public abstract class Card implements Usable {
     private String id;
     private String name;
     private CardType type;
     private String description;
+    // Set instead of description by catalogs that only read the text once it is shown
+    private Supplier<String> descriptionSource;
+    private int catalogIndex = -1;
+    private boolean frozen;
 
     public Card() {}
 
@@ -24,9 +31,11 @@ public abstract class Card implements Usable {
         // Or throw exception?
         // In original code: "else { player.addCardToPlayerDeck(card); ... }"
         player.addCardToPlayerDeck(this);
-        view.displayMessage("Card added to inventory: " + this.getName());
-        view.displayMessage(String.format("Card %s added to player's deck.", this.getName()));
-        player.getInventory().remove(this);
+        if (!view.isHeadless()) {
+            view.displayMessage("Card added to inventory: " + this.getName());
+            view.displayMessage(String.format("Card %s added to player's deck.", this.getName()));
+        }
+        player.removeFromInventory(this);
         return false;
     }
     
@@ -36,6 +45,7 @@ public abstract class Card implements Usable {
     }
 
     public void setId(String id) {
+        checkMutable();
         this.id = id;
     }
 
@@ -44,6 +54,7 @@ public abstract class Card implements Usable {
     }
 
     public Card setName(String name) {
+        checkMutable();
         this.name = name;
         return this;
     }
@@ -53,24 +64,59 @@ public abstract class Card implements Usable {
     }
 
     public void setType(CardType type) {
+        checkMutable();
         this.type = type;
     }
 
+    @JsonIgnore
+    public int getCatalogIndex() {
+        return catalogIndex;
+    }
+
+    void setCatalogIndex(int catalogIndex) {
+        this.catalogIndex = catalogIndex;
+    }
+
     public String getDetails() {
         return "";
     }
 
     public String getDescription() {
+        if (description == null && descriptionSource != null) {
+            description = descriptionSource.get();
+        }
         return description;
     }
 
+    void setDescriptionSource(Supplier<String> descriptionSource) {
+        this.descriptionSource = descriptionSource;
+    }
+
     public void setDescription(String description) {
+        checkMutable();
         this.description = description;
     }
 
+    // Catalog cards are definitions shared by every game and thread, so once the catalog
+    // owns them they are read-only. Per-game state lives in Deck (zones) and Encounter (fight).
+    void freeze() {
+        frozen = true;
+    }
+
+    @JsonIgnore
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    protected void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("Card " + id + " is a shared catalog definition and cannot be changed");
+        }
+    }
+
     @Override
     public String toString() {
-        return String.format("Card{id='%s', name='%s', type='%s', description='%s'}", id, name, type, description);
+        return String.format("Card{id='%s', name='%s', type='%s', description='%s'}", id, name, type, getDescription());
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,258 @@
+package chaos_room.model;
+
+import chaos_room.metrics.Metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.zip.CRC32;
+
+/**
+ * Process-wide card catalog. The JSON card files are parsed once, on first use,
+ * and the resulting lists are shared read-only by every Player, Deck and Game.
+ * When the {@value #CATALOG_PROPERTY} system property names a binary catalog file,
+ * that file is memory-mapped instead and cards are decoded as they are first drawn.
+ * When {@value #CARDS_DIR_PROPERTY} names a directory, the JSON files are read from
+ * there instead of the classpath, and a CatalogWatcher can reload them as they change.
+ *
+ * A catalog never changes; a reload builds a new one and setInstance swaps it in. Each
+ * Game keeps the catalog it was created with, so only games started afterwards see it.
+ */
+public final class CardCatalog {
+    public static final String CATALOG_PROPERTY = "chaos_room.catalog";
+    public static final String CARDS_DIR_PROPERTY = "chaos_room.cards.dir";
+    static final String[] DOOR_FILES = {"MonsterCards.json", "CharacterCards.json", "OneTimeBonusCards.json"};
+    static final String[] TREASURE_FILES = {"EquipmentCards.json", "TreasureCards.json"};
+
+    private final List<Card> cards;
+    private final List<Card> doorCards;
+    private final List<Card> treasureCards;
+    // 0 until first asked for
+    private volatile int fingerprint;
+    // Every card by id, type and monster tag; never changed once built
+    private volatile IndexedCardList index;
+
+    private CardCatalog(List<Card> doorCards, List<Card> treasureCards) {
+        validate(doorCards, treasureCards);
+        List<Card> cards = new ArrayList<>(doorCards.size() + treasureCards.size());
+        cards.addAll(doorCards);
+        cards.addAll(treasureCards);
+        // Door cards come first, so a Deck can tell the two piles apart by index alone
+        for (int i = 0; i < cards.size(); i++) {
+            cards.get(i).setCatalogIndex(i);
+            cards.get(i).freeze();
+        }
+        this.cards = Collections.unmodifiableList(cards);
+        this.doorCards = Collections.unmodifiableList(doorCards);
+        this.treasureCards = Collections.unmodifiableList(treasureCards);
+        this.index = new IndexedCardList(cards);
+    }
+
+    private CardCatalog(List<Card> cards, int doorCount) {
+        this.cards = cards;
+        this.doorCards = cards.subList(0, doorCount);
+        this.treasureCards = cards.subList(doorCount, cards.size());
+    }
+
+    // Initialization-on-demand holder: the JVM guarantees the first catalog is loaded
+    // exactly once; later ones are published by the volatile write in setInstance.
+    private static class Holder {
+        static volatile CardCatalog current = load();
+    }
+
+    public static CardCatalog getInstance() {
+        return Holder.current;
+    }
+
+    // The catalog games created from now on use
+    public static void setInstance(CardCatalog catalog) {
+        if (catalog == null) throw new IllegalArgumentException("No catalog");
+        Holder.current = catalog;
+    }
+
+    public static CardCatalog load() {
+        long start = System.nanoTime();
+        CardCatalog catalog = read();
+        Metrics.CATALOG_LOAD.recordSince(start);
+        return catalog;
+    }
+
+    private static CardCatalog read() {
+        String binary = System.getProperty(CATALOG_PROPERTY);
+        if (binary != null) {
+            try {
+                return load(MappedCardCatalog.open(Paths.get(binary)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open card catalog " + binary, e);
+            }
+        }
+        String directory = System.getProperty(CARDS_DIR_PROPERTY);
+        if (directory != null) return read(Paths.get(directory));
+        return read(null);
+    }
+
+    // Reads and checks the JSON card files of a directory; the current catalog is left alone
+    public static CardCatalog load(Path directory) {
+        long start = System.nanoTime();
+        CardCatalog catalog = read(directory);
+        Metrics.CATALOG_LOAD.recordSince(start);
+        return catalog;
+    }
+
+    // From the classpath if directory is null
+    private static CardCatalog read(Path directory) {
+        // The five files are parsed concurrently; join() keeps the door/treasure order fixed
+        CompletableFuture<List<MonsterCard>> monsters = readAsync(directory, DOOR_FILES[0], MonsterCard.class);
+        CompletableFuture<List<CharacterCard>> characters = readAsync(directory, DOOR_FILES[1], CharacterCard.class);
+        CompletableFuture<List<OneTimeBonusCard>> bonuses = readAsync(directory, DOOR_FILES[2], OneTimeBonusCard.class);
+        CompletableFuture<List<EquipmentCard>> equipment = readAsync(directory, TREASURE_FILES[0], EquipmentCard.class);
+        CompletableFuture<List<TreasureCard>> treasures = readAsync(directory, TREASURE_FILES[1], TreasureCard.class);
+
+        List<Card> doorCards = new ArrayList<>();
+        List<Card> treasureCards = new ArrayList<>();
+        try {
+            doorCards.addAll(monsters.join());
+            doorCards.addAll(characters.join());
+            doorCards.addAll(bonuses.join());
+            treasureCards.addAll(equipment.join());
+            treasureCards.addAll(treasures.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+
+        return new CardCatalog(doorCards, treasureCards);
+    }
+
+    private static <T extends Card> CompletableFuture<List<T>> readAsync(Path directory, String file, Class<T> cardClass) {
+        return CompletableFuture.supplyAsync(() -> directory == null
+                ? CardJson.readCards(file, cardClass)
+                : CardJson.readCards(directory.resolve(file), cardClass));
+    }
+
+    // Catches what would otherwise only fail once a game draws the card
+    private static void validate(List<Card> doorCards, List<Card> treasureCards) {
+        if (doorCards.isEmpty() || treasureCards.isEmpty()) {
+            throw new IllegalArgumentException("Invalid cards: there must be door and treasure cards");
+        }
+        Set<String> ids = new HashSet<>();
+        for (List<Card> cards : Arrays.asList(doorCards, treasureCards)) {
+            for (Card card : cards) {
+                if (card == null || card.getId() == null || card.getId().isEmpty()) {
+                    throw new IllegalArgumentException("Invalid cards: a card has no id");
+                }
+                if (!ids.add(card.getId())) {
+                    throw new IllegalArgumentException("Invalid cards: id " + card.getId() + " is used twice");
+                }
+                if (card.getName() == null || card.getName().isEmpty()) {
+                    throw new IllegalArgumentException("Invalid cards: " + card.getId() + " has no name");
+                }
+            }
+        }
+    }
+
+    public static CardCatalog load(MappedCardCatalog mapped) {
+        return new CardCatalog(new MappedCardList(mapped), mapped.getDoorCount());
+    }
+
+    public Card getCard(int catalogIndex) {
+        return cards.get(catalogIndex);
+    }
+
+    public int size() {
+        return cards.size();
+    }
+
+    // The card with the given id, or null
+    public Card getCard(String id) {
+        return index().findById(id);
+    }
+
+    // Read-only, in catalog order
+    public List<Card> getCards(CardType type) {
+        return index().ofType(type);
+    }
+
+    // The monsters carrying a tag such as "undead" or "vsDwarf"; read-only, in catalog order
+    public List<MonsterCard> getMonstersWithTag(String tag) {
+        return index().withTag(tag);
+    }
+
+    // A mapped catalog decodes every card to build the index, so it waits until it is first needed
+    private IndexedCardList index() {
+        IndexedCardList result = index;
+        if (result == null) {
+            result = new IndexedCardList(cards);
+            index = result;
+        }
+        return result;
+    }
+
+    // Checksum of every card id in catalog order. Saved games refer to cards by catalog index,
+    // so they can only be loaded into a catalog with the same fingerprint.
+    public int getFingerprint() {
+        int result = fingerprint;
+        if (result == 0) {
+            CRC32 crc = new CRC32();
+            for (int i = 0; i < cards.size(); i++) {
+                String id = cards instanceof MappedCardList ? ((MappedCardList) cards).mapped.getId(i) : cards.get(i).getId();
+                crc.update(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+                crc.update('\n');
+            }
+            result = (int) crc.getValue() | 1;
+            fingerprint = result;
+        }
+        return result;
+    }
+
+    public List<Card> getCards() {
+        return cards;
+    }
+
+    public List<Card> getDoorCards() {
+        return doorCards;
+    }
+
+    public List<Card> getTreasureCards() {
+        return treasureCards;
+    }
+
+    // Read-only list that decodes each card from the mapping the first time it is asked for.
+    // Racing threads may both decode a card, but only the first one is ever published.
+    private static final class MappedCardList extends AbstractList<Card> {
+        private final MappedCardCatalog mapped;
+        private final AtomicReferenceArray<Card> cards;
+
+        MappedCardList(MappedCardCatalog mapped) {
+            this.mapped = mapped;
+            this.cards = new AtomicReferenceArray<>(mapped.size());
+        }
+
+        @Override
+        public Card get(int index) {
+            Card card = cards.get(index);
+            if (card != null) return card;
+            card = mapped.readCard(index);
+            card.setCatalogIndex(index);
+            card.freeze();
+            return cards.compareAndSet(index, null, card) ? card : cards.get(index);
+        }
+
+        @Override
+        public int size() {
+            return cards.length();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package chaos_room.model;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The one ObjectMapper used for card data. Mappers are thread-safe once configured and
+ * cache the deserializers they build, so sharing one avoids redoing that work per file.
+ */
+public final class CardJson {
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private CardJson() {}
+
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    /**
+     * Streams the cards of a classpath JSON array one at a time. Works from jars, wars and
+     * exploded directories alike. A missing or malformed file is reported, never skipped.
+     */
+    public static <T> List<T> readCards(String resource, Class<T> cardClass) {
+        try (InputStream in = CardJson.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new FileNotFoundException("Card file not found on the classpath: " + resource);
+            }
+            return readCards(in, cardClass);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read card file " + resource + ": " + e.getMessage(), e);
+        }
+    }
+
+    // The same from a file, for card files edited while the game runs
+    public static <T> List<T> readCards(Path file, Class<T> cardClass) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return readCards(in, cardClass);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read card file " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static <T> List<T> readCards(InputStream in, Class<T> cardClass) throws IOException {
+        List<T> cards = new ArrayList<>();
+        try (MappingIterator<T> it = MAPPER.readerFor(cardClass).readValues(in)) {
+            while (it.hasNextValue()) {
+                cards.add(it.nextValue());
+            }
+        }
+        return cards;
+    }
+}
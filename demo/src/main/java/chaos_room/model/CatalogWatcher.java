@@ -0,0 +1,129 @@
+package chaos_room.model;
+
+import chaos_room.metrics.Metrics;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloads the card catalog when a JSON card file in a directory changes. The files are
+ * parsed and checked on the watcher's own thread; only a catalog that loads completely is
+ * swapped in, so a half-saved or broken file keeps the current cards. Games in progress go
+ * on with the catalog they were created with and never wait for a reload.
+ */
+public class CatalogWatcher implements AutoCloseable {
+    // Editors and copies write a file in several steps; a reload waits for this much quiet
+    private static final long QUIET_MILLIS = 50;
+
+    // Told about every reload on the watcher's thread, e.g. to print it
+    public interface Listener {
+        Listener NONE = new Listener() {};
+
+        default void onReloaded(Path directory, CardCatalog catalog, long nanos) {}
+
+        // The current catalog stays in use
+        default void onRejected(Path directory, RuntimeException error) {}
+    }
+
+    private final Path directory;
+    private final Listener listener;
+    private final WatchService watcher;
+    private final Thread thread;
+    private volatile long reloads;
+    private volatile long lastReloadNanos;
+
+    public CatalogWatcher(Path directory) throws IOException {
+        this(directory, Listener.NONE);
+    }
+
+    public CatalogWatcher(Path directory, Listener listener) throws IOException {
+        this.directory = directory;
+        this.listener = listener;
+        this.watcher = FileSystems.getDefault().newWatchService();
+        directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = new Thread(this::watch, "catalog-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Watches -Dchaos_room.cards.dir if it is set; returns null otherwise
+    public static CatalogWatcher startIfConfigured(Listener listener) throws IOException {
+        String directory = System.getProperty(CardCatalog.CARDS_DIR_PROPERTY);
+        return directory == null ? null : new CatalogWatcher(Paths.get(directory), listener);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    // Catalogs swapped in so far
+    public long getReloads() {
+        return reloads;
+    }
+
+    // Time from noticing the change that caused the last reload to the new catalog being in use
+    public long getLastReloadNanos() {
+        return lastReloadNanos;
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watcher.take();
+                long noticed = System.nanoTime();
+                boolean changed = isCardFileChange(key);
+                while ((key = watcher.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= isCardFileChange(key);
+                }
+                if (changed) reload(noticed);
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // Closed
+        }
+    }
+
+    private static boolean isCardFileChange(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            // An overflow lost events, which may have been card files
+            changed |= event.kind() == StandardWatchEventKinds.OVERFLOW || event.context().toString().endsWith(".json");
+        }
+        key.reset();
+        return changed;
+    }
+
+    private void reload(long noticed) {
+        CardCatalog catalog;
+        try {
+            catalog = CardCatalog.load(directory);
+        } catch (RuntimeException e) {
+            Metrics.CATALOG_RELOAD_FAILURES.increment();
+            listener.onRejected(directory, e);
+            return;
+        }
+        CardCatalog.setInstance(catalog);
+        long elapsed = System.nanoTime() - noticed;
+        Metrics.CATALOG_RELOAD.record(elapsed);
+        lastReloadNanos = elapsed;
+        reloads++;
+        listener.onReloaded(directory, catalog, elapsed);
+    }
+
+    @Override
+    public void close() {
+        try {
+            watcher.close();
+        } catch (IOException e) {
+            // Closing anyway
+        }
+        thread.interrupt();
+    }
+}
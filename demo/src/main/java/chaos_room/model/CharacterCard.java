@@ -1,9 +1,13 @@
 package chaos_room.model;
+import java.util.Collections;
 import java.util.List;
+import chaos_room.view.Decision;
 import java.util.Map;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 public class CharacterCard extends Card {
+    private static final String[] REPLACE_OPTIONS = {"Yes, replace it", "No, keep current"};
+
     private List<Ability> abilities;
 
     public CharacterCard() {
@@ -19,10 +23,17 @@ public class CharacterCard extends Card {
     }
 
     public CharacterCard setAbilities(List<Ability> abilities) {
+        checkMutable();
         this.abilities = abilities;
         return this;
     }
 
+    @Override
+    void freeze() {
+        if (abilities != null) abilities = Collections.unmodifiableList(abilities);
+        super.freeze();
+    }
+
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class Ability {
         private String id;
@@ -122,30 +133,25 @@ public class CharacterCard extends Card {
 
     @Override
     public boolean use(Player player, chaos_room.view.GameView view) {
-        Card existing = null;
-        for (Card c : player.getPlayerDeck()) {
-            if (c.getType() == this.getType()) {
-                existing = c;
-                break;
-            }
-        }
+        Card existing = player.getCharacterCard(this.getType());
 
+        boolean headless = view.isHeadless();
         if (existing != null) {
-            int choice = view.displayMenu(new String[]{"Yes, replace it", "No, keep current"}, 
-                "You already have a " + this.getType() + ": " + existing.getName() + ". Replace it with " + this.getName() + "?");
+            String title = headless ? null : "You already have a " + this.getType() + ": " + existing.getName() + ". Replace it with " + this.getName() + "?";
+            int choice = view.displayMenu(Decision.REPLACE_CARD, REPLACE_OPTIONS, title);
             if (choice == 0) {
-                player.getPlayerDeck().remove(existing);
-                view.displayMessage("Discarded " + existing.getName());
+                player.discard(existing);
+                if (!headless) view.displayMessage("Discarded " + existing.getName());
                 player.addCardToPlayerDeck(this);
-                player.getInventory().remove(this);
-                view.displayMessage(String.format("Card %s added to player's deck.", this.getName()));
+                player.removeFromInventory(this);
+                if (!headless) view.displayMessage(String.format("Card %s added to player's deck.", this.getName()));
             } else {
-                view.displayMessage("Cancelled.");
+                if (!headless) view.displayMessage("Cancelled.");
             }
         } else {
             player.addCardToPlayerDeck(this);
-            player.getInventory().remove(this);
-            view.displayMessage(String.format("Card %s added to player's deck.", this.getName()));
+            player.removeFromInventory(this);
+            if (!headless) view.displayMessage(String.format("Card %s added to player's deck.", this.getName()));
         }
         return false;
     }
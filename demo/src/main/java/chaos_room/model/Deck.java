@@ -1,51 +1,221 @@
 package chaos_room.model;
 
-import java.io.FileReader;
-import java.io.IOException;
-import java.util.List;
-import java.util.ArrayList;
+import chaos_room.metrics.Metrics;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.type.CollectionType;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
 
 public class Deck {
-    public List<Card> cards;
-    public List<Card> treasureCards;
-    
+    public enum Zone { DRAW_PILE, HAND, IN_PLAY, DISCARD_PILE }
+
+    private static final Zone[] ZONES = Zone.values();
+
+    private final CardCatalog catalog;
+    private final Random random;
+    // Zone of every catalog card in this game, indexed by Card.getCatalogIndex()
+    private final byte[] zones;
+    private final Pile doorPile;
+    private final Pile treasurePile;
+    private GameRecorder recorder = GameRecorder.NONE;
+    private boolean metered;
+
     public Deck() {
-        cards = new ArrayList<>();
-        treasureCards = new ArrayList<>();
+        this(CardCatalog.getInstance(), new GameRandom());
+    }
 
-        List<MonsterCard> monsterCards = getCardsFromJson("MonsterCards.json", MonsterCard.class);    
-        if (monsterCards != null) cards.addAll(monsterCards);
-        
-        List<CharacterCard> characterCards = getCardsFromJson("CharacterCards.json", CharacterCard.class);
-        if (characterCards != null) cards.addAll(characterCards);
-        
-        List<OneTimeBonusCard> bonusCards = getCardsFromJson("OneTimeBonusCards.json", OneTimeBonusCard.class);
-        if (bonusCards != null) cards.addAll(bonusCards);
+    public Deck(CardCatalog catalog, Random random) {
+        this.catalog = catalog;
+        this.random = random;
+        this.zones = new byte[catalog.size()];
+        this.doorPile = new Pile(0, catalog.getDoorCards().size());
+        this.treasurePile = new Pile(catalog.getDoorCards().size(), catalog.getTreasureCards().size());
+    }
 
-        List<EquipmentCard> equipmentCards = getCardsFromJson("EquipmentCards.json", EquipmentCard.class);
-        if (equipmentCards != null) treasureCards.addAll(equipmentCards);
+    public Card drawDoorCard() {
+        Card card = doorPile.draw();
+        recorder.cardDrawn(false, card);
+        if (metered && card != null) Metrics.CARDS_DRAWN.increment(card.getType());
+        return card;
+    }
 
-        List<TreasureCard> treasureCardList = getCardsFromJson("TreasureCards.json", TreasureCard.class);
-        if (treasureCardList != null) treasureCards.addAll(treasureCardList);
+    public Card drawTreasureCard() {
+        Card card = treasurePile.draw();
+        recorder.cardDrawn(true, card);
+        if (metered && card != null) Metrics.CARDS_DRAWN.increment(card.getType());
+        return card;
     }
 
-    public static <T> List<T> getCardsFromJson(String jsonFilePath, Class<T> contentClass) {
-        try{
-            FileReader reader = new FileReader(Card.class.getClassLoader().getResource(jsonFilePath).getPath());
-            ObjectMapper json = new ObjectMapper();
-            CollectionType listType = json.getTypeFactory().constructCollectionType(List.class, contentClass);
-            List<T> cards = json.readValue(reader, listType); 
-            reader.close();
-            return cards;
-        } catch (IOException e) {
-            // e.printStackTrace();
-            return new ArrayList<>();
+    public void discard(Card card) {
+        if (!isTracked(card)) return;
+        int index = card.getCatalogIndex();
+        // Only cards that are out in the game can be discarded, never twice
+        if (zones[index] == Zone.DRAW_PILE.ordinal() || zones[index] == Zone.DISCARD_PILE.ordinal()) return;
+        pileOf(index).discard(index);
+        recorder.cardDiscarded(card);
+    }
+
+    public void moveTo(Card card, Zone zone) {
+        if (zone == Zone.DRAW_PILE || zone == Zone.DISCARD_PILE) {
+            throw new IllegalArgumentException("Use draw/discard to move cards into " + zone);
+        }
+        if (isTracked(card)) zones[card.getCatalogIndex()] = (byte) zone.ordinal();
+    }
+
+    public Zone getZone(Card card) {
+        return isTracked(card) ? ZONES[zones[card.getCatalogIndex()]] : null;
+    }
+
+    public int getDoorCardsLeft() {
+        return doorPile.drawCount;
+    }
+
+    public int getTreasureCardsLeft() {
+        return treasurePile.drawCount;
+    }
+
+    public int getDoorDiscardCount() {
+        return doorPile.discardCount;
+    }
+
+    public int getTreasureDiscardCount() {
+        return treasurePile.discardCount;
+    }
+
+    public CardCatalog getCatalog() {
+        return catalog;
+    }
+
+    // Shuffles the cards left to draw, e.g. so a bot's look-ahead does not know their order
+    public void shuffleDrawPiles() {
+        shuffle(doorPile.drawPile, doorPile.drawCount);
+        shuffle(treasurePile.drawPile, treasurePile.drawCount);
+    }
+
+    void setRecorder(GameRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    // Whether draws count towards Metrics; off for simulated games
+    public void setMetered(boolean metered) {
+        this.metered = metered;
+    }
+
+    // Piles as int catalog indexes, then every card's zone packed four to a byte
+    void writeTo(ByteBuffer out) {
+        doorPile.writeTo(out);
+        treasurePile.writeTo(out);
+        for (int i = 0; i < zones.length; i += 4) {
+            int packed = 0;
+            for (int j = i; j < Math.min(i + 4, zones.length); j++) {
+                packed |= zones[j] << ((j - i) * 2);
+            }
+            out.put((byte) packed);
+        }
+    }
+
+    void readFrom(ByteBuffer in) {
+        doorPile.readFrom(in);
+        treasurePile.readFrom(in);
+        for (int i = 0; i < zones.length; i += 4) {
+            int packed = in.get();
+            for (int j = i; j < Math.min(i + 4, zones.length); j++) {
+                zones[j] = (byte) ((packed >> ((j - i) * 2)) & 3);
+            }
         }
     }
 
+    // Cards built outside this deck's catalog (e.g. in tests) are not tracked
+    private boolean isTracked(Card card) {
+        int index = card.getCatalogIndex();
+        return index >= 0 && index < zones.length && catalog.getCard(index) == card;
+    }
+
+    private Pile pileOf(int index) {
+        return index < treasurePile.first ? doorPile : treasurePile;
+    }
+
+    // One draw pile and its discard pile, both stacks of catalog indexes whose top is at count - 1
+    private final class Pile {
+        private final int first;
+        private final int[] drawPile;
+        private final int[] discardPile;
+        private int drawCount;
+        private int discardCount;
+
+        Pile(int first, int size) {
+            this.first = first;
+            this.drawPile = new int[size];
+            this.discardPile = new int[size];
+            for (int i = 0; i < size; i++) {
+                drawPile[i] = first + i;
+            }
+            drawCount = size;
+            shuffle(drawPile, drawCount);
+        }
+
+        Card draw() {
+            if (drawCount == 0) reshuffleDiscards();
+            if (drawCount == 0) return null;
+            int index = drawPile[--drawCount];
+            zones[index] = (byte) Zone.HAND.ordinal();
+            return catalog.getCard(index);
+        }
+
+        void discard(int index) {
+            discardPile[discardCount++] = index;
+            zones[index] = (byte) Zone.DISCARD_PILE.ordinal();
+        }
+
+        void writeTo(ByteBuffer out) {
+            writeStack(out, drawPile, drawCount);
+            writeStack(out, discardPile, discardCount);
+        }
+
+        void readFrom(ByteBuffer in) {
+            drawCount = readStack(in, drawPile);
+            discardCount = readStack(in, discardPile);
+        }
+
+        private void writeStack(ByteBuffer out, int[] stack, int count) {
+            out.putInt(count);
+            for (int i = 0; i < count; i++) {
+                out.putInt(stack[i]);
+            }
+        }
 
+        private int readStack(ByteBuffer in, int[] stack) {
+            int count = in.getInt();
+            if (count < 0 || count > stack.length) throw new IllegalArgumentException("Pile of " + count + " cards does not fit this catalog");
+            for (int i = 0; i < count; i++) {
+                int index = in.getInt();
+                if (index < first || index >= first + stack.length) throw new IllegalArgumentException("Card " + index + " does not belong in this pile");
+                stack[i] = index;
+            }
+            return count;
+        }
 
+        private void reshuffleDiscards() {
+            System.arraycopy(discardPile, 0, drawPile, 0, discardCount);
+            for (int i = 0; i < discardCount; i++) {
+                zones[drawPile[i]] = (byte) Zone.DRAW_PILE.ordinal();
+            }
+            drawCount = discardCount;
+            discardCount = 0;
+            shuffle(drawPile, drawCount);
+        }
+    }
+
+    private void shuffle(int[] pile, int count) {
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = pile[i];
+            pile[i] = pile[j];
+            pile[j] = tmp;
+        }
+    }
+
+    public static <T> List<T> getCardsFromJson(String jsonFilePath, Class<T> contentClass) {
+        return CardJson.readCards(jsonFilePath, contentClass);
+    }
 }
@@ -0,0 +1,96 @@
+package chaos_room.model;
+
+public class Encounter {
+    public static final int MAX_RAGE_DISCARDS = 3;
+    public static final int RAGE_BONUS = 3;
+
+    private final MonsterCard monster;
+    private final Player player;
+    private final boolean winsTies;
+    private final int escapeTarget;
+    private final int startingGap;
+    private int monsterStrength;
+    private int playerBonus;
+    private int rageDiscards;
+    private int bonusCardsUsed;
+    private int escapeRoll;
+
+    public Encounter(MonsterCard monster, Player player, int monsterStrength, int escapeTarget, boolean winsTies) {
+        this.monster = monster;
+        this.player = player;
+        this.monsterStrength = monsterStrength;
+        this.escapeTarget = escapeTarget;
+        this.winsTies = winsTies;
+        this.startingGap = getPlayerStrength() - monsterStrength;
+    }
+
+    public MonsterCard getMonster() {
+        return monster;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public int getMonsterStrength() {
+        return monsterStrength;
+    }
+
+    // Lowest die face that lets the player run away
+    public int getEscapeTarget() {
+        return escapeTarget;
+    }
+
+    public int getPlayerBonus() {
+        return playerBonus;
+    }
+
+    public int getPlayerStrength() {
+        return Math.max(1, player.getStrength() + playerBonus);
+    }
+
+    public boolean isWinsTies() {
+        return winsTies;
+    }
+
+    public boolean isPlayerWinning() {
+        int strength = getPlayerStrength();
+        return winsTies ? strength >= monsterStrength : strength > monsterStrength;
+    }
+
+    // Player strength minus monster strength when the fight began, before any card was played
+    public int getStartingGap() {
+        return startingGap;
+    }
+
+    public int getBonusCardsUsed() {
+        return bonusCardsUsed;
+    }
+
+    // The die face rolled to run away, 0 if the player did not have to run
+    public int getEscapeRoll() {
+        return escapeRoll;
+    }
+
+    public void setEscapeRoll(int escapeRoll) {
+        this.escapeRoll = escapeRoll;
+    }
+
+    public int getRageDiscards() {
+        return rageDiscards;
+    }
+
+    public boolean canRage() {
+        return winsTies && rageDiscards < MAX_RAGE_DISCARDS;
+    }
+
+    public void useBonusCard(int bonus) {
+        bonusCardsUsed++;
+        playerBonus += bonus;
+    }
+
+    public void rage() {
+        rageDiscards++;
+        playerBonus += RAGE_BONUS;
+    }
+}
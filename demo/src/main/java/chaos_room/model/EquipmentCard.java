@@ -1,6 +1,10 @@
 package chaos_room.model;
 
+import chaos_room.view.Decision;
+
 public class EquipmentCard extends Card {
+    private static final String[] REPLACE_OPTIONS = {"Yes, replace it", "No, keep current"};
+
     private int bonus;
     private String slot; // "Head", "Body", "Feet", "Hand"
     private int value; // Gold value
@@ -23,6 +27,7 @@ public class EquipmentCard extends Card {
     }
 
     public void setBonus(int bonus) {
+        checkMutable();
         this.bonus = bonus;
     }
 
@@ -31,6 +36,7 @@ public class EquipmentCard extends Card {
     }
 
     public void setSlot(String slot) {
+        checkMutable();
         this.slot = slot;
     }
 
@@ -39,6 +45,7 @@ public class EquipmentCard extends Card {
     }
 
     public void setValue(int value) {
+        checkMutable();
         this.value = value;
     }
 
@@ -47,6 +54,7 @@ public class EquipmentCard extends Card {
     }
 
     public void setInGame(String inGame) {
+        checkMutable();
         this.inGame = inGame;
     }
 
@@ -57,36 +65,27 @@ public class EquipmentCard extends Card {
 
     @Override
     public boolean use(Player player, chaos_room.view.GameView view) {
-        EquipmentCard existing = null;
-        for (Card c : player.getPlayerDeck()) {
-            if (c instanceof EquipmentCard) {
-                EquipmentCard eq = (EquipmentCard) c;
-                if (eq.getSlot().equals(this.getSlot())) {
-                    existing = eq;
-                    break;
-                }
-            }
-        }
+        EquipmentCard existing = player.getEquipped(this.getSlot());
 
+        boolean headless = view.isHeadless();
         if (existing != null) {
-            int choice = view.displayMenu(new String[]{"Yes, replace it", "No, keep current"}, 
-                "You already have an item in slot " + this.getSlot() + ": " + existing.getName() + ". Replace it with " + this.getName() + "?");
+            String title = headless ? null : "You already have an item in slot " + this.getSlot() + ": " + existing.getName() + ". Replace it with " + this.getName() + "?";
+            int choice = view.displayMenu(Decision.REPLACE_CARD, REPLACE_OPTIONS, title);
             if (choice == 0) {
-                player.getPlayerDeck().remove(existing);
-                player.getInventory().add(existing); // Return old item to inventory
-                view.displayMessage("Unequipped " + existing.getName());
+                player.unequip(existing); // Return old item to inventory
+                if (!headless) view.displayMessage("Unequipped " + existing.getName());
                 player.addCardToPlayerDeck(this);
                 // view.displayMessage("Card added to inventory: " + this.getName()); // Removed redundant message
-                player.getInventory().remove(this);
-                view.displayMessage(String.format("Equipped %s.", this.getName()));
+                player.removeFromInventory(this);
+                if (!headless) view.displayMessage(String.format("Equipped %s.", this.getName()));
             } else {
-                view.displayMessage("Cancelled.");
+                if (!headless) view.displayMessage("Cancelled.");
             }
         } else {
             player.addCardToPlayerDeck(this);
             // view.displayMessage("Card added to inventory: " + this.getName());
-            player.getInventory().remove(this);
-            view.displayMessage(String.format("Equipped %s.", this.getName()));
+            player.removeFromInventory(this);
+            if (!headless) view.displayMessage(String.format("Equipped %s.", this.getName()));
         }
         return false;
     }
@@ -0,0 +1,273 @@
+package chaos_room.model;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Exact odds of a fight for the cards in the player's hand. Every card can be kept, played
+ * for its battle bonus if it is a one-time bonus card, or discarded for Warrior Rage while
+ * rage discards are left. Whether a play wins is fixed by the strength it reaches; only
+ * running away and a "dynamic" level loss are left to the die, so those odds are exact too.
+ *
+ * The plays are counted with dynamic programming over the cards, keyed by the bonus reached
+ * and the rage discards used, rather than by trying every play. Results depend only on the
+ * hand's signature (strengths, escape target, rage discards left, level loss and the sorted
+ * bonus values), so they are cached per signature and shared by every game and thread; a
+ * cached lookup allocates nothing, which is what bots asking on every fight decision need.
+ */
+public final class FightOdds {
+    private static final int DIE_FACES = 6;
+    private static final int MAX_CACHED_BONUS_CARDS = 5;
+    private static final int CACHE_SIZE = 4096;
+
+    // Direct-mapped: a colliding signature simply replaces the entry
+    private static final AtomicReferenceArray<FightOdds> CACHE = new AtomicReferenceArray<>(CACHE_SIZE);
+
+    private final long key;
+    private final boolean winningNow;
+    private final int cardsToWin;
+    private final int bonusCardsToWin;
+    private final long winningPlays;
+    private final long plays;
+    private final double escapeChance;
+    private final double expectedLevelsLost;
+
+    private FightOdds(long key, boolean winningNow, int cardsToWin, int bonusCardsToWin, long winningPlays, long plays,
+                      double escapeChance, double expectedLevelsLost) {
+        this.key = key;
+        this.winningNow = winningNow;
+        this.cardsToWin = cardsToWin;
+        this.bonusCardsToWin = bonusCardsToWin;
+        this.winningPlays = winningPlays;
+        this.plays = plays;
+        this.escapeChance = escapeChance;
+        this.expectedLevelsLost = expectedLevelsLost;
+    }
+
+    public static FightOdds of(Encounter encounter) {
+        Player player = encounter.getPlayer();
+        MonsterModifiers modifiers = encounter.getMonster().getModifiers();
+        int strength = player.getStrength() + encounter.getPlayerBonus();
+        int rages = encounter.canRage() ? Encounter.MAX_RAGE_DISCARDS - encounter.getRageDiscards() : 0;
+        boolean dynamic = modifiers.isDynamicLevelsLost();
+        // A fixed loss stops at level 1; a dynamic one loses at most a die face, so levels above 7 count as 7
+        int levelsLost = dynamic ? 0 : Math.max(0, Math.min(modifiers.getLevelsLost(), player.getLevel() - 1));
+        int level = dynamic ? Math.min(player.getLevel(), DIE_FACES + 1) : 0;
+        int escapeTarget = Math.max(1, Math.min(DIE_FACES + 1, encounter.getEscapeTarget()));
+
+        // Only the bonus cards matter one by one; every other card is a possible rage discard
+        int inventorySize = player.getInventory().size();
+        List<Card> bonusCards = player.getInventory(CardType.BONUS);
+        int bonusCount = 0;
+        long bonusNibbles = 0;
+        boolean cacheable = strength >= -128 && strength < 128 && encounter.getMonsterStrength() >= 0
+                && encounter.getMonsterStrength() < 256 && levelsLost < 15 && inventorySize < 16;
+        for (int i = 0; i < bonusCards.size(); i++) {
+            Card card = bonusCards.get(i);
+            if (!isBonusCard(card)) continue;
+            int bonus = ((OneTimeBonusCard) card).getBattleBonus();
+            if (bonusCount == MAX_CACHED_BONUS_CARDS || bonus < 0 || bonus > 15) {
+                cacheable = false;
+            } else if (cacheable) {
+                bonusNibbles = insertSorted(bonusNibbles, bonusCount, bonus);
+            }
+            bonusCount++;
+        }
+        int others = inventorySize - bonusCount;
+
+        if (!cacheable) {
+            int[] bonuses = new int[bonusCount];
+            int n = 0;
+            for (int i = 0; i < bonusCards.size(); i++) {
+                Card card = bonusCards.get(i);
+                if (isBonusCard(card)) bonuses[n++] = ((OneTimeBonusCard) card).getBattleBonus();
+            }
+            return compute(0, strength, encounter.getMonsterStrength(), encounter.isWinsTies(), rages, escapeTarget,
+                    levelsLost, dynamic, level, others, bonuses);
+        }
+
+        long key = (strength + 128L)
+                | (long) encounter.getMonsterStrength() << 8
+                | (long) escapeTarget << 16
+                | (long) rages << 19
+                | (encounter.isWinsTies() ? 1L : 0L) << 21
+                | (long) (dynamic ? 15 : levelsLost) << 22
+                | (long) level << 26
+                | (long) others << 29
+                | (long) bonusCount << 33
+                | bonusNibbles << 36;
+        int slot = (int) (mix(key) & (CACHE_SIZE - 1));
+        FightOdds cached = CACHE.get(slot);
+        if (cached != null && cached.key == key) return cached;
+
+        int[] bonuses = new int[bonusCount];
+        for (int i = 0; i < bonusCount; i++) {
+            bonuses[i] = (int) (bonusNibbles >>> (i * 4)) & 0xF;
+        }
+        FightOdds odds = compute(key, strength, encounter.getMonsterStrength(), encounter.isWinsTies(), rages, escapeTarget,
+                levelsLost, dynamic, level, others, bonuses);
+        CACHE.set(slot, odds);
+        return odds;
+    }
+
+    // The same cards BattleController offers under "Use Bonus Card"
+    static boolean isBonusCard(Card card) {
+        return card.getType() == CardType.BONUS && card instanceof OneTimeBonusCard;
+    }
+
+    // Inserts a 4-bit value into count 4-bit values kept in ascending order
+    private static long insertSorted(long nibbles, int count, int value) {
+        int i = 0;
+        while (i < count && ((nibbles >>> (i * 4)) & 0xF) <= value) i++;
+        long low = nibbles & ((1L << (i * 4)) - 1);
+        long high = nibbles >>> (i * 4);
+        return low | (long) value << (i * 4) | high << (i * 4 + 4);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        return z ^ (z >>> 29);
+    }
+
+    private static FightOdds compute(long key, int strength, int monsterStrength, boolean winsTies, int rages,
+                                     int escapeTarget, int levelsLost, boolean dynamic, int level, int others, int[] bonuses) {
+        int maxBonus = rages * Encounter.RAGE_BONUS;
+        for (int bonus : bonuses) {
+            maxBonus += bonus;
+        }
+        int sums = maxBonus + 1;
+        int states = sums * (rages + 1);
+
+        // For every bonus reached with a number of rage discards: how many plays get there,
+        // the fewest cards that do, and the fewest bonus cards among those
+        long[] count = new long[states];
+        int[] fewestCards = new int[states];
+        int[] fewestBonusCards = new int[states];
+        long[] nextCount = new long[states];
+        int[] nextFewestCards = new int[states];
+        int[] nextFewestBonusCards = new int[states];
+        count[0] = 1;
+
+        int cards = others + bonuses.length;
+        for (int c = 0; c < cards; c++) {
+            int bonus = c < bonuses.length ? bonuses[c] : -1;
+            System.arraycopy(count, 0, nextCount, 0, states);
+            System.arraycopy(fewestCards, 0, nextFewestCards, 0, states);
+            System.arraycopy(fewestBonusCards, 0, nextFewestBonusCards, 0, states);
+            for (int state = 0; state < states; state++) {
+                if (count[state] == 0) continue;
+                int sum = state % sums;
+                int used = state / sums;
+                if (bonus >= 0) {
+                    add(nextCount, nextFewestCards, nextFewestBonusCards, state + bonus,
+                            count[state], fewestCards[state] + 1, fewestBonusCards[state] + 1);
+                }
+                if (used < rages) {
+                    add(nextCount, nextFewestCards, nextFewestBonusCards, state + Encounter.RAGE_BONUS + sums,
+                            count[state], fewestCards[state] + 1, fewestBonusCards[state]);
+                }
+            }
+            long[] swapCount = count;
+            count = nextCount;
+            nextCount = swapCount;
+            int[] swapCards = fewestCards;
+            fewestCards = nextFewestCards;
+            nextFewestCards = swapCards;
+            int[] swapBonusCards = fewestBonusCards;
+            fewestBonusCards = nextFewestBonusCards;
+            nextFewestBonusCards = swapBonusCards;
+        }
+
+        long plays = 0;
+        long winningPlays = 0;
+        int cardsToWin = -1;
+        int bonusCardsToWin = -1;
+        for (int state = 0; state < states; state++) {
+            if (count[state] == 0) continue;
+            plays += count[state];
+            if (!wins(strength + state % sums, monsterStrength, winsTies)) continue;
+            winningPlays += count[state];
+            if (cardsToWin < 0 || fewestCards[state] < cardsToWin
+                    || (fewestCards[state] == cardsToWin && fewestBonusCards[state] < bonusCardsToWin)) {
+                cardsToWin = fewestCards[state];
+                bonusCardsToWin = fewestBonusCards[state];
+            }
+        }
+
+        double escapeChance = Math.max(0, Math.min(DIE_FACES, DIE_FACES + 1 - escapeTarget)) / (double) DIE_FACES;
+        double expectedLevelsLost;
+        if (dynamic) {
+            int total = 0;
+            for (int face = 1; face <= DIE_FACES; face++) {
+                total += Math.min(face, level - 1);
+            }
+            expectedLevelsLost = total / (double) DIE_FACES;
+        } else {
+            expectedLevelsLost = levelsLost;
+        }
+        return new FightOdds(key, wins(strength, monsterStrength, winsTies), cardsToWin, bonusCardsToWin,
+                winningPlays, plays, escapeChance, expectedLevelsLost);
+    }
+
+    private static void add(long[] count, int[] fewestCards, int[] fewestBonusCards, int state,
+                            long plays, int cards, int bonusCards) {
+        if (count[state] == 0 || cards < fewestCards[state]
+                || (cards == fewestCards[state] && bonusCards < fewestBonusCards[state])) {
+            fewestCards[state] = cards;
+            fewestBonusCards[state] = bonusCards;
+        }
+        count[state] += plays;
+    }
+
+    private static boolean wins(int strength, int monsterStrength, boolean winsTies) {
+        strength = Math.max(1, strength);
+        return winsTies ? strength >= monsterStrength : strength > monsterStrength;
+    }
+
+    // Fighting right now beats the monster
+    public boolean isWinningNow() {
+        return winningNow;
+    }
+
+    public boolean canWin() {
+        return cardsToWin >= 0;
+    }
+
+    // The fewest cards to play or discard to win, 0 if already winning, -1 if no play wins
+    public int getCardsToWin() {
+        return cardsToWin;
+    }
+
+    // How many of those are bonus cards; the rest are Warrior Rage discards
+    public int getBonusCardsToWin() {
+        return bonusCardsToWin;
+    }
+
+    // Plays of the hand, counting playing nothing, that win
+    public long getWinningPlays() {
+        return winningPlays;
+    }
+
+    // Every play of the hand: each card kept, played or discarded for rage
+    public long getPlays() {
+        return plays;
+    }
+
+    // Chances of fighting right now; they add up to 1
+    public double getWinChance() {
+        return winningNow ? 1 : 0;
+    }
+
+    public double getEscapeChance() {
+        return winningNow ? 0 : escapeChance;
+    }
+
+    public double getBadStuffChance() {
+        return winningNow ? 0 : 1 - escapeChance;
+    }
+
+    // Levels the player can expect to lose if the Bad Stuff happens
+    public double getExpectedLevelsLost() {
+        return expectedLevelsLost;
+    }
+}
@@ -0,0 +1,7 @@
+package chaos_room.model;
+
+public enum FightOutcome {
+    WON,
+    ESCAPED,
+    DEFEATED
+}
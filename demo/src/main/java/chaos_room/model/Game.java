@@ -1,62 +1,121 @@
 package chaos_room.model;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 public class Game {
     private int turn;
     private Player currentPlayer;
     private List<Player> players;
     private int currentPlayerIndex = 0;
+    private Deck deck;
+    private Encounter encounter;
+    private final Random random;
+    private GameListener[] listeners = new GameListener[0];
+    private GameRecorder recorder = GameRecorder.NONE;
 
     public Game(List<Player> players) {
+        this(players, new GameRandom());
+    }
+
+    // Every roll and shuffle of this game comes from the given random, which must not be shared with other threads
+    public Game(List<Player> players, Random random) {
+        this(players, random, CardCatalog.getInstance());
+    }
+
+    public Game(List<Player> players, Random random, CardCatalog catalog) {
         turn = 1;
         this.players = players;
+        this.random = random;
         currentPlayer = players.get(0);
+        deck = new Deck(catalog, random);
+        for (Player player : players) {
+            player.setDeck(deck);
+        }
     }
 
     public void nextTurn(){
         currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
         currentPlayer = players.get(currentPlayerIndex);
         turn++;
+        recorder.turnStarted(this);
+        for (GameListener listener : listeners) {
+            listener.onTurnStarted(this);
+        }
+    }
+
+    // Rolls a six-sided die with this game's random
+    public int rollDie() {
+        int face = random.nextInt(6) + 1;
+        recorder.dieRolled(face);
+        return face;
+    }
+
+    // Returns the monster's strength against this player. The shared MonsterCard is left
+    // untouched, so games running on other threads never see each other's fight modifiers.
+    public int checkMonsterTags(MonsterCard monster, Player player) {
+        return monster.getModifiers().strengthAgainst(monster.getLevel(), player);
+    }
+
+    public int getEscapeTarget(MonsterCard monster, Player player) {
+        return monster.getModifiers().escapeTarget(player);
+    }
+
+    public Random getRandom() {
+        return random;
+    }
+
+    public void addListener(GameListener listener) {
+        GameListener[] extended = Arrays.copyOf(listeners, listeners.length + 1);
+        extended[listeners.length] = listener;
+        listeners = extended;
     }
 
-    public void checkMonsterTags(MonsterCard monster, Player player) {
-        if (monster.getTags() == null) {
-            return;
-        } else {
-            for (String key : monster.getTags().keySet()){
-                switch (key){
-                    case "vsWarrior":
-                        if (player.getPlayerDeck().stream().anyMatch(card -> card.getId().equals("class-warrior"))) monster.setStrength(monster.getStrength() + (int) monster.getTags().get("vsWarrior"));
-                        break;
-                    case "vsMage":
-                        if (player.getPlayerDeck().stream().anyMatch(card -> card.getId().equals("class-mage"))) monster.setStrength(monster.getStrength() + (int) monster.getTags().get("vsMage"));
-                        break;
-                    case "vsHalfling":
-                        if (player.getPlayerDeck().stream().anyMatch(card -> card.getId().equals("race-halfling"))) monster.setStrength(monster.getStrength() + (int) monster.getTags().get("vsHalfling"));
-                        break;
-                    case "vsElf":
-                        if (player.getPlayerDeck().stream().anyMatch(card -> card.getId().equals("race-elf"))) monster.setStrength(monster.getStrength() + (int) monster.getTags().get("vsElf"));
-                        break;
-                    case "vsDwarf":
-                        if (player.getPlayerDeck().stream().anyMatch(card -> card.getId().equals("race-dwarf"))) monster.setStrength(monster.getStrength() + (int) monster.getTags().get("vsDwarf"));
-                        break;
-                    case "vsCleric":
-                        if (player.getPlayerDeck().stream().anyMatch(card -> card.getId().equals("class-cleric"))) monster.setStrength(monster.getStrength() + (int) monster.getTags().get("vsCleric"));
-                        break;
-                    case "escapeBonus":
-                        player.setEscapeChances(player.getEscapeChances() - (int) monster.getTags().get("escapeBonus"));
-                        break;
-                    case "noEscape":
-                        player.setEscapeChances(0);
-                        break;
-                    default:
-                        break;
-                    }
-                }
+    public void fireFightResolved(MonsterCard monster, Player player, FightOutcome outcome, int levelsLost) {
+        recorder.fightResolved(player, monster, outcome, levelsLost);
+        for (GameListener listener : listeners) {
+            listener.onFightResolved(this, monster, player, outcome, levelsLost);
         }
     }
 
+    public GameRecorder getRecorder() {
+        return recorder;
+    }
+
+    // Only one recorder at a time; pass GameRecorder.NONE to stop recording
+    public void setRecorder(GameRecorder recorder) {
+        this.recorder = recorder;
+        deck.setRecorder(recorder);
+        for (Player player : players) {
+            player.setRecorder(recorder);
+        }
+    }
+
+    // Used when a game is rebuilt from a snapshot
+    void restoreTurn(int turn, int currentPlayerIndex) {
+        this.turn = turn;
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.currentPlayer = players.get(currentPlayerIndex);
+    }
+
+    public int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+
+    public Deck getDeck() {
+        return deck;
+    }
+
+    // The fight in progress, or null between fights
+    public Encounter getEncounter() {
+        return encounter;
+    }
+
+    public void setEncounter(Encounter encounter) {
+        this.encounter = encounter;
+    }
+
     public int getTurn() {
         return turn;
     }
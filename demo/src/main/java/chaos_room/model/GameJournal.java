@@ -0,0 +1,373 @@
+package chaos_room.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Append-only journal of a game's state changes in a memory-mapped file. Every event is a
+ * few bytes written straight into the mapping, so recording costs no system call, and what
+ * was written survives the JVM dying: the page cache still holds it. Checkpoints (full
+ * {@link GameSnapshot}s) are written every few turns and chained backwards from the header,
+ * so {@link #replay(Path, int)} only replays the events after the nearest one.
+ *
+ * Layout (big-endian):
+ *   header      magic, version, catalog size, end of the last complete event, last checkpoint
+ *   events      opcode byte and a fixed payload; a checkpoint carries the previous checkpoint's
+ *               offset, its turn and the snapshot
+ *
+ * The header's end is only moved once an event is complete, so a journal cut off mid-write
+ * replays up to the last whole event.
+ */
+public final class GameJournal implements GameRecorder, AutoCloseable {
+    public static final String DIR_PROPERTY = "chaos_room.journal";
+    static final int MAGIC = 0x43524a4c; // "CRJL"
+    static final int VERSION = 4;
+
+    private static final int HEADER_SIZE = 32;
+    private static final int END = 12;
+    private static final int LAST_CHECKPOINT = 16;
+    private static final int NO_CHECKPOINT = -1;
+    private static final int INITIAL_CAPACITY = 1 << 20;
+
+    private static final byte DRAW_DOOR = 1;
+    private static final byte DRAW_TREASURE = 2;
+    private static final byte DISCARD = 3;
+    private static final byte INVENTORY_ADD = 4;
+    private static final byte INVENTORY_REMOVE = 5;
+    private static final byte PLAY = 6;
+    private static final byte UNEQUIP = 7;
+    private static final byte REMOVE = 8;
+    private static final byte LEVEL = 9;
+    private static final byte ESCAPE_CHANCES = 10;
+    private static final byte ROLL = 11;
+    private static final byte TURN = 12;
+    private static final byte BONUS = 13;
+    private static final byte FIGHT = 14;
+    private static final byte CHECKPOINT = 15;
+
+    private static final FightOutcome[] OUTCOMES = FightOutcome.values();
+
+    private final Path file;
+    private final FileChannel channel;
+    private final Game game;
+    private final List<Player> players;
+    private MappedByteBuffer buffer;
+    private int checkpointInterval = 10;
+    private int lastCheckpoint = NO_CHECKPOINT;
+
+    private GameJournal(Path file, FileChannel channel, Game game) throws IOException {
+        this.file = file;
+        this.channel = channel;
+        this.game = game;
+        this.players = game.getPlayers();
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, INITIAL_CAPACITY);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(game.getDeck().getCatalog().size()).putInt(HEADER_SIZE).putInt(NO_CHECKPOINT);
+        ((Buffer) buffer).position(HEADER_SIZE);
+    }
+
+    /**
+     * Starts journaling the game into a new file, beginning with a checkpoint of its current
+     * state. The game must use a {@link GameRandom}, or its rolls and reshuffles could not be
+     * replayed.
+     */
+    public static GameJournal start(Path file, Game game) throws IOException {
+        if (!(game.getRandom() instanceof GameRandom)) {
+            throw new IllegalArgumentException("Only games with a GameRandom can be journaled");
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        GameJournal journal;
+        try {
+            journal = new GameJournal(file, channel, game);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        journal.checkpoint();
+        game.setRecorder(journal);
+        return journal;
+    }
+
+    // Journals the game to <name>.journal under -Dchaos_room.journal if it is set; returns null otherwise
+    public static GameJournal startIfConfigured(Game game, String name) throws IOException {
+        String directory = System.getProperty(DIR_PROPERTY);
+        if (directory == null) return null;
+        Path dir = Files.createDirectories(Paths.get(directory));
+        return start(dir.resolve(name + ".journal"), game);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    // Turns between checkpoints; 0 or less writes none after the first
+    public void setCheckpointInterval(int turns) {
+        this.checkpointInterval = turns;
+    }
+
+    // Bytes of complete events so far, header included
+    public int size() {
+        return buffer.position();
+    }
+
+    @Override
+    public void cardDrawn(boolean treasure, Card card) {
+        ensure(5);
+        buffer.put(treasure ? DRAW_TREASURE : DRAW_DOOR).putInt(index(card));
+        commit();
+    }
+
+    @Override
+    public void cardDiscarded(Card card) {
+        ensure(5);
+        buffer.put(DISCARD).putInt(index(card));
+        commit();
+    }
+
+    @Override
+    public void inventoryAdded(Player player, Card card) {
+        playerCard(INVENTORY_ADD, player, card);
+    }
+
+    @Override
+    public void inventoryRemoved(Player player, Card card) {
+        playerCard(INVENTORY_REMOVE, player, card);
+    }
+
+    @Override
+    public void cardPlayed(Player player, Card card) {
+        playerCard(PLAY, player, card);
+    }
+
+    @Override
+    public void cardUnequipped(Player player, Card card) {
+        playerCard(UNEQUIP, player, card);
+    }
+
+    @Override
+    public void cardRemoved(Player player, Card card) {
+        playerCard(REMOVE, player, card);
+    }
+
+    @Override
+    public void levelChanged(Player player, int level) {
+        ensure(4);
+        buffer.put(LEVEL).put(seat(player)).putShort((short) level);
+        commit();
+    }
+
+    @Override
+    public void escapeChancesChanged(Player player, int escapeChances) {
+        ensure(3);
+        buffer.put(ESCAPE_CHANCES).put(seat(player)).put((byte) escapeChances);
+        commit();
+    }
+
+    @Override
+    public void dieRolled(int face) {
+        ensure(2);
+        buffer.put(ROLL).put((byte) face);
+        commit();
+    }
+
+    @Override
+    public void turnStarted(Game game) {
+        ensure(5);
+        buffer.put(TURN).putInt(game.getTurn());
+        commit();
+        if (checkpointInterval > 0 && game.getTurn() % checkpointInterval == 0) {
+            checkpoint();
+        }
+    }
+
+    @Override
+    public void bonusUsed(Player player, Card card, int bonus) {
+        ensure(8);
+        buffer.put(BONUS).put(seat(player)).putInt(index(card)).putShort((short) bonus);
+        commit();
+    }
+
+    @Override
+    public void fightResolved(Player player, MonsterCard monster, FightOutcome outcome, int levelsLost) {
+        ensure(9);
+        buffer.put(FIGHT).put(seat(player)).putInt(index(monster)).put((byte) outcome.ordinal()).putShort((short) levelsLost);
+        commit();
+    }
+
+    private void playerCard(byte opcode, Player player, Card card) {
+        ensure(6);
+        buffer.put(opcode).put(seat(player)).putInt(index(card));
+        commit();
+    }
+
+    private void checkpoint() {
+        int size = GameSnapshot.sizeOf(game);
+        ensure(13 + size);
+        int offset = buffer.position();
+        buffer.put(CHECKPOINT).putInt(lastCheckpoint).putInt(game.getTurn());
+        int lengthAt = buffer.position();
+        buffer.putInt(0);
+        GameSnapshot.write(game, buffer);
+        buffer.putInt(lengthAt, buffer.position() - lengthAt - 4);
+        commit();
+        lastCheckpoint = offset;
+        buffer.putInt(LAST_CHECKPOINT, offset);
+    }
+
+    private void commit() {
+        buffer.putInt(END, buffer.position());
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.remaining() >= bytes) return;
+        int position = buffer.position();
+        long capacity = Math.max((long) buffer.capacity() * 2, position + bytes);
+        if (capacity > Integer.MAX_VALUE) throw new IllegalStateException("Journal " + file + " is full");
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot grow journal " + file, e);
+        }
+        ((Buffer) buffer).position(position);
+    }
+
+    private byte seat(Player player) {
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i) == player) return (byte) i;
+        }
+        throw new IllegalArgumentException(player.getName() + " is not playing this game");
+    }
+
+    private static int index(Card card) {
+        return card == null ? -1 : card.getCatalogIndex();
+    }
+
+    // Stops recording and flushes the mapping to disk
+    @Override
+    public void close() throws IOException {
+        if (game.getRecorder() == this) game.setRecorder(GameRecorder.NONE);
+        buffer.force();
+        channel.close();
+    }
+
+    // Rebuilds the game as it was after the last complete event
+    public static Game replay(Path file) throws IOException {
+        return replay(file, Integer.MAX_VALUE);
+    }
+
+    // Rebuilds the game as it was at the start of the given turn, or at the end if it never got there
+    public static Game replay(Path file, int turn) throws IOException {
+        ByteBuffer in;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        CardCatalog catalog = CardCatalog.getInstance();
+        if (in.limit() < HEADER_SIZE || in.getInt(0) != MAGIC) throw new IOException(file + " is not a game journal");
+        if (in.getInt(4) != VERSION) throw new IOException(file + " has unsupported journal version " + in.getInt(4));
+        if (in.getInt(8) != catalog.size()) {
+            throw new IOException(file + " was recorded with a catalog of " + in.getInt(8) + " cards, not " + catalog.size());
+        }
+        int end = in.getInt(END);
+        int checkpoint = in.getInt(LAST_CHECKPOINT);
+        while (checkpoint != NO_CHECKPOINT && in.getInt(checkpoint + 5) > turn) {
+            checkpoint = in.getInt(checkpoint + 1);
+        }
+        if (checkpoint == NO_CHECKPOINT) {
+            // Every journal starts with a checkpoint, so the turn was before the game was journaled
+            checkpoint = HEADER_SIZE;
+        }
+        ((Buffer) in).position(checkpoint + 13).limit(end);
+        Game game = GameSnapshot.read(in, catalog);
+        ((Buffer) in).position(checkpoint + 13 + in.getInt(checkpoint + 9));
+        if (game.getTurn() < turn) apply(game, in, turn, file);
+        return game;
+    }
+
+    private static void apply(Game game, ByteBuffer in, int turn, Path file) {
+        List<Player> players = game.getPlayers();
+        CardCatalog catalog = game.getDeck().getCatalog();
+        Deck deck = game.getDeck();
+        while (in.hasRemaining()) {
+            int offset = in.position();
+            byte opcode = in.get();
+            switch (opcode) {
+                case DRAW_DOOR:
+                case DRAW_TREASURE:
+                    Card drawn = opcode == DRAW_DOOR ? deck.drawDoorCard() : deck.drawTreasureCard();
+                    if (index(drawn) != in.getInt()) throw diverged(file, offset, "a different card was drawn");
+                    break;
+                case DISCARD:
+                    deck.discard(catalog.getCard(in.getInt()));
+                    break;
+                case INVENTORY_ADD:
+                    players.get(in.get()).addToInventory(catalog.getCard(in.getInt()));
+                    break;
+                case INVENTORY_REMOVE:
+                    players.get(in.get()).removeFromInventory(catalog.getCard(in.getInt()));
+                    break;
+                case PLAY:
+                    players.get(in.get()).addCardToPlayerDeck(catalog.getCard(in.getInt()));
+                    break;
+                case UNEQUIP:
+                    players.get(in.get()).unequip(catalog.getCard(in.getInt()));
+                    break;
+                case REMOVE:
+                    players.get(in.get()).removeCard(catalog.getCard(in.getInt()));
+                    break;
+                case LEVEL:
+                    players.get(in.get()).setLevel(in.getShort());
+                    break;
+                case ESCAPE_CHANCES:
+                    players.get(in.get()).setEscapeChances(in.get());
+                    break;
+                case ROLL:
+                    if (game.rollDie() != in.get()) throw diverged(file, offset, "a different die roll came up");
+                    break;
+                case TURN:
+                    game.nextTurn();
+                    if (game.getTurn() != in.getInt()) throw diverged(file, offset, "the turns are out of step");
+                    if (game.getTurn() >= turn) return;
+                    break;
+                case BONUS:
+                    ((Buffer) in).position(in.position() + 7);
+                    break;
+                case FIGHT:
+                    ((Buffer) in).position(in.position() + 8);
+                    break;
+                case CHECKPOINT:
+                    ((Buffer) in).position(in.position() + 8);
+                    ((Buffer) in).position(in.position() + 4 + in.getInt(in.position()));
+                    break;
+                default:
+                    throw diverged(file, offset, "unknown event " + opcode);
+            }
+        }
+    }
+
+    private static IllegalStateException diverged(Path file, int offset, String reason) {
+        return new IllegalStateException("Journal " + file + " does not replay at offset " + offset + ": " + reason);
+    }
+
+    // Prints the players as they were at the start of a turn: GameJournal <journal> [turn]
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: GameJournal <journal> [turn]");
+            System.exit(1);
+        }
+        Game game = replay(Paths.get(args[0]), args.length > 1 ? Integer.parseInt(args[1]) : Integer.MAX_VALUE);
+        System.out.println("Turn " + game.getTurn() + ", " + game.getCurrentPlayer().getName() + " to play");
+        for (Player player : game.getPlayers()) {
+            System.out.printf("%s: level %d, strength %d, %d cards in hand, %d in play%n", player.getName(),
+                    player.getLevel(), player.getStrength(), player.getInventory().size(), player.getPlayerDeck().size());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package chaos_room.model;
+
+// Notified by the controllers as a game is played, e.g. to collect statistics
+public interface GameListener {
+    // levelsLost is the number of levels actually taken from the player, 0 unless the outcome is DEFEATED.
+    // game.getEncounter() is still the fight's encounter during the call.
+    void onFightResolved(Game game, MonsterCard monster, Player player, FightOutcome outcome, int levelsLost);
+
+    // After Game.nextTurn, before the new current player does anything
+    default void onTurnStarted(Game game) {}
+}
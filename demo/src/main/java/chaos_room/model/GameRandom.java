@@ -0,0 +1,75 @@
+package chaos_room.model;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The one source of randomness of a game: every shuffle, escape roll and level-loss roll
+ * comes from it, so a game is reproduced bit for bit from its seed. The state can also be
+ * read and restored, so a journal checkpoint or a save carries on with exactly the rolls
+ * the game would have seen. It runs the same generator as Random, so a given seed yields
+ * the same numbers as new Random(seed), but without Random's atomic updates, since a game's
+ * random belongs to that game's thread. nextGaussian's cached second value is not part of
+ * the state.
+ */
+public class GameRandom extends Random {
+    private static final long serialVersionUID = 1L;
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    // Assigned through setSeed while Random's constructor runs, so it has no initializer
+    private long state;
+    private final long seed;
+
+    public GameRandom() {
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    public GameRandom(long seed) {
+        super(seed);
+        this.seed = seed;
+    }
+
+    // The seed this random was created with; quoting it reproduces the game
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * A new random for another game or worker, seeded from this one. The seed is scrambled
+     * with the SplitMix64 finalizer, so a split's stream is unrelated to its parent's, and a
+     * given parent seed always yields the same splits.
+     */
+    public GameRandom split() {
+        return new GameRandom(mix(nextLong() + GOLDEN_GAMMA));
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed);
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    // A game's random is only used from that game's thread, so no compare-and-set is needed
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    public long getState() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state & MASK;
+    }
+}
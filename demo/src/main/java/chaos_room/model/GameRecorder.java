@@ -0,0 +1,28 @@
+package chaos_room.model;
+
+// Told about every change to a game's state, in the order it happens and on the game's own
+// thread, e.g. to journal it (see GameJournal). Replaying the calls in order on a copy of the
+// game's starting state rebuilds the game exactly.
+public interface GameRecorder {
+    GameRecorder NONE = new GameRecorder() {};
+
+    // card is null when the pile and its discards are empty
+    default void cardDrawn(boolean treasure, Card card) {}
+    // A card went onto its discard pile
+    default void cardDiscarded(Card card) {}
+    default void inventoryAdded(Player player, Card card) {}
+    default void inventoryRemoved(Player player, Card card) {}
+    // A card was put into play, i.e. added to the player's deck
+    default void cardPlayed(Player player, Card card) {}
+    default void cardUnequipped(Player player, Card card) {}
+    // The first step of Player.discard: the card left the inventory or the player's deck
+    default void cardRemoved(Player player, Card card) {}
+    default void levelChanged(Player player, int level) {}
+    default void escapeChancesChanged(Player player, int escapeChances) {}
+    default void dieRolled(int face) {}
+    default void turnStarted(Game game) {}
+
+    // Informational only; the state changes these stand for are reported on their own
+    default void bonusUsed(Player player, Card card, int bonus) {}
+    default void fightResolved(Player player, MonsterCard monster, FightOutcome outcome, int levelsLost) {}
+}
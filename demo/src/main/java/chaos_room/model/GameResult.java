@@ -0,0 +1,24 @@
+package chaos_room.model;
+
+public class GameResult {
+    private final Player winner;
+    private final int turns;
+
+    public GameResult(Player winner, int turns) {
+        this.winner = winner;
+        this.turns = turns;
+    }
+
+    // Null when the game was stopped at its turn limit without a winner
+    public Player getWinner() {
+        return winner;
+    }
+
+    public int getTurns() {
+        return turns;
+    }
+
+    public boolean hasWinner() {
+        return winner != null;
+    }
+}
@@ -0,0 +1,89 @@
+package chaos_room.model;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+
+/**
+ * Saved game file: a short versioned header around a {@link GameSnapshot}. Cards are stored
+ * as catalog indexes, and the header carries the catalog's fingerprint, so a save is refused
+ * by a catalog whose cards differ rather than loaded with the wrong cards.
+ *
+ * Layout (big-endian):
+ *   magic, version, catalog fingerprint, snapshot length, CRC32 of the snapshot, snapshot
+ */
+public final class GameSave {
+    static final int MAGIC = 0x43525356; // "CRSV"
+    static final short VERSION = 4;
+
+    private static final int HEADER_SIZE = 4 + 2 + 4 + 4 + 4;
+
+    private GameSave() {
+    }
+
+    public static byte[] toBytes(Game game) {
+        ByteBuffer out = ByteBuffer.allocate(HEADER_SIZE + GameSnapshot.sizeOf(game));
+        out.putInt(MAGIC).putShort(VERSION).putInt(game.getDeck().getCatalog().getFingerprint());
+        ((Buffer) out).position(HEADER_SIZE);
+        GameSnapshot.write(game, out);
+        int length = out.position() - HEADER_SIZE;
+        CRC32 crc = new CRC32();
+        crc.update(out.array(), HEADER_SIZE, length);
+        out.putInt(10, length).putInt(14, (int) crc.getValue());
+        byte[] bytes = new byte[out.position()];
+        System.arraycopy(out.array(), 0, bytes, 0, bytes.length);
+        return bytes;
+    }
+
+    public static Game fromBytes(byte[] bytes) throws IOException {
+        return fromBytes(bytes, CardCatalog.getInstance());
+    }
+
+    public static Game fromBytes(byte[] bytes, CardCatalog catalog) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        try {
+            if (in.getInt() != MAGIC) throw new IOException("Not a saved game");
+            short version = in.getShort();
+            if (version != VERSION) throw new IOException("Unsupported save version " + version);
+            if (in.getInt() != catalog.getFingerprint()) throw new IOException("The game was saved with different cards");
+            int length = in.getInt();
+            int checksum = in.getInt();
+            if (length != in.remaining()) throw new IOException("Saved game is truncated");
+            CRC32 crc = new CRC32();
+            crc.update(bytes, HEADER_SIZE, length);
+            if ((int) crc.getValue() != checksum) throw new IOException("Saved game is corrupt");
+            return GameSnapshot.read(in, catalog);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Saved game is corrupt", e);
+        }
+    }
+
+    // Writes next to the file and then moves over it, so a crash mid-save keeps the previous save
+    public static void save(Game game, Path file) throws IOException {
+        write(toBytes(game), file);
+    }
+
+    static void write(byte[] bytes, Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, bytes);
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    public static Game load(Path file) throws IOException {
+        try {
+            return fromBytes(Files.readAllBytes(file));
+        } catch (IOException e) {
+            throw new IOException(file + ": " + e.getMessage(), e);
+        }
+    }
+}
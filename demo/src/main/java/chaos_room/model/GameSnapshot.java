@@ -0,0 +1,157 @@
+package chaos_room.model;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact binary copy of a whole game: turn, players, their hands and cards in play, the
+ * piles and the state of the game's random. Cards are stored as int catalog indexes, so
+ * a snapshot only restores against the same catalog it was taken from. Taken between turns;
+ * a fight in progress is not part of it.
+ *
+ * Layout (big-endian):
+ *   catalog size, turn, current player index, random flag and state
+ *   per player: name and gender (int length, UTF-8), level, escape chances, bot flag, inventory, cards in play
+ *   deck: door and treasure draw and discard piles, then every card's zone
+ */
+public final class GameSnapshot {
+    private GameSnapshot() {
+    }
+
+    public static byte[] capture(Game game) {
+        ByteBuffer out = ByteBuffer.allocate(sizeOf(game));
+        write(game, out);
+        return Arrays.copyOf(out.array(), out.position());
+    }
+
+    // Upper bound of the bytes write(game, ...) needs
+    public static int sizeOf(Game game) {
+        int catalogSize = game.getDeck().getCatalog().size();
+        long size = 4 + 4 + 1 + 1 + 8 + 1;
+        for (Player player : game.getPlayers()) {
+            size += 4 + utf8Bound(player.getName()) + 4 + utf8Bound(player.getGender()) + 2 + 1 + 1
+                    + 4 + 4 * player.getInventory().size() + 4 + 4 * player.getPlayerDeck().size();
+        }
+        // Each card is in at most one pile, and each pile has a count
+        size += 4 * 4 + 4L * catalogSize + (catalogSize + 3) / 4;
+        if (size > Integer.MAX_VALUE) throw new IllegalArgumentException("A game with " + catalogSize + " cards is too large to snapshot");
+        return (int) size;
+    }
+
+    private static int utf8Bound(String value) {
+        return value == null ? 0 : 3 * value.length();
+    }
+
+    public static void write(Game game, ByteBuffer out) {
+        Deck deck = game.getDeck();
+        out.putInt(deck.getCatalog().size());
+        out.putInt(game.getTurn());
+        out.put((byte) game.getCurrentPlayerIndex());
+        if (game.getRandom() instanceof GameRandom) {
+            out.put((byte) 1).putLong(((GameRandom) game.getRandom()).getState());
+        } else {
+            // A plain Random's state cannot be read; the restored game gets a fresh one
+            out.put((byte) 0).putLong(0);
+        }
+        out.put((byte) game.getPlayers().size());
+        for (Player player : game.getPlayers()) {
+            writeString(out, player.getName());
+            writeString(out, player.getGender());
+            out.putShort((short) player.getLevel());
+            out.put((byte) player.getEscapeChances());
+            out.put((byte) (player.isBot() ? 1 : 0));
+            writeCards(out, player.getInventory());
+            writeCards(out, player.getPlayerDeck());
+        }
+        deck.writeTo(out);
+    }
+
+    public static Game restore(byte[] snapshot) {
+        return read(ByteBuffer.wrap(snapshot), CardCatalog.getInstance());
+    }
+
+    public static Game read(ByteBuffer in, CardCatalog catalog) {
+        try {
+            int catalogSize = in.getInt();
+            if (catalogSize != catalog.size()) {
+                throw new IllegalArgumentException("Snapshot is of a catalog with " + catalogSize + " cards, not " + catalog.size());
+            }
+            int turn = in.getInt();
+            int currentPlayerIndex = in.get();
+            boolean hasRandomState = in.get() != 0;
+            long randomState = in.getLong();
+            int playerCount = in.get();
+            if (playerCount <= 0 || currentPlayerIndex < 0 || currentPlayerIndex >= playerCount) {
+                throw new IllegalArgumentException("Snapshot has " + playerCount + " players and current player " + currentPlayerIndex);
+            }
+            List<Player> players = new ArrayList<>(playerCount);
+            List<List<Card>> inPlay = new ArrayList<>(playerCount);
+            for (int i = 0; i < playerCount; i++) {
+                Player player = new Player(readString(in), readString(in));
+                player.setLevel(in.getShort());
+                player.setEscapeChances(in.get());
+                player.setBot(in.get() != 0);
+                for (Card card : readCards(in, catalog)) {
+                    player.getInventory().add(card);
+                }
+                inPlay.add(readCards(in, catalog));
+                players.add(player);
+            }
+            GameRandom random = new GameRandom();
+            Game game = new Game(players, random, catalog);
+            for (int i = 0; i < playerCount; i++) {
+                for (Card card : inPlay.get(i)) {
+                    players.get(i).addCardToPlayerDeck(card);
+                }
+            }
+            // Overwrites the zones set while the cards were put into play, and the new deck's shuffle
+            game.getDeck().readFrom(in);
+            game.restoreTurn(turn, currentPlayerIndex);
+            if (hasRandomState) random.setState(randomState);
+            return game;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated or corrupt game snapshot", e);
+        }
+    }
+
+    private static void writeCards(ByteBuffer out, List<Card> cards) {
+        out.putInt(cards.size());
+        for (int i = 0; i < cards.size(); i++) {
+            Card card = cards.get(i);
+            if (card.getCatalogIndex() < 0) throw new IllegalArgumentException("Card " + card.getId() + " is not from the catalog");
+            out.putInt(card.getCatalogIndex());
+        }
+    }
+
+    private static List<Card> readCards(ByteBuffer in, CardCatalog catalog) {
+        int count = in.getInt();
+        if (count < 0 || count > catalog.size()) throw new IllegalArgumentException("List of " + count + " cards does not fit this catalog");
+        List<Card> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cards.add(catalog.getCard(in.getInt()));
+        }
+        return cards;
+    }
+
+    private static void writeString(ByteBuffer out, String value) {
+        if (value == null) {
+            out.putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.putInt(bytes.length).put(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length == -1) return null;
+        if (length < 0 || length > in.remaining()) throw new IllegalArgumentException("String of " + length + " bytes does not fit the snapshot");
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
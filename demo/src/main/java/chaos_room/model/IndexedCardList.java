@@ -0,0 +1,218 @@
+package chaos_room.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * A list of cards that keeps them indexed by id, by CardType and, for monsters, by tag, so
+ * those lookups cost O(1) or O(matches) instead of a scan. Every change goes through add,
+ * remove and set, so the indexes stay right however the list is changed. The lists handed
+ * out are read-only views kept in list order, made once, so reading them allocates nothing.
+ */
+public final class IndexedCardList extends AbstractList<Card> implements RandomAccess {
+    private static final CardType[] TYPES = CardType.values();
+
+    private final ArrayList<Card> cards = new ArrayList<>();
+    // First card of each id
+    private final Map<String, Card> byId = new HashMap<>();
+    // Indexed by CardType ordinal; cards without a type count as UNKNOWN
+    private final ArrayList<Card>[] byType;
+    private final List<Card>[] byTypeView;
+    private Map<String, ArrayList<MonsterCard>> byTag;
+    private Map<String, List<MonsterCard>> byTagView;
+
+    @SuppressWarnings("unchecked")
+    public IndexedCardList() {
+        byType = (ArrayList<Card>[]) new ArrayList<?>[TYPES.length];
+        byTypeView = (List<Card>[]) new List<?>[TYPES.length];
+        for (int i = 0; i < TYPES.length; i++) {
+            byType[i] = new ArrayList<>();
+            byTypeView[i] = Collections.unmodifiableList(byType[i]);
+        }
+    }
+
+    public IndexedCardList(List<Card> cards) {
+        this();
+        for (int i = 0; i < cards.size(); i++) {
+            add(cards.get(i));
+        }
+    }
+
+    @Override
+    public Card get(int index) {
+        return cards.get(index);
+    }
+
+    @Override
+    public int size() {
+        return cards.size();
+    }
+
+    @Override
+    public void add(int index, Card card) {
+        cards.add(index, card);
+        modCount++;
+        index(card, index);
+    }
+
+    @Override
+    public Card remove(int index) {
+        Card card = cards.remove(index);
+        modCount++;
+        unindex(card);
+        return card;
+    }
+
+    @Override
+    public Card set(int index, Card card) {
+        Card old = cards.set(index, card);
+        unindex(old);
+        index(card, index);
+        return old;
+    }
+
+    // The ones below scan without an iterator
+    @Override
+    public boolean remove(Object card) {
+        int index = indexOf(card);
+        if (index < 0) return false;
+        remove(index);
+        return true;
+    }
+
+    @Override
+    public int indexOf(Object card) {
+        for (int i = 0; i < cards.size(); i++) {
+            if (cards.get(i).equals(card)) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object card) {
+        return indexOf(card) >= 0;
+    }
+
+    @Override
+    public void clear() {
+        cards.clear();
+        modCount++;
+        byId.clear();
+        for (ArrayList<Card> typed : byType) {
+            typed.clear();
+        }
+        if (byTag != null) {
+            for (ArrayList<MonsterCard> tagged : byTag.values()) {
+                tagged.clear();
+            }
+        }
+    }
+
+    // The first card with the given id, or null
+    public Card findById(String id) {
+        return byId.get(id);
+    }
+
+    public boolean containsId(String id) {
+        return byId.containsKey(id);
+    }
+
+    public int count(CardType type) {
+        return byType[type.ordinal()].size();
+    }
+
+    // Read-only, in list order
+    public List<Card> ofType(CardType type) {
+        return byTypeView[type.ordinal()];
+    }
+
+    // The monsters carrying a tag such as "undead" or "vsDwarf"; read-only, in list order
+    public List<MonsterCard> withTag(String tag) {
+        List<MonsterCard> tagged = byTagView == null ? null : byTagView.get(tag);
+        return tagged == null ? Collections.<MonsterCard>emptyList() : tagged;
+    }
+
+    private static int typeIndex(Card card) {
+        return (card.getType() == null ? CardType.UNKNOWN : card.getType()).ordinal();
+    }
+
+    // Indexes a card just inserted at the given position
+    private void index(Card card, int at) {
+        boolean appended = at == cards.size() - 1;
+        if (card.getId() != null) {
+            Card first = byId.get(card.getId());
+            if (first == null || (!appended && cards.indexOf(first) > at)) byId.put(card.getId(), card);
+        }
+
+        int type = typeIndex(card);
+        ArrayList<Card> typed = byType[type];
+        if (appended) {
+            typed.add(card);
+        } else {
+            int position = 0;
+            for (int i = 0; i < at; i++) {
+                if (typeIndex(cards.get(i)) == type) position++;
+            }
+            typed.add(position, card);
+        }
+
+        if (card instanceof MonsterCard && ((MonsterCard) card).getTags() != null) {
+            for (String tag : ((MonsterCard) card).getTags().keySet()) {
+                ArrayList<MonsterCard> tagged = tagged(tag);
+                if (appended) {
+                    tagged.add((MonsterCard) card);
+                } else {
+                    int position = 0;
+                    for (int i = 0; i < at; i++) {
+                        if (hasTag(cards.get(i), tag)) position++;
+                    }
+                    tagged.add(position, (MonsterCard) card);
+                }
+            }
+        }
+    }
+
+    private void unindex(Card card) {
+        if (card.getId() != null && byId.get(card.getId()) == card) {
+            byId.remove(card.getId());
+            // Another card with the same id becomes the first one
+            for (int i = 0; i < cards.size(); i++) {
+                if (card.getId().equals(cards.get(i).getId())) {
+                    byId.put(card.getId(), cards.get(i));
+                    break;
+                }
+            }
+        }
+        byType[typeIndex(card)].remove(card);
+        if (card instanceof MonsterCard && ((MonsterCard) card).getTags() != null && byTag != null) {
+            for (String tag : ((MonsterCard) card).getTags().keySet()) {
+                ArrayList<MonsterCard> tagged = byTag.get(tag);
+                if (tagged != null) tagged.remove(card);
+            }
+        }
+    }
+
+    private ArrayList<MonsterCard> tagged(String tag) {
+        if (byTag == null) {
+            byTag = new HashMap<>();
+            byTagView = new HashMap<>();
+        }
+        ArrayList<MonsterCard> tagged = byTag.get(tag);
+        if (tagged == null) {
+            tagged = new ArrayList<>();
+            byTag.put(tag, tagged);
+            byTagView.put(tag, Collections.unmodifiableList(tagged));
+        }
+        return tagged;
+    }
+
+    private static boolean hasTag(Card card, String tag) {
+        return card instanceof MonsterCard && ((MonsterCard) card).getTags() != null
+                && ((MonsterCard) card).getTags().containsKey(tag);
+    }
+}
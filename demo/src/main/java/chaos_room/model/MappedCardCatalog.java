@@ -0,0 +1,328 @@
+package chaos_room.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Read-only view of a binary card catalog file. The file is memory-mapped, so every JVM
+ * on the machine that opens it shares the same page-cache pages, and nothing is decoded
+ * until a card is asked for. Descriptions and bad-stuff texts stay in the mapping until
+ * a view actually reads them.
+ *
+ * Layout (big-endian):
+ *   header   magic, version, card count, door card count, id index offset
+ *   records  one fixed-size record per card, in catalog order (door cards first)
+ *   id index catalog indexes sorted by card id, for binary search
+ *   strings  deduplicated UTF-8 strings (int length + bytes), referenced by file offset
+ */
+public final class MappedCardCatalog {
+    static final int MAGIC = 0x43524354; // "CRCT"
+    static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 20;
+    private static final int RECORD_SIZE = 40;
+    private static final int NO_STRING = -1;
+
+    // Record field offsets
+    private static final int KIND = 0;
+    private static final int TYPE = 1;
+    private static final int ID = 4;
+    private static final int NAME = 8;
+    private static final int DESCRIPTION = 12;
+    private static final int INT_A = 16;
+    private static final int INT_B = 20;
+    private static final int INT_C = 24;
+    private static final int TEXT_A = 28;
+    private static final int IN_GAME = 32;
+    private static final int EXTRA = 36;
+
+    private static final byte MONSTER = 0;
+    private static final byte CHARACTER = 1;
+    private static final byte BONUS = 2;
+    private static final byte EQUIPMENT = 3;
+    private static final byte TREASURE = 4;
+
+    private static final CardType[] TYPES = CardType.values();
+    private static final ObjectMapper JSON = CardJson.mapper();
+
+    private final Path file;
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int doorCount;
+    private final int idIndexOffset;
+
+    private MappedCardCatalog(Path file, ByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.buffer = buffer;
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException(file + " is not a card catalog");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException(file + " has unsupported catalog version " + buffer.getInt(4));
+        }
+        this.size = buffer.getInt(8);
+        this.doorCount = buffer.getInt(12);
+        this.idIndexOffset = buffer.getInt(16);
+    }
+
+    public static MappedCardCatalog open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new MappedCardCatalog(file, buffer);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getDoorCount() {
+        return doorCount;
+    }
+
+    // Catalog index of the card with the given id, or -1
+    public int indexOf(String id) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int index = buffer.getInt(idIndexOffset + mid * 4);
+            int cmp = getId(index).compareTo(id);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    public String getId(int index) {
+        return string(record(index) + ID);
+    }
+
+    public String getName(int index) {
+        return string(record(index) + NAME);
+    }
+
+    public CardType getType(int index) {
+        return TYPES[buffer.get(record(index) + TYPE)];
+    }
+
+    public String getDescription(int index) {
+        return string(record(index) + DESCRIPTION);
+    }
+
+    // Decodes a fresh Card; the long texts are only read from the mapping when first asked for
+    public Card readCard(int index) {
+        int record = record(index);
+        String id = string(record + ID);
+        String name = string(record + NAME);
+        CardType type = TYPES[buffer.get(record + TYPE)];
+        int a = buffer.getInt(record + INT_A);
+        int b = buffer.getInt(record + INT_B);
+        int c = buffer.getInt(record + INT_C);
+        Card card;
+        switch (buffer.get(record + KIND)) {
+            case MONSTER:
+                MonsterCard monster = new MonsterCard();
+                monster.setLevel(a);
+                monster.setTreasure(b);
+                monster.setLevelsGained(c);
+                monster.setInGame(string(record + IN_GAME));
+                Map<String, Object> extra = readExtra(record, new TypeReference<Map<String, Object>>() {});
+                if (extra != null) {
+                    monster.setLevelsLost(extra.get("levelsLost"));
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> tags = (Map<String, Object>) extra.get("tags");
+                    monster.setTags(tags);
+                }
+                monster.setNastyEffectSource(() -> string(record + TEXT_A));
+                card = monster;
+                break;
+            case CHARACTER:
+                CharacterCard character = new CharacterCard();
+                character.setAbilities(readExtra(record, new TypeReference<List<CharacterCard.Ability>>() {}));
+                card = character;
+                break;
+            case BONUS:
+                card = new OneTimeBonusCard(null, null, null, null, a, b, string(record + IN_GAME));
+                break;
+            case EQUIPMENT:
+                card = new EquipmentCard(null, null, null, null, a, string(record + TEXT_A), b, string(record + IN_GAME));
+                break;
+            case TREASURE:
+                card = new TreasureCard(null, null, null, null, a, string(record + TEXT_A));
+                break;
+            default:
+                throw new IllegalStateException("Unknown card kind in " + file + " at index " + index);
+        }
+        card.setId(id);
+        card.setName(name);
+        card.setType(type);
+        card.setDescriptionSource(() -> string(record + DESCRIPTION));
+        return card;
+    }
+
+    private int record(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Card index " + index);
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    private <T> T readExtra(int record, TypeReference<T> type) {
+        String extra = string(record + EXTRA);
+        if (extra == null) return null;
+        try {
+            return JSON.readValue(extra, type);
+        } catch (IOException e) {
+            throw new IllegalStateException("Corrupt card data in " + file, e);
+        }
+    }
+
+    private String string(int refPosition) {
+        int offset = buffer.getInt(refPosition);
+        if (offset == NO_STRING) return null;
+        byte[] bytes = new byte[buffer.getInt(offset)];
+        // Work on a duplicate so concurrent readers never share a buffer position
+        ByteBuffer view = buffer.duplicate();
+        ((Buffer) view).position(offset + 4);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static void write(CardCatalog catalog, Path file) throws IOException {
+        List<Card> cards = catalog.getCards();
+        int count = cards.size();
+        int idIndexOffset = HEADER_SIZE + count * RECORD_SIZE;
+        int stringsOffset = idIndexOffset + count * 4;
+
+        ByteArrayOutputStream stringBytes = new ByteArrayOutputStream();
+        DataOutputStream strings = new DataOutputStream(stringBytes);
+        Map<String, Integer> stringOffsets = new HashMap<>();
+
+        ByteBuffer out = ByteBuffer.allocate(stringsOffset);
+        out.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(catalog.getDoorCards().size()).putInt(idIndexOffset);
+
+        for (Card card : cards) {
+            int record = out.position();
+            int a = 0, b = 0, c = 0;
+            String textA = null;
+            String inGame = null;
+            Object extra = null;
+            byte kind;
+            if (card instanceof MonsterCard) {
+                MonsterCard monster = (MonsterCard) card;
+                kind = MONSTER;
+                a = monster.getLevel();
+                b = monster.getTreasure();
+                c = monster.getLevelsGained();
+                textA = monster.getNastyEffect();
+                inGame = monster.getInGame();
+                Map<String, Object> fields = new LinkedHashMap<>();
+                fields.put("levelsLost", monster.getLevelsLost());
+                fields.put("tags", monster.getTags());
+                extra = fields;
+            } else if (card instanceof CharacterCard) {
+                kind = CHARACTER;
+                extra = ((CharacterCard) card).getAbilities();
+            } else if (card instanceof OneTimeBonusCard) {
+                OneTimeBonusCard bonus = (OneTimeBonusCard) card;
+                kind = BONUS;
+                a = bonus.getTreasureBonus();
+                b = bonus.getBattleBonus();
+                inGame = bonus.getInGame();
+            } else if (card instanceof EquipmentCard) {
+                EquipmentCard equipment = (EquipmentCard) card;
+                kind = EQUIPMENT;
+                a = equipment.getBonus();
+                b = equipment.getValue();
+                textA = equipment.getSlot();
+                inGame = equipment.getInGame();
+            } else if (card instanceof TreasureCard) {
+                TreasureCard treasure = (TreasureCard) card;
+                kind = TREASURE;
+                a = treasure.getGoldValue();
+                textA = treasure.getSpecialAbility();
+            } else {
+                throw new IOException("Cannot write card " + card.getId() + " of " + card.getClass());
+            }
+            CardType type = card.getType() != null ? card.getType() : CardType.UNKNOWN;
+            String extraJson = extra != null ? JSON.writeValueAsString(extra) : null;
+
+            out.put(kind).put((byte) type.ordinal()).putShort((short) 0);
+            out.putInt(stringRef(card.getId(), stringsOffset, strings, stringOffsets));
+            out.putInt(stringRef(card.getName(), stringsOffset, strings, stringOffsets));
+            out.putInt(stringRef(card.getDescription(), stringsOffset, strings, stringOffsets));
+            out.putInt(a).putInt(b).putInt(c);
+            out.putInt(stringRef(textA, stringsOffset, strings, stringOffsets));
+            out.putInt(stringRef(inGame, stringsOffset, strings, stringOffsets));
+            out.putInt(stringRef(extraJson, stringsOffset, strings, stringOffsets));
+            assert out.position() - record == RECORD_SIZE;
+        }
+
+        Integer[] byId = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            byId[i] = i;
+        }
+        Arrays.sort(byId, (x, y) -> cards.get(x).getId().compareTo(cards.get(y).getId()));
+        for (Integer index : byId) {
+            out.putInt(index);
+        }
+
+        strings.flush();
+        try (OutputStream stream = Files.newOutputStream(file)) {
+            stream.write(out.array());
+            stringBytes.writeTo(stream);
+        }
+    }
+
+    private static int stringRef(String value, int stringsOffset, DataOutputStream strings,
+                                 Map<String, Integer> stringOffsets) throws IOException {
+        if (value == null) return NO_STRING;
+        Integer known = stringOffsets.get(value);
+        if (known != null) return known;
+        int offset = stringsOffset + strings.size();
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        strings.writeInt(bytes.length);
+        strings.write(bytes);
+        stringOffsets.put(value, offset);
+        return offset;
+    }
+
+    // Converts the bundled JSON cards: MappedCardCatalog <output.bin>
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: MappedCardCatalog <output.bin>");
+            System.exit(1);
+        }
+        CardCatalog catalog = CardCatalog.load();
+        write(catalog, Paths.get(args[0]));
+        System.out.println("Wrote " + catalog.size() + " cards to " + args[0]);
+    }
+}
@@ -1,15 +1,19 @@
 package chaos_room.model;
+import java.util.Collections;
 import java.util.Map;
+import java.util.function.Supplier;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 public class MonsterCard extends Card implements Combatant { // OOP Inheritance
     private int level;
     private int treasure;
     private int levelsGained;
     private String nastyEffect;
+    private Supplier<String> nastyEffectSource;
     private Object levelsLost; 
     private Map<String, Object> tags;
     private String inGame;
-    private int strength;
+    private MonsterModifiers modifiers = MonsterModifiers.NONE;
 
     public MonsterCard() {
         super();
@@ -26,21 +30,30 @@ public class MonsterCard extends Card implements Combatant { // OOP Inheritance
         this.levelsLost = levelsLost;
         this.tags = tags;
         this.inGame = inGame;
-        this.strength = this.level; // Default strength is equal to level
+        this.modifiers = MonsterModifiers.compile(tags, levelsLost);
     }
     public int getLevel() {
         return level;
     }
 
     public void setLevel(int level) {
+        checkMutable();
         this.level = level;
     }
 
     public String getNastyEffect() {
+        if (nastyEffect == null && nastyEffectSource != null) {
+            nastyEffect = nastyEffectSource.get();
+        }
         return nastyEffect;
     }
 
+    void setNastyEffectSource(Supplier<String> nastyEffectSource) {
+        this.nastyEffectSource = nastyEffectSource;
+    }
+
     public void setNastyEffect(String nastyEffect) {
+        checkMutable();
         this.nastyEffect = nastyEffect;
     }
 
@@ -49,6 +62,7 @@ public class MonsterCard extends Card implements Combatant { // OOP Inheritance
     }
 
     public void setTreasure(int treasure) {
+        checkMutable();
         this.treasure = treasure;
     }
 
@@ -57,6 +71,7 @@ public class MonsterCard extends Card implements Combatant { // OOP Inheritance
     }
 
     public void setLevelsGained(int levelsGained) {
+        checkMutable();
         this.levelsGained = levelsGained;
     }
 
@@ -65,7 +80,9 @@ public class MonsterCard extends Card implements Combatant { // OOP Inheritance
     }
 
     public void setLevelsLost(Object levelsLost) {
+        checkMutable();
         this.levelsLost = levelsLost;
+        this.modifiers = MonsterModifiers.compile(tags, levelsLost);
     }
 
     public Map<String, Object> getTags() {
@@ -73,7 +90,20 @@ public class MonsterCard extends Card implements Combatant { // OOP Inheritance
     }
 
     public void setTags(Map<String, Object> tags) {
+        checkMutable();
         this.tags = tags;
+        this.modifiers = MonsterModifiers.compile(tags, levelsLost);
+    }
+
+    @Override
+    void freeze() {
+        if (tags != null) tags = Collections.unmodifiableMap(tags);
+        super.freeze();
+    }
+
+    @JsonIgnore
+    public MonsterModifiers getModifiers() {
+        return modifiers;
     }
 
     public String getInGame() {
@@ -81,24 +111,19 @@ public class MonsterCard extends Card implements Combatant { // OOP Inheritance
     }
 
     public void setInGame(String inGame) {
+        checkMutable();
         this.inGame = inGame;
     }
 
+    // Base strength; tags may make the monster stronger against some players, see Game.checkMonsterTags
     public int getStrength() {
-        if (strength == 0) {
-            return level;
-        }
-        return strength;
-    }
-
-    public int setStrength(int strength) {
-        return this.strength = strength;
+        return level;
     }
 
     @Override
     public boolean use(Player player, chaos_room.view.GameView view) {
-        view.displayMessage("You start a fight with a monster!");
-        player.getInventory().remove(this);
+        if (!view.isHeadless()) view.displayMessage("You start a fight with a monster!");
+        player.removeFromInventory(this);
         // The controller needs to know to start a fight.
         // Returning true signals "something happened that might end turn or change state"
         return true; 
@@ -0,0 +1,97 @@
+package chaos_room.model;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * A MonsterCard's tags and levelsLost, decoded once when the card is loaded so that
+ * setting up and resolving a fight needs no map lookups, unboxing or string parsing.
+ */
+public final class MonsterModifiers {
+    public static final MonsterModifiers NONE = new MonsterModifiers(new int[0], new int[0], 0, false, 0, false);
+
+    // Escape rolls are made with one six-sided die, so this target can never be reached
+    public static final int NO_ESCAPE = 7;
+
+    // Trait bits the monster is stronger against, and by how much
+    private final int[] vsTraits;
+    private final int[] vsBonuses;
+    private final int escapeBonus;
+    private final boolean noEscape;
+    private final int levelsLost;
+    private final boolean dynamicLevelsLost;
+
+    private MonsterModifiers(int[] vsTraits, int[] vsBonuses, int escapeBonus, boolean noEscape,
+                             int levelsLost, boolean dynamicLevelsLost) {
+        this.vsTraits = vsTraits;
+        this.vsBonuses = vsBonuses;
+        this.escapeBonus = escapeBonus;
+        this.noEscape = noEscape;
+        this.levelsLost = levelsLost;
+        this.dynamicLevelsLost = dynamicLevelsLost;
+    }
+
+    public static MonsterModifiers compile(Map<String, Object> tags, Object levelsLost) {
+        Trait[] traits = Trait.values();
+        int[] vsTraits = new int[traits.length];
+        int[] vsBonuses = new int[traits.length];
+        int vsCount = 0;
+        int escapeBonus = 0;
+        boolean noEscape = false;
+
+        if (tags != null) {
+            for (Trait trait : traits) {
+                Object bonus = tags.get(trait.getVsTag());
+                if (bonus instanceof Number) {
+                    vsTraits[vsCount] = trait.mask();
+                    vsBonuses[vsCount] = ((Number) bonus).intValue();
+                    vsCount++;
+                }
+            }
+            Object bonus = tags.get("escapeBonus");
+            if (bonus instanceof Number) escapeBonus = ((Number) bonus).intValue();
+            noEscape = Boolean.TRUE.equals(tags.get("noEscape"));
+        }
+
+        int fixedLevelsLost = 0;
+        boolean dynamic = false;
+        if (levelsLost instanceof Number) {
+            fixedLevelsLost = ((Number) levelsLost).intValue();
+        } else if (levelsLost instanceof String) {
+            String s = (String) levelsLost;
+            if ("dynamic".equalsIgnoreCase(s)) {
+                dynamic = true;
+            } else {
+                try {
+                    fixedLevelsLost = Integer.parseInt(s.trim());
+                } catch (NumberFormatException e) {}
+            }
+        }
+
+        if (vsCount == 0 && escapeBonus == 0 && !noEscape && fixedLevelsLost == 0 && !dynamic) return NONE;
+        return new MonsterModifiers(Arrays.copyOf(vsTraits, vsCount), Arrays.copyOf(vsBonuses, vsCount), escapeBonus, noEscape, fixedLevelsLost, dynamic);
+    }
+
+    public int strengthAgainst(int level, Player player) {
+        int strength = level;
+        int traits = player.getTraits();
+        for (int i = 0; i < vsTraits.length; i++) {
+            if ((traits & vsTraits[i]) != 0) strength += vsBonuses[i];
+        }
+        return strength;
+    }
+
+    // Lowest die face that lets the player run away from this monster
+    public int escapeTarget(Player player) {
+        return noEscape ? NO_ESCAPE : player.getEscapeChances() - escapeBonus;
+    }
+
+    public int getLevelsLost() {
+        return levelsLost;
+    }
+
+    // Levels lost are rolled on a die when the player is defeated
+    public boolean isDynamicLevelsLost() {
+        return dynamicLevelsLost;
+    }
+}
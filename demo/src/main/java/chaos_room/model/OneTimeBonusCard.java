@@ -21,6 +21,7 @@ public class OneTimeBonusCard extends Card {
     }
 
     public void setTreasureBonus(int treasureBonus) {
+        checkMutable();
         this.treasureBonus = treasureBonus;
     }
 
@@ -29,6 +30,7 @@ public class OneTimeBonusCard extends Card {
     }
 
     public void setBattleBonus(int battleBonus) {
+        checkMutable();
         this.battleBonus = battleBonus;
     }
 
@@ -37,6 +39,7 @@ public class OneTimeBonusCard extends Card {
     }
 
     public void setInGame(String inGame) {
+        checkMutable();
         this.inGame = inGame;
     }
 
@@ -47,7 +50,7 @@ public class OneTimeBonusCard extends Card {
 
     @Override
     public boolean use(Player player, chaos_room.view.GameView view) {
-        view.displayMessage("This card (" + getName() + ") is a one-time bonus. Use it during combat!");
+        if (!view.isHeadless()) view.displayMessage("This card (" + getName() + ") is a one-time bonus. Use it during combat!");
         return false;
     }
 }
\ No newline at end of file
@@ -1,55 +1,191 @@
 package chaos_room.model;
 
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
 
 public class Player implements Combatant {
     private String name;
     private int level;
     private int strength;
-    private List<Card> inventory;
-    private List<Card> playerDeck;
+    // Both indexed by id and type, so rule checks and bonus card menus need no scans
+    private IndexedCardList inventory;
+    private IndexedCardList playerDeck;
+    private List<Card> playerDeckView;
+    // Kept up to date as cards enter and leave playerDeck, so strength, race and class are O(1)
+    private Map<String, EquipmentCard> equipment = new HashMap<>();
+    private int equipmentBonus;
+    private CharacterCard race;
+    private CharacterCard playerClass;
+    // Trait bits of the race and class cards in play
+    private int traits;
     private String gender;
     private int maxCardsInHand = 5;
     private int escapeChances = 4;
-    private static Random random = new Random();
+    // Played by a DecisionPolicy rather than a person at the console
+    private boolean bot;
+    private Deck deck;
+    private GameRecorder recorder = GameRecorder.NONE;
 
     public Player(String name, String gender) {
         this.name = name;
         this.gender = gender;
         level = 1;
         strength = level;
-        inventory = new ArrayList<>();   
-        playerDeck = new ArrayList<>();
+        inventory = new IndexedCardList();
+        playerDeck = new IndexedCardList();
+        playerDeckView = Collections.unmodifiableList(playerDeck);
+    }
+
+    public Deck getDeck() {
+        // A player outside of a Game draws from a deck of their own
+        if (deck == null) deck = new Deck();
+        return deck;
+    }
+
+    void setDeck(Deck deck) {
+        this.deck = deck;
+    }
+
+    void setRecorder(GameRecorder recorder) {
+        this.recorder = recorder;
     }
 
     public Card drawDoorCard() {
-        Deck deck = new Deck();
-        int randomIndex = random.nextInt(deck.cards.size());
-        return deck.cards.get(randomIndex);
+        return getDeck().drawDoorCard();
     }
 
     public Card drawTreasureCard() {
-        Deck deck = new Deck();
-        int randomIndex = random.nextInt(deck.treasureCards.size());
-        return deck.treasureCards.get(randomIndex);
+        return getDeck().drawTreasureCard();
     }
 
     public void starterPack(){
         for (int i = 0; i < 4; i++) {
             Card card = drawDoorCard();
-            inventory.add(card);
+            if (card == null) break;
+            addToInventory(card);
         }
     }
 
+    public void addToInventory(Card card) {
+        inventory.add(card);
+        recorder.inventoryAdded(this, card);
+    }
+
+    public boolean removeFromInventory(Card card) {
+        if (!inventory.remove(card)) return false;
+        recorder.inventoryRemoved(this, card);
+        return true;
+    }
+
     public void addCardToPlayerDeck(Card card) {
         playerDeck.add(card);
+        traits |= Trait.maskOf(card.getId());
+        if (card instanceof EquipmentCard) {
+            EquipmentCard item = (EquipmentCard) card;
+            equipment.put(item.getSlot(), item);
+            equipmentBonus += item.getBonus();
+        } else if (card instanceof CharacterCard) {
+            if (card.getType() == CardType.RACE) race = (CharacterCard) card;
+            else if (card.getType() == CardType.CLASS) playerClass = (CharacterCard) card;
+        }
+        if (deck != null) deck.moveTo(card, Deck.Zone.IN_PLAY);
+        recorder.cardPlayed(this, card);
+    }
+
+    public void unequip(Card card) {
+        if (removeFromPlayerDeck(card)) {
+            inventory.add(card);
+            if (deck != null) deck.moveTo(card, Deck.Zone.HAND);
+            recorder.cardUnequipped(this, card);
+        }
+    }
+
+    public void discard(Card card) {
+        if (removeCard(card)) {
+            if (deck != null) deck.discard(card);
+        }
+    }
+
+    // Takes the card out of the inventory or out of play, without putting it on a discard pile
+    boolean removeCard(Card card) {
+        if (!inventory.remove(card) && !removeFromPlayerDeck(card)) return false;
+        recorder.cardRemoved(this, card);
+        return true;
+    }
+
+    private boolean removeFromPlayerDeck(Card card) {
+        if (!playerDeck.remove(card)) return false;
+        int trait = Trait.maskOf(card.getId());
+        // Another copy of the card may still be in play
+        if (trait != 0 && !playerDeck.containsId(card.getId())) traits &= ~trait;
+        if (card instanceof EquipmentCard) {
+            EquipmentCard item = (EquipmentCard) card;
+            equipmentBonus -= item.getBonus();
+            if (equipment.get(item.getSlot()) == card) {
+                equipment.remove(item.getSlot());
+                // Another item may have been put into the same slot directly
+                for (int i = playerDeck.size() - 1; i >= 0; i--) {
+                    Card other = playerDeck.get(i);
+                    if (other instanceof EquipmentCard && item.getSlot().equals(((EquipmentCard) other).getSlot())) {
+                        equipment.put(item.getSlot(), (EquipmentCard) other);
+                        break;
+                    }
+                }
+            }
+        } else if (card == race) {
+            race = null;
+        } else if (card == playerClass) {
+            playerClass = null;
+        }
+        return true;
+    }
+
+    // The item equipped in the given slot, or null
+    public EquipmentCard getEquipped(String slot) {
+        return equipment.get(slot);
+    }
+
+    public CharacterCard getRace() {
+        return race;
+    }
+
+    public CharacterCard getPlayerClass() {
+        return playerClass;
+    }
+
+    // The race or class card in play for the given type, or null
+    public CharacterCard getCharacterCard(CardType type) {
+        if (type == CardType.RACE) return race;
+        if (type == CardType.CLASS) return playerClass;
+        return null;
+    }
+
+    public boolean hasTrait(Trait trait) {
+        return trait.in(traits);
+    }
+
+    // One bit per Trait whose card is in play
+    public int getTraits() {
+        return traits;
+    }
+
+    public boolean hasCardInPlay(String cardId) {
+        return playerDeck.containsId(cardId);
     }
 
     public String getName() {
         return name;
     }
+
+    public boolean isBot() {
+        return bot;
+    }
+
+    public void setBot(boolean bot) {
+        this.bot = bot;
+    }
     
     public int getEscapeChances() {
         return escapeChances;
@@ -60,25 +196,34 @@ public class Player implements Combatant {
     }
 
     public int getStrength() {
-        int totalStrength = level;
-        for (Card c : playerDeck) {
-            if (c instanceof EquipmentCard) {
-                totalStrength += ((EquipmentCard) c).getBonus();
-            }
-        }
-        return totalStrength;
+        return level + equipmentBonus;
+    }
+
+    public int getEquipmentBonus() {
+        return equipmentBonus;
     }
 
     public String getGender() {
         return gender;         
     }
 
-    public List<Card> getInventory() {
+    public IndexedCardList getInventory() {
         return inventory;
     }
 
+    // Read-only, in inventory order
+    public List<Card> getInventory(CardType type) {
+        return inventory.ofType(type);
+    }
+
+    // Read-only: cards enter and leave play through addCardToPlayerDeck, unequip and discard
     public List<Card> getPlayerDeck() {
-        return playerDeck;
+        return playerDeckView;
+    }
+
+    // Read-only, in the order the cards were played
+    public List<Card> getPlayerDeck(CardType type) {
+        return playerDeck.ofType(type);
     }
 
     public int getMaxCardsInHand() {
@@ -86,7 +231,9 @@ public class Player implements Combatant {
     }
 
     public int setEscapeChances(int escapeChances) {
-        return this.escapeChances = escapeChances;
+        this.escapeChances = escapeChances;
+        recorder.escapeChancesChanged(this, escapeChances);
+        return escapeChances;
     }
 
     public int setStrength(){
@@ -95,16 +242,19 @@ public class Player implements Combatant {
 
     public void levelUp(int increment) {
         level += increment;
+        recorder.levelChanged(this, level);
     }
 
     public void setLevel(int level) {
         this.level = level;
+        recorder.levelChanged(this, level);
     }
 
+    // The first race or class card put into play that is still there
     public String getPlayerCharacter() {
         for (Card c : playerDeck) {
             if (c instanceof CharacterCard) {
-                return ((CharacterCard) c).getName();
+                return c.getName();
             }
         }
         return null;
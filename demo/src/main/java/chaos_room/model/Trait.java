@@ -0,0 +1,51 @@
+package chaos_room.model;
+
+/**
+ * The races and classes that rules single out, each with the card that grants it and the
+ * monster tag that makes a monster stronger against it. Every trait is one bit, so all of
+ * a player's traits fit in one int and a rule check is a single bitwise test.
+ */
+public enum Trait {
+    WARRIOR("class-warrior", "vsWarrior"),
+    MAGE("class-mage", "vsMage"),
+    CLERIC("class-cleric", "vsCleric"),
+    HALFLING("race-halfling", "vsHalfling"),
+    ELF("race-elf", "vsElf"),
+    DWARF("race-dwarf", "vsDwarf");
+
+    private static final Trait[] VALUES = values();
+
+    private final String cardId;
+    private final String vsTag;
+    private final int mask;
+
+    Trait(String cardId, String vsTag) {
+        this.cardId = cardId;
+        this.vsTag = vsTag;
+        this.mask = 1 << ordinal();
+    }
+
+    public String getCardId() {
+        return cardId;
+    }
+
+    public String getVsTag() {
+        return vsTag;
+    }
+
+    public int mask() {
+        return mask;
+    }
+
+    public boolean in(int traits) {
+        return (traits & mask) != 0;
+    }
+
+    // The bit of the trait the card grants, 0 if it grants none; only used as cards enter and leave play
+    public static int maskOf(String cardId) {
+        for (Trait trait : VALUES) {
+            if (trait.cardId.equals(cardId)) return trait.mask;
+        }
+        return 0;
+    }
+}
@@ -19,6 +19,7 @@ public class TreasureCard extends Card {
     }
 
     public void setGoldValue(int goldValue) {
+        checkMutable();
         this.goldValue = goldValue;
     }
 
@@ -27,6 +28,7 @@ public class TreasureCard extends Card {
     }
 
     public void setSpecialAbility(String specialAbility) {
+        checkMutable();
         this.specialAbility = specialAbility;
     }
     
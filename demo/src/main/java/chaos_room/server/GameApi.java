@@ -0,0 +1,299 @@
+package chaos_room.server;
+
+import chaos_room.model.CardCatalog;
+import chaos_room.model.CardJson;
+import chaos_room.model.GameRandom;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Transport-independent game API shared by the built-in HTTP server and the servlet.
+ * Paths are relative to the API root:
+ *
+ *   POST   /games                  {"players": ["Ann", "Bob"], "seed": 42}  start a game; seed is optional;
+ *                                  503 once -Dchaos_room.api.maxSessions games are running
+ *   GET    /games                  number of hosted games
+ *   GET    /games/{id}?after=N&wait=MS   events after N; waits up to MS for a pending menu
+ *   POST   /games/{id}/choice      {"menu": 17, "choice": 2}  answer the pending menu
+ *   DELETE /games/{id}             end the game
+ *   GET    /games/{id}/events      server-sent event stream (see {@link #streamEvents})
+ */
+public class GameApi implements AutoCloseable {
+    public static final int MAX_PLAYERS = 6;
+    public static final String MAX_SESSIONS_PROPERTY = "chaos_room.api.maxSessions";
+    public static final int DEFAULT_MAX_SESSIONS = 1000;
+    // Sessions nobody has polled for this long are ended and dropped
+    static final long IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+    // Upper bound for a long-poll, so a stuck client cannot pin a request thread forever
+    private static final long MAX_WAIT_MILLIS = 30_000;
+
+    private final ConcurrentMap<String, GameSession> sessions = new ConcurrentHashMap<>();
+    private final ExecutorService games;
+    // One permit per game that may still be started; a game gives its permit back when its
+    // thread ends or it is removed, whichever comes first
+    private final Semaphore free;
+    private final int maxSessions;
+    private final Random ids = new SecureRandom();
+
+    // At most -Dchaos_room.api.maxSessions games at once, each on its own session thread
+    public GameApi() {
+        this(SessionThreads.newPerSessionExecutor("game-"));
+    }
+
+    public GameApi(ExecutorService games) {
+        this(games, Integer.getInteger(MAX_SESSIONS_PROPERTY, DEFAULT_MAX_SESSIONS));
+    }
+
+    // Every session's controller runs as one task on this executor for the whole game
+    public GameApi(ExecutorService games, int maxSessions) {
+        if (maxSessions <= 0) throw new IllegalArgumentException("maxSessions must be positive");
+        this.games = games;
+        this.maxSessions = maxSessions;
+        this.free = new Semaphore(maxSessions);
+        CardCatalog.getInstance();
+    }
+
+    static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public GameSession create(List<String> playerNames, Random random) {
+        if (playerNames.isEmpty() || playerNames.size() > MAX_PLAYERS) {
+            throw new ApiException(400, "A game needs 1 to " + MAX_PLAYERS + " players");
+        }
+        if (!free.tryAcquire()) throw new ApiException(503, "The server is already hosting " + maxSessions + " games");
+        String id;
+        GameSession session;
+        try {
+            do {
+                id = Long.toString(ids.nextLong() & Long.MAX_VALUE, 36);
+                session = new GameSession(id, playerNames, random);
+            } while (sessions.putIfAbsent(id, session) != null);
+        } catch (RuntimeException e) {
+            free.release();
+            throw e;
+        }
+        try {
+            GameSession started = session;
+            session.setTask(games.submit(() -> {
+                try {
+                    started.run();
+                } finally {
+                    release(started);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            sessions.remove(id);
+            release(session);
+            throw new ApiException(503, "The server is shutting down");
+        }
+        return session;
+    }
+
+    // Checks for idle sessions once a minute until the returned executor is shut down
+    ScheduledExecutorService startReaper() {
+        ScheduledExecutorService reaper = Executors.newSingleThreadScheduledExecutor(daemonThreads("session-reaper-"));
+        reaper.scheduleWithFixedDelay(() -> reapIdle(IDLE_TIMEOUT_MILLIS), 1, 1, TimeUnit.MINUTES);
+        return reaper;
+    }
+
+    public GameSession get(String id) {
+        GameSession session = sessions.get(id);
+        if (session == null) throw new ApiException(404, "No game " + id);
+        session.touch();
+        return session;
+    }
+
+    public void remove(String id) {
+        GameSession session = sessions.remove(id);
+        if (session == null) throw new ApiException(404, "No game " + id);
+        end(session);
+    }
+
+    private void end(GameSession session) {
+        session.close();
+        release(session);
+    }
+
+    private void release(GameSession session) {
+        if (session.releaseSlot()) free.release();
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    // Ends games nobody has touched for idleMillis; returns how many were removed
+    public int reapIdle(long idleMillis) {
+        long cutoff = System.currentTimeMillis() - idleMillis;
+        int removed = 0;
+        for (Iterator<GameSession> it = sessions.values().iterator(); it.hasNext(); ) {
+            GameSession session = it.next();
+            if (session.getLastAccess() < cutoff) {
+                it.remove();
+                end(session);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    // The game id of a /games/{id}/events path, or null for any other path
+    public static String eventsGameId(String path) {
+        String[] parts = path.replaceAll("^/+|/+$", "").split("/");
+        if (parts.length != 3 || !"games".equals(parts[0]) || !"events".equals(parts[2]) || parts[1].isEmpty()) return null;
+        return parts[1];
+    }
+
+    /**
+     * Handles every route except the event stream. Returns the JSON body to send, or null
+     * for 204 No Content. Failures are reported as ApiException.
+     */
+    public String handle(String method, String path, Map<String, String> query, byte[] body) {
+        String[] parts = path.replaceAll("^/+|/+$", "").split("/");
+        if (parts.length == 0 || !"games".equals(parts[0])) throw new ApiException(404, "Unknown path " + path);
+
+        if (parts.length == 1) {
+            if ("POST".equals(method)) return created(readJson(body));
+            if ("GET".equals(method)) return "{\"games\":" + size() + "}";
+        } else if (parts.length == 2) {
+            if ("GET".equals(method)) return state(get(parts[1]), query);
+            if ("DELETE".equals(method)) {
+                remove(parts[1]);
+                return null;
+            }
+        } else if (parts.length == 3 && "choice".equals(parts[2]) && "POST".equals(method)) {
+            choose(get(parts[1]), readJson(body));
+            return null;
+        }
+        throw new ApiException(405, method + " is not supported on " + path);
+    }
+
+    private String created(JsonNode request) {
+        List<String> names = new ArrayList<>();
+        for (JsonNode name : request.path("players")) {
+            names.add(name.asText());
+        }
+        JsonNode seed = request.get("seed");
+        GameRandom random = seed != null && seed.canConvertToLong() ? new GameRandom(seed.asLong()) : new GameRandom();
+        GameSession session = create(names, random);
+        // The seed is reported back so that any game can be replayed, e.g. from a bug report
+        return "{\"id\":\"" + session.getId() + "\",\"seed\":" + random.getSeed() + "}";
+    }
+
+    private String state(GameSession session, Map<String, String> query) {
+        JsonGameView view = session.getView();
+        long after = parseLong(query.get("after"), 0);
+        long wait = Math.min(parseLong(query.get("wait"), 0), MAX_WAIT_MILLIS);
+        if (wait > 0) {
+            try {
+                view.awaitEvents(after, true, wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Events are stored as JSON already, so they are copied in rather than re-serialized
+        List<String> events = new ArrayList<>();
+        long last = view.copyEventsAfter(after, events);
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"id\":\"").append(session.getId())
+                .append("\",\"over\":").append(view.isOver())
+                .append(",\"pendingMenu\":").append(view.getPendingMenu())
+                .append(",\"lastEventId\":").append(last)
+                .append(",\"events\":[");
+        for (int i = 0; i < events.size(); i++) {
+            if (i > 0) json.append(',');
+            json.append(events.get(i));
+        }
+        return json.append("]}").toString();
+    }
+
+    private void choose(GameSession session, JsonNode request) {
+        if (!request.has("menu") || !request.has("choice")) {
+            throw new ApiException(400, "Expected {\"menu\": <event id>, \"choice\": <option index>}");
+        }
+        try {
+            if (!session.getView().choose(request.get("menu").asLong(), request.get("choice").asInt())) {
+                throw new ApiException(409, "Menu " + request.get("menu").asLong() + " is not waiting for an answer");
+            }
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(400, e.getMessage());
+        }
+    }
+
+    public interface EventSink {
+        void send(long id, String json) throws IOException;
+    }
+
+    /**
+     * Sends every event after lastEventId to the sink as it is published, until the game
+     * ends or the sink fails (typically because the client went away). Blocks the caller.
+     */
+    public void streamEvents(String id, long lastEventId, EventSink sink) throws IOException, InterruptedException {
+        GameSession session = get(id);
+        JsonGameView view = session.getView();
+        List<String> events = new ArrayList<>();
+        long sent = lastEventId;
+        while (true) {
+            events.clear();
+            long last = view.copyEventsAfter(sent, events);
+            for (int i = 0; i < events.size(); i++) {
+                sink.send(last - events.size() + 1 + i, events.get(i));
+            }
+            sent = last;
+            session.touch();
+            if (view.isOver() && view.getLastEventId() <= sent) return;
+            view.awaitEvents(sent, false, MAX_WAIT_MILLIS);
+        }
+    }
+
+    private static JsonNode readJson(byte[] body) {
+        if (body == null || body.length == 0) return CardJson.mapper().createObjectNode();
+        try {
+            return CardJson.mapper().readTree(body);
+        } catch (IOException e) {
+            throw new ApiException(400, "Malformed JSON: " + e.getMessage());
+        }
+    }
+
+    static long parseLong(String value, long fallback) {
+        if (value == null) return fallback;
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "Not a number: " + value);
+        }
+    }
+
+    @Override
+    public void close() {
+        for (String id : new ArrayList<>(sessions.keySet())) {
+            GameSession session = sessions.remove(id);
+            if (session != null) end(session);
+        }
+        games.shutdownNow();
+    }
+}
@@ -0,0 +1,184 @@
+package chaos_room.server;
+
+import chaos_room.metrics.MetricsServer;
+import chaos_room.model.CardJson;
+import chaos_room.model.CatalogWatcher;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Serves {@link GameApi} under /api on the JDK's built-in HTTP server, for running the
+ * game as a service without a servlet container.
+ */
+public class GameHttpServer implements AutoCloseable {
+    public static final String API_ROOT = "/api";
+
+    static {
+        // Headers and body go out in separate writes; without this Nagle holds the body
+        // back until the client's delayed ACK, adding ~40 ms to every small response
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final GameApi api;
+    private final HttpServer server;
+    private final ExecutorService requests;
+    private final ScheduledExecutorService reaper;
+
+    public GameHttpServer(InetSocketAddress address, GameApi api, ExecutorService requests) throws IOException {
+        this.api = api;
+        this.requests = requests;
+        this.server = HttpServer.create(address, 1024);
+        server.createContext(API_ROOT, this::handle);
+        server.setExecutor(requests);
+        reaper = api.startReaper();
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public GameApi getApi() {
+        return api;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath().substring(API_ROOT.length());
+            String method = exchange.getRequestMethod();
+            String eventsId = "GET".equals(method) ? GameApi.eventsGameId(path) : null;
+            if (eventsId != null) {
+                streamEvents(exchange, eventsId);
+                return;
+            }
+            String json = api.handle(method, path, parseQuery(exchange.getRequestURI().getRawQuery()), readBody(exchange));
+            if (json == null) {
+                exchange.sendResponseHeaders(204, -1);
+            } else {
+                send(exchange, 200, json);
+            }
+        } catch (ApiException e) {
+            sendError(exchange, e.getStatus(), e.getMessage());
+        } catch (RuntimeException e) {
+            sendError(exchange, 500, "Internal error: " + e);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void streamEvents(HttpExchange exchange, String id) throws IOException {
+        String lastEventId = exchange.getRequestHeaders().getFirst("Last-Event-ID");
+        long after = GameApi.parseLong(lastEventId != null ? lastEventId.trim() : null, 0);
+        api.get(id);
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+        try {
+            api.streamEvents(id, after, (eventId, json) -> {
+                out.write(("id: " + eventId + "\ndata: " + json + "\n\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // The client disconnected
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        // An event stream that fails midway has already sent its headers; closing it is all that is left
+        if (exchange.getResponseCode() != -1) return;
+        send(exchange, status, "{\"error\":" + quote(message) + "}");
+    }
+
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                body.write(buffer, 0, n);
+            }
+            return body.toByteArray();
+        }
+    }
+
+    static Map<String, String> parseQuery(String query) throws UnsupportedEncodingException {
+        Map<String, String> params = new HashMap<>();
+        if (query == null) return params;
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                try {
+                    params.put(URLDecoder.decode(pair.substring(0, eq), "UTF-8"), URLDecoder.decode(pair.substring(eq + 1), "UTF-8"));
+                } catch (IllegalArgumentException e) {
+                    throw new ApiException(400, "Malformed query: " + pair);
+                }
+            }
+        }
+        return params;
+    }
+
+    static String quote(String text) {
+        try {
+            return CardJson.mapper().writeValueAsString(text);
+        } catch (IOException e) {
+            return "\"\"";
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        reaper.shutdownNow();
+        requests.shutdownNow();
+        api.close();
+    }
+
+    // Usage: GameHttpServer [port] [host]; only reachable from this machine unless a host is given
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        InetAddress host = args.length > 1 ? InetAddress.getByName(args[1]) : InetAddress.getLoopbackAddress();
+        // Long-polls and event streams each hold a request thread while they wait
+        GameHttpServer server = new GameHttpServer(new InetSocketAddress(host, port), new GameApi(),
+                Executors.newCachedThreadPool(GameApi.daemonThreads("http-")));
+        server.start();
+        System.out.println("Chaos Room API listening on http://" + (args.length > 1 ? args[1] : "localhost") + ":" + server.getPort() + API_ROOT + "/games");
+        GameSocketServer.printMetricsEndpoint(MetricsServer.startIfConfigured());
+        GameSocketServer.printCatalogWatch(CatalogWatcher.startIfConfigured(GameSocketServer.PRINT_RELOADS));
+        try {
+            Thread.currentThread().join();
+        } catch (InterruptedException e) {
+            server.close();
+        }
+    }
+}
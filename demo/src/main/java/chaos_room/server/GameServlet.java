@@ -0,0 +1,111 @@
+package chaos_room.server;
+
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Serves {@link GameApi} under /api when the war is deployed to a servlet container.
+ * Same routes and JSON as {@link GameHttpServer}.
+ */
+@WebServlet(urlPatterns = "/api/*", loadOnStartup = 1)
+public class GameServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+    private transient GameApi api;
+    private transient ScheduledExecutorService reaper;
+
+    @Override
+    public void init() {
+        api = new GameApi();
+        reaper = api.startReaper();
+    }
+
+    @Override
+    public void destroy() {
+        reaper.shutdownNow();
+        api.close();
+    }
+
+    @Override
+    protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = request.getPathInfo() != null ? request.getPathInfo() : "/";
+        String method = request.getMethod();
+        try {
+            String eventsId = "GET".equals(method) ? GameApi.eventsGameId(path) : null;
+            if (eventsId != null) {
+                streamEvents(request, response, eventsId);
+                return;
+            }
+            Map<String, String> query = new HashMap<>();
+            for (Map.Entry<String, String[]> param : request.getParameterMap().entrySet()) {
+                query.put(param.getKey(), param.getValue()[0]);
+            }
+            String json = api.handle(method, path, query, readBody(request));
+            if (json == null) {
+                response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+            } else {
+                send(response, HttpServletResponse.SC_OK, json);
+            }
+        } catch (ApiException e) {
+            sendError(response, e.getStatus(), e.getMessage());
+        } catch (RuntimeException e) {
+            sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Internal error: " + e);
+        }
+    }
+
+    private void streamEvents(HttpServletRequest request, HttpServletResponse response, String id) throws IOException {
+        String lastEventId = request.getHeader("Last-Event-ID");
+        long after = GameApi.parseLong(lastEventId != null ? lastEventId.trim() : null, 0);
+        api.get(id);
+        response.setContentType("text/event-stream; charset=utf-8");
+        response.setHeader("Cache-Control", "no-cache");
+        OutputStream out = response.getOutputStream();
+        try {
+            api.streamEvents(id, after, (eventId, json) -> {
+                out.write(("id: " + eventId + "\ndata: " + json + "\n\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // The client disconnected
+        }
+    }
+
+    private static void send(HttpServletResponse response, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        response.setStatus(status);
+        response.setContentType("application/json; charset=utf-8");
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+
+    private static void sendError(HttpServletResponse response, int status, String message) throws IOException {
+        // An event stream that fails midway has already sent its headers; closing it is all that is left
+        if (response.isCommitted()) return;
+        response.reset();
+        send(response, status, "{\"error\":" + GameHttpServer.quote(message) + "}");
+    }
+
+    private static byte[] readBody(HttpServletRequest request) throws IOException {
+        try (InputStream in = request.getInputStream()) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                body.write(buffer, 0, n);
+            }
+            return body.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package chaos_room.server;
+
+import chaos_room.controller.GameController;
+import chaos_room.model.Game;
+import chaos_room.model.GameJournal;
+import chaos_room.model.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One hosted game: its model, controller and JSON view, plus the thread that runs the
+ * controller. All sessions share the process-wide CardCatalog.
+ */
+public class GameSession implements Runnable {
+    private final String id;
+    private final Game game;
+    private final JsonGameView view;
+    private final GameController controller;
+    private volatile long lastAccess;
+    private volatile Future<?> task;
+    // Whether the session still counts towards GameApi's limit
+    private final AtomicBoolean holdsSlot = new AtomicBoolean(true);
+
+    GameSession(String id, List<String> playerNames, Random random) {
+        this.id = id;
+        List<Player> players = new ArrayList<>(playerNames.size());
+        for (String name : playerNames) {
+            players.add(new Player(name, "Male"));
+        }
+        this.game = new Game(players, random);
+        this.view = new JsonGameView();
+        this.controller = new GameController(game, view);
+        touch();
+    }
+
+    @Override
+    public void run() {
+        // Started on the game's thread, which every later recording happens on
+        GameJournal journal = GameSocketServer.startJournal(game, "api-" + id, view);
+        try {
+            for (Player player : game.getPlayers()) {
+                player.starterPack();
+            }
+            controller.startGame();
+            view.end("finished");
+        } catch (CancellationException e) {
+            view.end("closed");
+        } catch (RuntimeException e) {
+            view.end("error: " + e);
+            throw e;
+        } finally {
+            GameSocketServer.closeJournal(journal);
+        }
+    }
+
+    void setTask(Future<?> task) {
+        this.task = task;
+    }
+
+    void close() {
+        Future<?> running = task;
+        if (running != null) running.cancel(true);
+        view.end("closed");
+    }
+
+    // True only for the first caller, so a game's slot is given back once
+    boolean releaseSlot() {
+        return holdsSlot.getAndSet(false);
+    }
+
+    void touch() {
+        lastAccess = System.currentTimeMillis();
+    }
+
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Game getGame() {
+        return game;
+    }
+
+    public JsonGameView getView() {
+        return view;
+    }
+}
@@ -0,0 +1,210 @@
+package chaos_room.server;
+
+import chaos_room.controller.GameController;
+import chaos_room.metrics.MetricsServer;
+import chaos_room.model.CardCatalog;
+import chaos_room.model.CatalogWatcher;
+import chaos_room.model.Game;
+import chaos_room.model.GameJournal;
+import chaos_room.model.GameRandom;
+import chaos_room.model.Player;
+import chaos_room.view.GameView;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hosts one single-player game per TCP connection, played over telnet or netcat with a
+ * {@link SocketGameView}. Every connection runs its own GameController on its own session
+ * thread, blocking on the socket whenever it needs an answer; with virtual threads (see
+ * {@link SessionThreads}) an idle player costs little more than the game state itself.
+ * All games share the process-wide CardCatalog.
+ */
+public class GameSocketServer implements AutoCloseable {
+    // Connections that send nothing for this long are dropped
+    private static final int IDLE_TIMEOUT_MILLIS = (int) TimeUnit.MINUTES.toMillis(30);
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions;
+    private final Set<Socket> connections = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    // One permit per game that may still be started, as in GameApi
+    private final Semaphore free;
+    private final Thread acceptor;
+
+    // At most -Dchaos_room.api.maxSessions games at once, like the HTTP API
+    public GameSocketServer(InetSocketAddress address, ExecutorService sessions) throws IOException {
+        this(address, sessions, Integer.getInteger(GameApi.MAX_SESSIONS_PROPERTY, GameApi.DEFAULT_MAX_SESSIONS));
+    }
+
+    public GameSocketServer(InetSocketAddress address, ExecutorService sessions, int maxSessions) throws IOException {
+        if (maxSessions <= 0) throw new IllegalArgumentException("maxSessions must be positive");
+        this.sessions = sessions;
+        this.free = new Semaphore(maxSessions);
+        CardCatalog.getInstance();
+        serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(address, 1024);
+        acceptor = new Thread(this::acceptLoop, "socket-accept");
+        acceptor.setDaemon(true);
+    }
+
+    public void start() {
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getSessionCount() {
+        return connections.size();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                if (!free.tryAcquire()) {
+                    refuse(socket, "The server is full, please try again later.");
+                    continue;
+                }
+                connections.add(socket);
+                try {
+                    sessions.execute(() -> serve(socket));
+                } catch (RejectedExecutionException e) {
+                    connections.remove(socket);
+                    free.release();
+                    refuse(socket, "The server is shutting down.");
+                }
+            } catch (SocketException e) {
+                // Closed by close()
+            } catch (IOException e) {
+                System.err.println("Accept failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (Socket connection = socket) {
+            connection.setSoTimeout(IDLE_TIMEOUT_MILLIS);
+            connection.setTcpNoDelay(true);
+            SocketGameView view = new SocketGameView(connection.getInputStream(), connection.getOutputStream());
+            view.displayMessage("Welcome to Chaos Room! What is your name?");
+            String name = view.readLine().trim();
+            Player player = new Player(name.isEmpty() ? "Stranger" : name, "Male");
+            GameRandom random = new GameRandom();
+            Game game = new Game(Collections.singletonList(player), random);
+            view.displayMessage("Game seed " + random.getSeed() + " (quote it when reporting a problem)");
+            GameController controller = new GameController(game, view);
+            GameJournal journal = startJournal(game, "socket-" + random.getSeed(), view);
+            try {
+                player.starterPack();
+                controller.startGame();
+            } finally {
+                closeJournal(journal);
+            }
+            view.flush();
+        } catch (CancellationException | UncheckedIOException | IOException e) {
+            // The client went away or timed out; its game goes with it
+        } finally {
+            connections.remove(socket);
+            free.release();
+        }
+    }
+
+    private static void refuse(Socket socket, String message) {
+        try (Socket refused = socket) {
+            refused.getOutputStream().write((message + "\r\n").getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            // It is being turned away anyway
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // Closing anyway
+        }
+        for (Socket socket : connections) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Its session ends on the failed read
+            }
+        }
+        sessions.shutdownNow();
+    }
+
+    // Usage: GameSocketServer [port] [host], then: telnet localhost 2323; only reachable from this machine unless a host is given
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 2323;
+        InetAddress host = args.length > 1 ? InetAddress.getByName(args[1]) : InetAddress.getLoopbackAddress();
+        GameSocketServer server = new GameSocketServer(new InetSocketAddress(host, port), SessionThreads.newPerSessionExecutor("player-"));
+        server.start();
+        System.out.println("Chaos Room listening on port " + server.getPort()
+                + (SessionThreads.isVirtualAvailable() ? " (virtual threads)" : " (platform threads)"));
+        printMetricsEndpoint(MetricsServer.startIfConfigured());
+        printCatalogWatch(CatalogWatcher.startIfConfigured(PRINT_RELOADS));
+        try {
+            server.acceptor.join();
+        } catch (InterruptedException e) {
+            server.close();
+        }
+    }
+
+    // The game's journal if -Dchaos_room.journal is set; one that cannot be created only costs the replay
+    static GameJournal startJournal(Game game, String name, GameView view) {
+        try {
+            return GameJournal.startIfConfigured(game, name);
+        } catch (IOException | IllegalArgumentException e) {
+            view.displayMessage("This game is not being journaled: " + e.getMessage());
+            return null;
+        }
+    }
+
+    static void closeJournal(GameJournal journal) {
+        if (journal == null) return;
+        try {
+            journal.close();
+        } catch (IOException e) {
+            // Everything recorded is already in the mapped file
+        }
+    }
+
+    static void printMetricsEndpoint(MetricsServer metrics) {
+        if (metrics != null) System.out.println("Metrics at http://localhost:" + metrics.getPort() + MetricsServer.PATH);
+    }
+
+    static final CatalogWatcher.Listener PRINT_RELOADS = new CatalogWatcher.Listener() {
+        @Override
+        public void onReloaded(Path directory, CardCatalog catalog, long nanos) {
+            System.out.printf("Reloaded %d cards from %s in %.1f ms%n", catalog.size(), directory, nanos / 1e6);
+        }
+
+        @Override
+        public void onRejected(Path directory, RuntimeException error) {
+            System.err.println("Cards in " + directory + " not reloaded, keeping the current ones: " + error.getMessage());
+        }
+    };
+
+    static void printCatalogWatch(CatalogWatcher watcher) {
+        if (watcher != null) System.out.println("Reloading cards as they change in " + watcher.getDirectory());
+    }
+}
@@ -0,0 +1,230 @@
+package chaos_room.server;
+
+import chaos_room.metrics.Metrics;
+import chaos_room.model.Card;
+import chaos_room.model.CardJson;
+import chaos_room.model.MonsterCard;
+import chaos_room.model.Player;
+import chaos_room.view.Decision;
+import chaos_room.view.GameView;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * GameView for remote clients. Everything the controllers show becomes a JSON event in a
+ * bounded log that clients poll or stream; a menu blocks the game thread until a client
+ * answers it with {@link #choose(long, int)}.
+ *
+ * The game thread may be virtual, so waits use a ReentrantLock rather than the monitor:
+ * a virtual thread in Object.wait() keeps its carrier thread, and enough games parked at a
+ * menu would leave none for the others.
+ */
+public class JsonGameView implements GameView {
+    // Older events are dropped, which caps what a session holds however long the game runs
+    static final int EVENT_LOG_SIZE = 256;
+
+    private final String[] log = new String[EVENT_LOG_SIZE];
+    private final ReentrantLock lock = new ReentrantLock();
+    // Signalled on every event, answer and the end of the game
+    private final Condition changed = lock.newCondition();
+    // Guarded by lock
+    private long nextEventId = 1;
+    private long pendingMenu;
+    private int pendingOptions;
+    private int answer = -1;
+    private boolean over;
+
+    @Override
+    public void displayMessage(String message) {
+        ObjectNode event = event("message");
+        event.put("text", message);
+        publish(event);
+    }
+
+    // A remote client has no Enter key to press, so there is nothing to wait for
+    @Override
+    public void waitForInput() {
+    }
+
+    @Override
+    public String getCardInfo(Card card) {
+        String info = String.format("Card: %s\nType: %s\nDescription: %s", card.getName(), card.getType(), card.getDescription());
+        if (card instanceof MonsterCard) {
+            MonsterCard monster = (MonsterCard) card;
+            info += String.format("\nLevel: %d\nTreasures: %d\nBad Stuff: %s", monster.getLevel(), monster.getTreasure(), monster.getNastyEffect());
+        }
+        return info;
+    }
+
+    @Override
+    public void displayGameOver(Player player) {
+        ObjectNode event = event("gameOver");
+        event.put("winner", player.getName());
+        publish(event);
+    }
+
+    @Override
+    public int displayMenu(Object[] options, String title) {
+        return displayMenu(Decision.OTHER, options, title);
+    }
+
+    @Override
+    public int displayMenu(Decision decision, Object[] options, String title) {
+        ObjectNode event = event("menu");
+        event.put("decision", decision.name());
+        event.put("title", title);
+        ArrayNode names = event.putArray("options");
+        for (Object option : options) {
+            names.add(String.valueOf(option));
+        }
+        lock.lock();
+        try {
+            pendingMenu = publish(event);
+            pendingOptions = options.length;
+            answer = -1;
+            long start = System.nanoTime();
+            try {
+                while (answer < 0) {
+                    changed.await();
+                }
+                return answer;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Game was closed while waiting for a choice");
+            } finally {
+                pendingMenu = 0;
+                Metrics.recordInputWait(System.nanoTime() - start);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Answers the menu with the given event id. Returns false if that menu is no longer the
+     * one waiting (already answered, or superseded), so a stale or repeated request is harmless.
+     */
+    public boolean choose(long menuId, int choice) {
+        lock.lock();
+        try {
+            if (menuId != pendingMenu || answer >= 0) return false;
+            if (choice < 0 || choice >= pendingOptions) {
+                throw new IllegalArgumentException("Choice " + choice + " is not one of the " + pendingOptions + " options");
+            }
+            answer = choice;
+            changed.signalAll();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Event id of the menu waiting for an answer, or 0
+    public long getPendingMenu() {
+        lock.lock();
+        try {
+            return answer < 0 ? pendingMenu : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isOver() {
+        lock.lock();
+        try {
+            return over;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Last event id published so far
+    public long getLastEventId() {
+        lock.lock();
+        try {
+            return nextEventId - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void end(String reason) {
+        lock.lock();
+        try {
+            if (over) return;
+            ObjectNode event = event("end");
+            event.put("reason", reason);
+            publish(event);
+            over = true;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends the JSON of the events after the given id that are still in the log, oldest
+     * first, and returns the id of the last one appended (eventId itself if there were none).
+     */
+    public long copyEventsAfter(long eventId, List<String> into) {
+        lock.lock();
+        try {
+            long first = Math.max(eventId + 1, nextEventId - EVENT_LOG_SIZE);
+            for (long id = first; id < nextEventId; id++) {
+                into.add(log[(int) (id % EVENT_LOG_SIZE)]);
+            }
+            return Math.max(eventId, nextEventId - 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits up to timeoutMillis for an event after the given id, or for a menu to become
+     * pending when wantMenu is set. Returns early once the game is over.
+     */
+    public void awaitEvents(long eventId, boolean wantMenu, long timeoutMillis) throws InterruptedException {
+        long left = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        lock.lock();
+        try {
+            while (!over && (wantMenu ? getPendingMenu() == 0 : getLastEventId() <= eventId)) {
+                if (left <= 0) return;
+                left = changed.awaitNanos(left);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ObjectNode event(String type) {
+        ObjectNode event = CardJson.mapper().createObjectNode();
+        event.put("type", type);
+        return event;
+    }
+
+    // Serialized once here, however many clients read it
+    private long publish(ObjectNode event) {
+        lock.lock();
+        try {
+            long id = nextEventId++;
+            event.put("id", id);
+            try {
+                log[(int) (id % EVENT_LOG_SIZE)] = CardJson.mapper().writeValueAsString(event);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+            changed.signalAll();
+            return id;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package chaos_room.server;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Executors that start one thread per session. On Java 21 and later these are virtual
+ * threads, so a session parked on its socket costs a small heap object rather than a
+ * platform thread with its own stack. The game is built for Java 8, so virtual threads
+ * are looked up reflectively; older runtimes get daemon platform threads instead.
+ */
+public final class SessionThreads {
+    private SessionThreads() {
+    }
+
+    public static ExecutorService newPerSessionExecutor(String prefix) {
+        ThreadFactory virtual = virtualThreads(prefix);
+        if (virtual != null) {
+            try {
+                Method perTask = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+                return (ExecutorService) perTask.invoke(null, virtual);
+            } catch (ReflectiveOperationException e) {
+                // Fall through to platform threads
+            }
+        }
+        return Executors.newCachedThreadPool(GameApi.daemonThreads(prefix));
+    }
+
+    public static boolean isVirtualAvailable() {
+        return virtualThreads("probe-") != null;
+    }
+
+    // Thread.ofVirtual().name(prefix, 1).factory(), or null before Java 21
+    private static ThreadFactory virtualThreads(String prefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 1L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Missing before Java 19, and a preview feature that may be disabled until Java 21
+            return null;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package chaos_room.server;
+
+import chaos_room.metrics.Metrics;
+import chaos_room.model.Card;
+import chaos_room.model.MonsterCard;
+import chaos_room.model.Player;
+import chaos_room.view.GameView;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Plain-text GameView over a socket, for telnet or netcat clients. Menus are numbered and
+ * answered with a line holding the number. Output is collected and sent in one write just
+ * before the view blocks for input, and the buffers are kept small, because thousands of
+ * these sit idle at a prompt at once.
+ */
+public class SocketGameView implements GameView {
+    static final String PROMPT = "> ";
+    // Longest answer line kept; the rest of an over-long line is ignored
+    private static final int MAX_LINE = 256;
+
+    private final InputStream in;
+    private final OutputStream out;
+    private final StringBuilder pending = new StringBuilder(256);
+    private final byte[] input = new byte[64];
+    private int inputPosition;
+    private int inputLimit;
+    private byte[] line = new byte[16];
+
+    public SocketGameView(InputStream in, OutputStream out) {
+        this.in = in;
+        this.out = out;
+    }
+
+    @Override
+    public void displayMessage(String message) {
+        pending.append(message).append("\r\n");
+    }
+
+    // The client scrolls, so there is no screen to hold back for the player to read
+    @Override
+    public void waitForInput() {
+    }
+
+    @Override
+    public String getCardInfo(Card card) {
+        String info = String.format("Card: %s\nType: %s\nDescription: %s", card.getName(), card.getType(), card.getDescription());
+        if (card instanceof MonsterCard) {
+            MonsterCard monster = (MonsterCard) card;
+            info += String.format("\nLevel: %d\nTreasures: %d\nBad Stuff: %s", monster.getLevel(), monster.getTreasure(), monster.getNastyEffect());
+        }
+        return info;
+    }
+
+    @Override
+    public void displayGameOver(Player player) {
+        pending.append("\r\n*** ").append(player.getName()).append(" wins the game! ***\r\n");
+        flush();
+    }
+
+    @Override
+    public int displayMenu(Object[] options, String title) {
+        pending.append("\r\n").append(title).append("\r\n");
+        for (int i = 0; i < options.length; i++) {
+            pending.append("  ").append(i + 1).append(") ").append(options[i]).append("\r\n");
+        }
+        while (true) {
+            pending.append(PROMPT);
+            String answer = readLine();
+            try {
+                int choice = Integer.parseInt(answer.trim());
+                if (choice >= 1 && choice <= options.length) return choice - 1;
+            } catch (NumberFormatException e) {
+                // Asked again below
+            }
+            pending.append("Type a number from 1 to ").append(options.length).append("\r\n");
+        }
+    }
+
+    // Sends pending output, then blocks for the next line. A closed connection ends the game.
+    public String readLine() {
+        flush();
+        int length = 0;
+        try {
+            while (true) {
+                if (inputPosition == inputLimit) {
+                    long start = System.nanoTime();
+                    inputLimit = in.read(input);
+                    Metrics.recordInputWait(System.nanoTime() - start);
+                    inputPosition = 0;
+                    if (inputLimit < 0) {
+                        inputLimit = 0;
+                        throw new CancellationException("Client disconnected");
+                    }
+                }
+                byte b = input[inputPosition++];
+                if (b == '\n') break;
+                if (b == '\r' || length == MAX_LINE) continue;
+                if (length == line.length) line = Arrays.copyOf(line, Math.min(MAX_LINE, length * 2));
+                line[length++] = b;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new String(line, 0, length, StandardCharsets.UTF_8);
+    }
+
+    public void flush() {
+        if (pending.length() == 0) return;
+        try {
+            out.write(pending.toString().getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            pending.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package chaos_room.sim;
+
+import chaos_room.model.CardCatalog;
+import chaos_room.model.GameRandom;
+import chaos_room.model.GameResult;
+import chaos_room.model.Player;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Monte Carlo balance report over many games played in parallel on a fork/join pool.
+// Usage: BalanceSimulator [games] [player counts, e.g. 2,4,6] [seed] [threads]
+public class BalanceSimulator {
+    private static final int GAMES_PER_TASK = 5_000;
+
+    public static BalanceStats run(int games, int playerCount, long seed, ForkJoinPool pool) {
+        return pool.invoke(new SimulationTask(games, playerCount, new SplittableRandom(seed)));
+    }
+
+    // Splits the games in halves until a task is small enough to play them all on one thread.
+    // Each half gets a split of the parent's random stream, so every worker draws from its own
+    // independent stream and a given seed always reproduces the same report.
+    private static class SimulationTask extends RecursiveTask<BalanceStats> {
+        private static final long serialVersionUID = 1L;
+        private final int games;
+        private final int playerCount;
+        private final SplittableRandom seeds;
+
+        SimulationTask(int games, int playerCount, SplittableRandom seeds) {
+            this.games = games;
+            this.playerCount = playerCount;
+            this.seeds = seeds;
+        }
+
+        @Override
+        protected BalanceStats compute() {
+            if (games <= GAMES_PER_TASK) {
+                return playGames();
+            }
+            SimulationTask left = new SimulationTask(games / 2, playerCount, seeds.split());
+            SimulationTask right = new SimulationTask(games - games / 2, playerCount, seeds);
+            left.fork();
+            BalanceStats stats = right.compute();
+            stats.merge(left.join());
+            return stats;
+        }
+
+        private BalanceStats playGames() {
+            BalanceStats stats = new BalanceStats(CardCatalog.getInstance(), playerCount);
+            DecisionPolicy policy = new GreedyPolicy();
+            for (int i = 0; i < games; i++) {
+                // A seed per game, so any single game of the report can be played again on its own
+                List<Player> players = Simulation.newPlayers(playerCount);
+                GameResult result = Simulation.playGame(players, policy, new GameRandom(seeds.nextLong()), stats);
+                stats.recordGame(result, players);
+            }
+            return stats;
+        }
+    }
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        String[] playerCounts = (args.length > 1 ? args[1] : "2,4,6").split(",");
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        System.out.printf("Seed %d, %d threads%n", seed, threads);
+        for (String playerCount : playerCounts) {
+            long start = System.nanoTime();
+            BalanceStats stats = run(games, Integer.parseInt(playerCount.trim()), seed, pool);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            stats.print(System.out);
+            System.out.printf("%.2f s, %.0f games/s%n%n", seconds, games / seconds);
+        }
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,203 @@
+package chaos_room.sim;
+
+import chaos_room.metrics.MonsterHistograms;
+import chaos_room.model.*;
+
+import java.io.PrintStream;
+import java.util.List;
+
+// Balance figures of many simulated games. Each worker fills its own instance and
+// instances are merged once the workers are done, so recording never contends.
+public class BalanceStats implements GameListener {
+    private static final int MAX_LEVELS_LOST = 10;
+
+    private final CardCatalog catalog;
+    private final int playerCount;
+    private long games;
+    private long unfinishedGames;
+
+    // Indexed by monster catalog index
+    private final long[] fightsWon;
+    private final long[] fightsEscaped;
+    private final long[] fightsDefeated;
+    // Indexed by levels lost in one defeat
+    private final long[] levelsLost = new long[MAX_LEVELS_LOST + 1];
+    // Indexed by the number of rounds (turns of the winner) it took to reach the winning level
+    private final long[] roundsToWin = new long[Simulation.MAX_TURNS + 1];
+
+    // Indexed by race/class card catalog index; the extra last slot counts players without one
+    private final long[] racePlayed;
+    private final long[] raceWon;
+    private final long[] classPlayed;
+    private final long[] classWon;
+    private final MonsterHistograms monsterHistograms = new MonsterHistograms();
+
+    public BalanceStats(CardCatalog catalog, int playerCount) {
+        this.catalog = catalog;
+        this.playerCount = playerCount;
+        int size = catalog.size();
+        fightsWon = new long[size];
+        fightsEscaped = new long[size];
+        fightsDefeated = new long[size];
+        racePlayed = new long[size + 1];
+        raceWon = new long[size + 1];
+        classPlayed = new long[size + 1];
+        classWon = new long[size + 1];
+    }
+
+    @Override
+    public void onFightResolved(Game game, MonsterCard monster, Player player, FightOutcome outcome, int lost) {
+        monsterHistograms.onFightResolved(game, monster, player, outcome, lost);
+        int index = monster.getCatalogIndex();
+        if (index < 0) return;
+        switch (outcome) {
+            case WON:
+                fightsWon[index]++;
+                break;
+            case ESCAPED:
+                fightsEscaped[index]++;
+                break;
+            case DEFEATED:
+                fightsDefeated[index]++;
+                levelsLost[Math.min(lost, MAX_LEVELS_LOST)]++;
+                break;
+        }
+    }
+
+    public void recordGame(GameResult result, List<Player> players) {
+        games++;
+        if (!result.hasWinner()) {
+            unfinishedGames++;
+        } else {
+            int rounds = (result.getTurns() + players.size() - 1) / players.size();
+            roundsToWin[Math.min(rounds, roundsToWin.length - 1)]++;
+        }
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            boolean won = player == result.getWinner();
+            int race = characterIndex(player, CardType.RACE);
+            int pClass = characterIndex(player, CardType.CLASS);
+            racePlayed[race]++;
+            classPlayed[pClass]++;
+            if (won) {
+                raceWon[race]++;
+                classWon[pClass]++;
+            }
+        }
+    }
+
+    private int characterIndex(Player player, CardType type) {
+        CharacterCard card = player.getCharacterCard(type);
+        return card != null && card.getCatalogIndex() >= 0 ? card.getCatalogIndex() : catalog.size();
+    }
+
+    public void merge(BalanceStats other) {
+        games += other.games;
+        unfinishedGames += other.unfinishedGames;
+        add(fightsWon, other.fightsWon);
+        add(fightsEscaped, other.fightsEscaped);
+        add(fightsDefeated, other.fightsDefeated);
+        add(levelsLost, other.levelsLost);
+        add(roundsToWin, other.roundsToWin);
+        add(racePlayed, other.racePlayed);
+        add(raceWon, other.raceWon);
+        add(classPlayed, other.classPlayed);
+        add(classWon, other.classWon);
+        monsterHistograms.merge(other.monsterHistograms);
+    }
+
+    private static void add(long[] into, long[] from) {
+        for (int i = 0; i < into.length; i++) {
+            into[i] += from[i];
+        }
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getUnfinishedGames() {
+        return unfinishedGames;
+    }
+
+    public long getFights(MonsterCard monster, FightOutcome outcome) {
+        int index = monster.getCatalogIndex();
+        switch (outcome) {
+            case WON:
+                return fightsWon[index];
+            case ESCAPED:
+                return fightsEscaped[index];
+            default:
+                return fightsDefeated[index];
+        }
+    }
+
+    public MonsterHistograms getMonsterHistograms() {
+        return monsterHistograms;
+    }
+
+    public long getDefeatsLosingLevels(int levels) {
+        return levelsLost[levels];
+    }
+
+    // Smallest number of rounds within which the given fraction of finished games was won
+    public int getRoundsToWinPercentile(double fraction) {
+        long finished = games - unfinishedGames;
+        long needed = (long) Math.ceil(finished * fraction);
+        long seen = 0;
+        for (int rounds = 0; rounds < roundsToWin.length; rounds++) {
+            seen += roundsToWin[rounds];
+            if (seen >= needed && seen > 0) return rounds;
+        }
+        return roundsToWin.length - 1;
+    }
+
+    public double getAverageRoundsToWin() {
+        long finished = 0;
+        long total = 0;
+        for (int rounds = 0; rounds < roundsToWin.length; rounds++) {
+            finished += roundsToWin[rounds];
+            total += rounds * roundsToWin[rounds];
+        }
+        return finished == 0 ? 0 : (double) total / finished;
+    }
+
+    public void print(PrintStream out) {
+        out.printf("== %d players: %d games, %d hit the turn limit%n", playerCount, games, unfinishedGames);
+        out.printf("Rounds to level %d: avg %.1f, p50 %d, p90 %d, p99 %d%n", chaos_room.controller.GameController.WINNING_LEVEL,
+                getAverageRoundsToWin(), getRoundsToWinPercentile(0.5), getRoundsToWinPercentile(0.9), getRoundsToWinPercentile(0.99));
+
+        out.printf("%-8s %-28s %10s %7s %7s %7s%n", "Monster", "Name", "Fights", "Win%", "Escape%", "Defeat%");
+        for (Card card : catalog.getCards(CardType.MONSTER)) {
+            int index = card.getCatalogIndex();
+            long fights = fightsWon[index] + fightsEscaped[index] + fightsDefeated[index];
+            out.printf("%-8s %-28s %10d %6.1f%% %6.1f%% %6.1f%%%n", card.getId(), card.getName(), fights,
+                    percent(fightsWon[index], fights), percent(fightsEscaped[index], fights), percent(fightsDefeated[index], fights));
+        }
+
+        long defeats = 0;
+        for (long count : levelsLost) defeats += count;
+        out.print("Levels lost per defeat:");
+        for (int levels = 0; levels < levelsLost.length; levels++) {
+            if (levelsLost[levels] > 0) out.printf(" %d: %.1f%%", levels, percent(levelsLost[levels], defeats));
+        }
+        out.println();
+        monsterHistograms.print(out);
+
+        out.printf("%-12s %10s %7s%n", "Race/Class", "Players", "Win%");
+        printCharacters(out, CardType.RACE, racePlayed, raceWon, "Human");
+        printCharacters(out, CardType.CLASS, classPlayed, classWon, "Citizen");
+    }
+
+    private void printCharacters(PrintStream out, CardType type, long[] played, long[] won, String none) {
+        for (Card card : catalog.getCards(type)) {
+            int index = card.getCatalogIndex();
+            out.printf("%-12s %10d %6.1f%%%n", card.getName(), played[index], percent(won[index], played[index]));
+        }
+        out.printf("%-12s %10d %6.1f%%%n", none, played[catalog.size()], percent(won[catalog.size()], played[catalog.size()]));
+    }
+
+    private static double percent(long count, long total) {
+        return total == 0 ? 0 : 100.0 * count / total;
+    }
+}
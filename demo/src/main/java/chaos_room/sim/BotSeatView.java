@@ -0,0 +1,61 @@
+package chaos_room.sim;
+
+import chaos_room.model.Card;
+import chaos_room.model.Game;
+import chaos_room.model.Player;
+import chaos_room.view.Decision;
+import chaos_room.view.GameView;
+
+import java.util.Map;
+
+// Seats bots at a table of human players: on a bot's turn its policy answers the menus and
+// nobody is asked to press a key, while the table still sees everything the bot does
+public class BotSeatView implements GameView {
+    private final Game game;
+    private final GameView view;
+    private final Map<Player, DecisionPolicy> bots;
+
+    public BotSeatView(Game game, GameView view, Map<Player, DecisionPolicy> bots) {
+        this.game = game;
+        this.view = view;
+        this.bots = bots;
+    }
+
+    @Override
+    public int displayMenu(Decision decision, Object[] options, String title) {
+        Player player = game.getCurrentPlayer();
+        DecisionPolicy bot = bots.get(player);
+        if (bot == null) return view.displayMenu(decision, options, title);
+        return bot.choose(decision, game, player, options.length);
+    }
+
+    @Override
+    public int displayMenu(Object[] options, String title) {
+        return displayMenu(Decision.OTHER, options, title);
+    }
+
+    @Override
+    public boolean isHeadless() {
+        return view.isHeadless();
+    }
+
+    @Override
+    public void displayMessage(String message) {
+        view.displayMessage(message);
+    }
+
+    @Override
+    public void waitForInput() {
+        if (!bots.containsKey(game.getCurrentPlayer())) view.waitForInput();
+    }
+
+    @Override
+    public String getCardInfo(Card card) {
+        return view.getCardInfo(card);
+    }
+
+    @Override
+    public void displayGameOver(Player player) {
+        view.displayGameOver(player);
+    }
+}
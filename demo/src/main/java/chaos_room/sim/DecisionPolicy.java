@@ -0,0 +1,10 @@
+package chaos_room.sim;
+
+import chaos_room.model.Game;
+import chaos_room.model.Player;
+import chaos_room.view.Decision;
+
+// Answers the controllers' menus in place of a human, see Decision for the option layout of each menu
+public interface DecisionPolicy {
+    int choose(Decision decision, Game game, Player player, int optionCount);
+}
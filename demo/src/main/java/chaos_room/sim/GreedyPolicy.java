@@ -0,0 +1,84 @@
+package chaos_room.sim;
+
+import chaos_room.model.*;
+import chaos_room.view.Decision;
+
+import java.util.List;
+
+// Equips anything that makes the player stronger, kicks the door every turn and
+// spends bonus cards or Warrior Rage only when that turns a lost fight into a win.
+public class GreedyPolicy implements DecisionPolicy {
+    private static final int MANAGE_INVENTORY = 0;
+    private static final int KICK_OPEN_DOOR = 2;
+    private static final int FIGHT = 0;
+    private static final int USE_BONUS_CARD = 1;
+    private static final int WARRIOR_RAGE = 2;
+
+    @Override
+    public int choose(Decision decision, Game game, Player player, int optionCount) {
+        switch (decision) {
+            case TURN_ACTION:
+                return findUpgrade(player) >= 0 ? MANAGE_INVENTORY : KICK_OPEN_DOOR;
+            case INVENTORY_CARD:
+                int upgrade = findUpgrade(player);
+                return upgrade >= 0 ? upgrade : optionCount - 1;
+            case FIGHT_ACTION:
+                return chooseFightAction(game.getEncounter(), player);
+            case RAGE_DISCARD:
+                return findRageDiscard(player);
+            case BONUS_CARD:
+                return findStrongestBonusCard(player);
+            default:
+                // Use card, replace item
+                return 0;
+        }
+    }
+
+    private int chooseFightAction(Encounter encounter, Player player) {
+        FightOdds odds = FightOdds.of(encounter);
+        // Fight when already winning, and when nothing helps, to try to run away
+        if (odds.getCardsToWin() <= 0) return FIGHT;
+        return odds.getBonusCardsToWin() > 0 ? USE_BONUS_CARD : WARRIOR_RAGE;
+    }
+
+    // The fewest cards win with the biggest bonuses; indexes count bonus cards only, as in the menu
+    private int findStrongestBonusCard(Player player) {
+        List<Card> bonusCards = player.getInventory(CardType.BONUS);
+        int best = 0;
+        int bestBonus = Integer.MIN_VALUE;
+        for (int i = 0; i < bonusCards.size(); i++) {
+            Card card = bonusCards.get(i);
+            int bonus = card instanceof OneTimeBonusCard ? ((OneTimeBonusCard) card).getBattleBonus() : 0;
+            if (bonus > bestBonus) {
+                best = i;
+                bestBonus = bonus;
+            }
+        }
+        return best;
+    }
+
+    // Keeps bonus cards for later fights when there is anything else to throw away
+    private int findRageDiscard(Player player) {
+        List<Card> inventory = player.getInventory();
+        for (int i = 0; i < inventory.size(); i++) {
+            if (!(inventory.get(i) instanceof OneTimeBonusCard)) return i;
+        }
+        return 0;
+    }
+
+    // Index of the first inventory card that would make the player stronger, or -1
+    private int findUpgrade(Player player) {
+        List<Card> inventory = player.getInventory();
+        for (int i = 0; i < inventory.size(); i++) {
+            Card card = inventory.get(i);
+            if (card instanceof EquipmentCard && isUpgrade((EquipmentCard) card, player)) return i;
+            if (card instanceof CharacterCard && player.getCharacterCard(card.getType()) == null) return i;
+        }
+        return -1;
+    }
+
+    private boolean isUpgrade(EquipmentCard item, Player player) {
+        EquipmentCard equipped = player.getEquipped(item.getSlot());
+        return equipped == null || item.getBonus() > equipped.getBonus();
+    }
+}
@@ -0,0 +1,49 @@
+package chaos_room.sim;
+
+import chaos_room.model.Card;
+import chaos_room.model.Game;
+import chaos_room.model.Player;
+import chaos_room.view.Decision;
+import chaos_room.view.GameView;
+
+public class HeadlessView implements GameView {
+    private final Game game;
+    private final DecisionPolicy policy;
+
+    public HeadlessView(Game game, DecisionPolicy policy) {
+        this.game = game;
+        this.policy = policy;
+    }
+
+    @Override
+    public int displayMenu(Decision decision, Object[] options, String title) {
+        return policy.choose(decision, game, game.getCurrentPlayer(), options.length);
+    }
+
+    @Override
+    public int displayMenu(Object[] options, String title) {
+        return displayMenu(Decision.OTHER, options, title);
+    }
+
+    @Override
+    public boolean isHeadless() {
+        return true;
+    }
+
+    @Override
+    public void displayMessage(String message) {
+    }
+
+    @Override
+    public void waitForInput() {
+    }
+
+    @Override
+    public String getCardInfo(Card card) {
+        return "";
+    }
+
+    @Override
+    public void displayGameOver(Player player) {
+    }
+}
@@ -0,0 +1,356 @@
+package chaos_room.sim;
+
+import chaos_room.controller.GameController;
+import chaos_room.model.*;
+import chaos_room.view.Decision;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A bot that decides by Monte Carlo Tree Search. At the turn and fight menus, and when it
+ * picks a bonus card or a Warrior Rage discard, it plays the rest of its turn and a few
+ * rounds after it many times over with every option, and takes the option that did best.
+ * Everything else (equipping, the other players' turns) is played by {@link GreedyPolicy}.
+ *
+ * A rollout restores the game as it was when the bot's turn started from a {@link GameSnapshot},
+ * which takes microseconds, and replays the bot's choices so far this turn. At the decision
+ * it reshuffles the draw piles and reseeds the dice, since the bot cannot know what comes
+ * next, and walks down a tree of its own later choices this turn, grown by one node per
+ * rollout and chosen with UCB1. Each worker thread grows its own tree; their root statistics
+ * are added up when the time budget runs out.
+ *
+ * A policy follows one bot in one game; give every bot its own.
+ */
+public class MctsPolicy implements DecisionPolicy {
+    public static final long DEFAULT_BUDGET_MILLIS = 50;
+    public static final int DEFAULT_HORIZON_ROUNDS = 5;
+
+    private static final int MANAGE_INVENTORY = 0;
+    private static final int VIEW_EQUIPPED = 1;
+    private static final int USE_BONUS_CARD = 1;
+    private static final int WARRIOR_RAGE = 2;
+    // Managing the inventory may do nothing, so it is only offered a few times a turn
+    private static final int MAX_TURN_MENUS = 4;
+    private static final double EXPLORATION = Math.sqrt(2);
+
+    private static final DecisionPolicy DEFAULT = new GreedyPolicy();
+    private static final RuntimeException OUT_OF_TIME = new Abort();
+    private static final RuntimeException DIVERGED = new Abort();
+
+    private final long budgetNanos;
+    private final int horizonRounds;
+    private final int workers;
+    private final ExecutorService executor;
+    private final GameRandom random;
+
+    // The bot's current turn: the game as it started, and the choices made since
+    private Game game;
+    private int turn;
+    private byte[] turnStart;
+    private int[] log = new int[24];
+    private int logLength;
+    private int turnMenus;
+    private int lastRollouts;
+
+    public MctsPolicy() {
+        this(DEFAULT_BUDGET_MILLIS, DEFAULT_HORIZON_ROUNDS, Runtime.getRuntime().availableProcessors(),
+                ForkJoinPool.commonPool(), new GameRandom());
+    }
+
+    // The calling thread is one of the workers; the executor runs the others
+    public MctsPolicy(long budgetMillis, int horizonRounds, int workers, ExecutorService executor, GameRandom random) {
+        if (workers < 1) throw new IllegalArgumentException("At least one worker is needed, not " + workers);
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        this.horizonRounds = horizonRounds;
+        this.workers = workers;
+        this.executor = executor;
+        this.random = random;
+    }
+
+    // Rollouts played for the last decision that was searched
+    public int getLastRollouts() {
+        return lastRollouts;
+    }
+
+    @Override
+    public int choose(Decision decision, Game game, Player player, int optionCount) {
+        // A turn always opens with the turn menu, before anything has changed
+        if (game != this.game || game.getTurn() != turn) {
+            this.game = game;
+            turn = game.getTurn();
+            turnStart = GameSnapshot.capture(game);
+            logLength = 0;
+            turnMenus = 0;
+        }
+        int choice = decide(decision, game, player, optionCount);
+        if (logLength + 3 > log.length) log = Arrays.copyOf(log, log.length * 2);
+        log[logLength++] = decision.ordinal();
+        log[logLength++] = optionCount;
+        log[logLength++] = choice;
+        if (decision == Decision.TURN_ACTION) turnMenus++;
+        return choice;
+    }
+
+    private int decide(Decision decision, Game game, Player player, int optionCount) {
+        if (!isSearched(decision)) return DEFAULT.choose(decision, game, player, optionCount);
+        int allowed = -1;
+        int allowedCount = 0;
+        for (int option = 0; option < optionCount; option++) {
+            if (isAllowed(decision, option, optionCount, player, turnMenus)) {
+                allowed = option;
+                allowedCount++;
+            }
+        }
+        if (allowedCount == 0) return DEFAULT.choose(decision, game, player, optionCount);
+        if (allowedCount == 1) return allowed;
+
+        long start = System.nanoTime();
+        Search search = new Search(game.getDeck().getCatalog(), game.getCurrentPlayerIndex(), start + budgetNanos * 9 / 10);
+        List<Future<Node>> others = new ArrayList<>(workers - 1);
+        for (int i = 1; i < workers; i++) {
+            GameRandom workerRandom = random.split();
+            others.add(executor.submit(() -> search.run(workerRandom)));
+        }
+        long[] visits = new long[optionCount];
+        double[] rewards = new double[optionCount];
+        int rollouts = addRoot(search.run(random.split()), visits, rewards);
+        for (Future<Node> other : others) {
+            try {
+                long left = start + budgetNanos - System.nanoTime();
+                rollouts += addRoot(other.get(Math.max(0, left), TimeUnit.NANOSECONDS), visits, rewards);
+            } catch (TimeoutException | ExecutionException e) {
+                // A worker that never got a thread in time, or failed, adds nothing
+                other.cancel(true);
+            } catch (InterruptedException e) {
+                other.cancel(true);
+                Thread.currentThread().interrupt();
+            }
+        }
+        lastRollouts = rollouts;
+
+        // The option tried most is the one the search trusted most
+        int best = -1;
+        for (int option = 0; option < optionCount; option++) {
+            if (visits[option] == 0) continue;
+            if (best < 0 || visits[option] > visits[best]
+                    || (visits[option] == visits[best] && rewards[option] > rewards[best])) {
+                best = option;
+            }
+        }
+        return best >= 0 ? best : DEFAULT.choose(decision, game, player, optionCount);
+    }
+
+    private static int addRoot(Node root, long[] visits, double[] rewards) {
+        if (root.children == null) return root.visits;
+        for (int option = 0; option < root.children.length && option < visits.length; option++) {
+            Node child = root.children[option];
+            if (child == null) continue;
+            visits[option] += child.visits;
+            rewards[option] += child.reward;
+        }
+        return root.visits;
+    }
+
+    private static boolean isSearched(Decision decision) {
+        return decision == Decision.TURN_ACTION || decision == Decision.FIGHT_ACTION
+                || decision == Decision.BONUS_CARD || decision == Decision.RAGE_DISCARD;
+    }
+
+    // Leaves out the options that come straight back to the same menu, so the bot always moves on
+    private static boolean isAllowed(Decision decision, int option, int optionCount, Player player, int turnMenus) {
+        switch (decision) {
+            case TURN_ACTION:
+                if (option == VIEW_EQUIPPED) return false;
+                return option != MANAGE_INVENTORY || (turnMenus < MAX_TURN_MENUS && !player.getInventory().isEmpty());
+            case FIGHT_ACTION:
+                if (option == USE_BONUS_CARD) return hasBonusCard(player);
+                if (option == WARRIOR_RAGE) return !player.getInventory().isEmpty();
+                return true;
+            default:
+                // The last bonus card and rage discard option is "Cancel"
+                return option < optionCount - 1;
+        }
+    }
+
+    private static boolean hasBonusCard(Player player) {
+        return !player.getInventory(CardType.BONUS).isEmpty();
+    }
+
+    // Rewards are in [0, 1]: a win, a loss, or the level lead when the horizon is reached
+    private static double reward(Game game, GameResult result, int seat) {
+        Player bot = game.getPlayers().get(seat);
+        if (result.hasWinner()) return result.getWinner() == bot ? 1 : 0;
+        int best = Integer.MIN_VALUE;
+        for (Player player : game.getPlayers()) {
+            if (player != bot) best = Math.max(best, player.getLevel());
+        }
+        if (best == Integer.MIN_VALUE) return bot.getLevel() / (double) GameController.WINNING_LEVEL;
+        double lead = (bot.getLevel() - best) / (2.0 * GameController.WINNING_LEVEL);
+        return Math.max(0, Math.min(1, 0.5 + lead));
+    }
+
+    private static final class Node {
+        Node[] children;
+        int visits;
+        double reward;
+
+        int select(Decision decision, int optionCount, Player player, int turnMenus, GameRandom random) {
+            if (children == null) children = new Node[optionCount];
+            // Untried options first, in random order, then the best upper confidence bound
+            int untried = 0;
+            int chosen = -1;
+            double bestBound = Double.NEGATIVE_INFINITY;
+            double logVisits = Math.log(Math.max(1, visits));
+            for (int option = 0; option < optionCount; option++) {
+                if (!isAllowed(decision, option, optionCount, player, turnMenus)) continue;
+                Node child = children[option];
+                if (child == null || child.visits == 0) {
+                    if (random.nextInt(++untried) == 0) chosen = option;
+                } else if (untried == 0) {
+                    double bound = child.reward / child.visits + EXPLORATION * Math.sqrt(logVisits / child.visits);
+                    if (bound > bestBound) {
+                        bestBound = bound;
+                        chosen = option;
+                    }
+                }
+            }
+            return chosen;
+        }
+    }
+
+    // One decision's search; shared by the workers, each of which grows its own tree
+    private final class Search {
+        private final CardCatalog catalog;
+        private final int seat;
+        private final long deadline;
+        private final byte[] snapshot = turnStart;
+        private final int[] prefix = Arrays.copyOf(log, logLength);
+        private final int startTurn = turn;
+
+        Search(CardCatalog catalog, int seat, long deadline) {
+            this.catalog = catalog;
+            this.seat = seat;
+            this.deadline = deadline;
+        }
+
+        Node run(GameRandom workerRandom) {
+            Node root = new Node();
+            Rollout rollout = new Rollout(this, root, workerRandom);
+            while (System.nanoTime() - deadline < 0) {
+                Game copy = GameSnapshot.read(ByteBuffer.wrap(snapshot), catalog);
+                GameController controller = new GameController(copy, new HeadlessView(copy, rollout));
+                controller.setMaxTurns(startTurn + horizonRounds * copy.getPlayers().size());
+                rollout.reset();
+                try {
+                    GameResult result = controller.playGame();
+                    rollout.backPropagate(reward(copy, result, seat));
+                } catch (Abort e) {
+                    // Out of time, or this game does not replay the same way (its dice cannot be restored)
+                    break;
+                }
+            }
+            return root;
+        }
+    }
+
+    // Answers every menu of one rollout: the bot's choices so far, then the tree, then greedy play
+    private static final class Rollout implements DecisionPolicy {
+        private final Search search;
+        private final Node root;
+        private final GameRandom random;
+        private Node node;
+        private Node[] path = new Node[16];
+        private int pathLength;
+        private int replayed;
+        private boolean dealt;
+        private int turnMenus;
+
+        Rollout(Search search, Node root, GameRandom random) {
+            this.search = search;
+            this.root = root;
+            this.random = random;
+        }
+
+        void reset() {
+            node = root;
+            path[0] = root;
+            pathLength = 1;
+            replayed = 0;
+            dealt = false;
+            turnMenus = 0;
+        }
+
+        @Override
+        public int choose(Decision decision, Game game, Player player, int optionCount) {
+            if (System.nanoTime() - search.deadline >= 0) throw OUT_OF_TIME;
+            if (game.getTurn() != search.startTurn || node == null) {
+                return DEFAULT.choose(decision, game, player, optionCount);
+            }
+            int menus = turnMenus;
+            if (decision == Decision.TURN_ACTION) turnMenus++;
+
+            int[] prefix = search.prefix;
+            if (replayed < prefix.length) {
+                if (prefix[replayed] != decision.ordinal() || prefix[replayed + 1] != optionCount) throw DIVERGED;
+                int choice = prefix[replayed + 2];
+                replayed += 3;
+                return choice;
+            }
+            if (!dealt) {
+                // The decision being searched: from here on the bot does not know what comes next
+                dealt = true;
+                // Reseeded first, as the shuffle uses the game's random
+                ((GameRandom) game.getRandom()).setState(random.nextLong());
+                game.getDeck().shuffleDrawPiles();
+            }
+            if (!isSearched(decision)) return DEFAULT.choose(decision, game, player, optionCount);
+            if (node.children != null && node.children.length != optionCount) {
+                // Another deal led to a menu of another size; the tree ends here
+                node = null;
+                return DEFAULT.choose(decision, game, player, optionCount);
+            }
+
+            int option = node.select(decision, optionCount, player, menus, random);
+            if (option < 0) {
+                node = null;
+                return DEFAULT.choose(decision, game, player, optionCount);
+            }
+            Node child = node.children[option];
+            boolean expanded = child == null;
+            if (expanded) {
+                child = new Node();
+                node.children[option] = child;
+            }
+            if (pathLength == path.length) path = Arrays.copyOf(path, pathLength * 2);
+            path[pathLength++] = child;
+            // One new node per rollout; the rest of it is played greedily
+            node = expanded ? null : child;
+            return option;
+        }
+
+        void backPropagate(double reward) {
+            for (int i = 0; i < pathLength; i++) {
+                path[i].visits++;
+                path[i].reward += reward;
+            }
+        }
+    }
+
+    // Unwinds a rollout through the controllers; shared and without a stack trace, as it is thrown often
+    private static final class Abort extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        Abort() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package chaos_room.sim;
+
+import chaos_room.controller.GameController;
+import chaos_room.model.Game;
+import chaos_room.model.GameRandom;
+import chaos_room.model.GameListener;
+import chaos_room.model.GameResult;
+import chaos_room.model.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Runs complete games without a screen. Usage: Simulation [games] [players]
+public class Simulation {
+    public static final int MAX_TURNS = 1000;
+    private static final String[] NAMES = {"Bot 1", "Bot 2", "Bot 3", "Bot 4", "Bot 5", "Bot 6"};
+
+    public static GameResult playGame(int playerCount, DecisionPolicy policy) {
+        return playGame(playerCount, policy, new GameRandom(), null);
+    }
+
+    // The listener, if any, also gets the finished game's players through GameListener events
+    public static GameResult playGame(int playerCount, DecisionPolicy policy, Random random, GameListener listener) {
+        return playGame(newPlayers(playerCount), policy, random, listener);
+    }
+
+    public static GameResult playGame(List<Player> players, DecisionPolicy policy, Random random, GameListener listener) {
+        Game game = new Game(players, random);
+        if (listener != null) game.addListener(listener);
+        for (Player player : players) {
+            player.starterPack();
+        }
+        GameController controller = new GameController(game, new HeadlessView(game, policy));
+        controller.setMaxTurns(MAX_TURNS);
+        return controller.playGame();
+    }
+
+    public static List<Player> newPlayers(int playerCount) {
+        List<Player> players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            Player player = new Player(NAMES[i], i % 2 == 0 ? "Male" : "Female");
+            player.setBot(true);
+            players.add(player);
+        }
+        return players;
+    }
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int playerCount = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        DecisionPolicy policy = new GreedyPolicy();
+
+        // Warm up the JIT before measuring
+        for (int i = 0; i < Math.min(games, 100_000); i++) {
+            playGame(playerCount, policy);
+        }
+
+        long turns = 0;
+        int unfinished = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < games; i++) {
+            GameResult result = playGame(playerCount, policy);
+            turns += result.getTurns();
+            if (!result.hasWinner()) unfinished++;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d games with %d players in %.2f s: %.0f games/s, %.1f turns/game, %d hit the turn limit%n",
+                games, playerCount, seconds, games / seconds, (double) turns / games, unfinished);
+    }
+}
@@ -0,0 +1,122 @@
+package chaos_room.view;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays typewriter effects on a timer thread, so the game thread can keep working while
+ * text appears. Effects play one after another in the order they were queued. When
+ * animations are disabled every effect is written out at once instead.
+ */
+final class Animator implements AutoCloseable {
+    private final OutputStream out;
+    private final Charset charset;
+    private final ScheduledExecutorService timer;
+    // Guarded by this
+    private final Queue<Typewriter> queue = new ArrayDeque<>();
+    private Typewriter current;
+
+    Animator(OutputStream out, Charset charset, boolean enabled) {
+        this.out = out;
+        this.charset = charset;
+        this.timer = enabled ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "animation");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    boolean isEnabled() {
+        return timer != null;
+    }
+
+    // Types the text out one character every delayMillis, after any effects already queued.
+    // With no delay the text appears all at once, but still in its place in the queue.
+    synchronized void typewriter(String text, long delayMillis) {
+        if (timer == null) {
+            skip();
+            write(text);
+            return;
+        }
+        queue.add(new Typewriter(text, delayMillis));
+        if (current == null) startNext();
+    }
+
+    synchronized boolean isIdle() {
+        return current == null;
+    }
+
+    // Finishes every queued effect immediately
+    synchronized void skip() {
+        while (current != null) {
+            if (current.future != null) current.future.cancel(false);
+            write(current.text.substring(current.position));
+            current = queue.poll();
+        }
+        notifyAll();
+    }
+
+    synchronized void awaitIdle() throws InterruptedException {
+        while (current != null) {
+            wait();
+        }
+    }
+
+    private void startNext() {
+        current = queue.poll();
+        if (current != null) {
+            Typewriter next = current;
+            next.future = timer.scheduleAtFixedRate(() -> tick(next), 0, Math.max(1, next.delayMillis), TimeUnit.MILLISECONDS);
+        } else {
+            notifyAll();
+        }
+    }
+
+    private synchronized void tick(Typewriter effect) {
+        // A skip may have finished this effect while the tick was waiting for the lock
+        if (effect != current) return;
+        int end = effect.delayMillis > 0 ? effect.position + 1 : effect.text.length();
+        if (end < effect.text.length() && Character.isHighSurrogate(effect.text.charAt(effect.position))) end++;
+        write(effect.text.substring(effect.position, end));
+        effect.position = end;
+        if (effect.position >= effect.text.length()) {
+            effect.future.cancel(false);
+            startNext();
+        }
+    }
+
+    private void write(String text) {
+        try {
+            out.write(text.getBytes(charset));
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        skip();
+        if (timer != null) timer.shutdownNow();
+    }
+
+    private static final class Typewriter {
+        final String text;
+        final long delayMillis;
+        int position;
+        ScheduledFuture<?> future;
+
+        Typewriter(String text, long delayMillis) {
+            this.text = text;
+            this.delayMillis = delayMillis;
+        }
+    }
+}
@@ -1,46 +1,56 @@
 package chaos_room.view;
+import chaos_room.metrics.Metrics;
 import chaos_room.model.*;
+import org.jline.keymap.BindingReader;
+import org.jline.keymap.KeyMap;
+import org.jline.terminal.Attributes;
 import org.jline.terminal.Terminal;
 import org.jline.terminal.TerminalBuilder;
+import org.jline.utils.InfoCmp.Capability;
 import org.jline.utils.NonBlockingReader;
-import java.util.Scanner;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
 
-public class ConsoleView implements GameView {
+public class ConsoleView implements GameView, AutoCloseable {
 
-    private static final int TERMINAL_WIDTH = 120;
-    private static final String LEFT_BORDER = " |   |  ";
-    private static final String RIGHT_BORDER = "  |   | ";
-    private static final int INNER_WIDTH = TERMINAL_WIDTH - LEFT_BORDER.length() - RIGHT_BORDER.length();
+    private static final int TERMINAL_WIDTH = ScreenFrame.TERMINAL_WIDTH;
+    private static final String LEFT_BORDER = ScreenFrame.LEFT_BORDER;
+    private static final int INNER_WIDTH = ScreenFrame.INNER_WIDTH;
+    private static final String CLEAR_SCREEN = "\033[H\033[2J";
+    public static final String FAST_PROPERTY = "chaos_room.fast";
+    // How long a lone ESC waits for the rest of an arrow-key sequence
+    private static final long ESCAPE_TIMEOUT_MS = 50;
 
-    private String getTopBorder() {
-        return "( ___ )" + repeatString("-", TERMINAL_WIDTH - 14) + "( ___ )";
+    private enum MenuKey { UP, DOWN, SELECT, OTHER }
+
+    // Every screen is composed here and written in one go
+    private final ScreenFrame frame;
+    // Intro and game-over effects play on their own timer; see finishAnimations()
+    private final Animator animator;
+    // One terminal session for the life of the view; building one flips terminal modes
+    private Terminal terminal;
+    private BindingReader keys;
+    private KeyMap<MenuKey> menuKeys;
+
+    public ConsoleView() {
+        // Effects only make sense for someone watching; -Dchaos_room.fast=true switches them off
+        this(System.out, Charset.defaultCharset(), System.console() != null && !Boolean.getBoolean(FAST_PROPERTY));
     }
 
-    private String getBottomBorder() {
-        return "(_____)" + repeatString("-", TERMINAL_WIDTH - 14) + "(_____)";
+    public ConsoleView(OutputStream out, Charset charset) {
+        this(out, charset, false);
     }
 
-    private List<String> wrapText(String text, int maxWidth) {
-        List<String> lines = new ArrayList<>();
-        String[] words = text.split(" ");
-        StringBuilder currentLine = new StringBuilder();
-        
-        for (String word : words) {
-            if (currentLine.length() + word.length() + 1 > maxWidth) {
-                lines.add(currentLine.toString());
-                currentLine = new StringBuilder();
-            }
-            if (currentLine.length() > 0) {
-                currentLine.append(" ");
-            }
-            currentLine.append(word);
-        }
-        if (currentLine.length() > 0) {
-            lines.add(currentLine.toString());
-        }
-        return lines;
+    public ConsoleView(OutputStream out, Charset charset, boolean animations) {
+        this.frame = new ScreenFrame(out, charset);
+        this.animator = new Animator(out, charset, animations);
+    }
+
+    ConsoleView(Terminal terminal, OutputStream out, Charset charset) {
+        this(out, charset);
+        attach(terminal);
     }
 
     public void displayWelcomeMessage() throws InterruptedException {
@@ -55,20 +65,19 @@ public class ConsoleView implements GameView {
         };
         
         for (String line : lines) {
-            int leftPad = Math.max(0, (INNER_WIDTH - line.length()) / 2);
-            int rightPad = Math.max(0, INNER_WIDTH - line.length() - leftPad);
-            printWithDelay(LEFT_BORDER + repeatString(" ", leftPad) + line + repeatString(" ", rightPad) + RIGHT_BORDER + "\n", 20);
+            frame.centered(line);
         }
-        displaySeparator();
+        animateFrame(20);
+        frame.separator();
+        animateFrame(0);
     }
 
     public int askForNumberOfPlayers() {    
-        Scanner scanner = new Scanner(System.in);
         int n = 0;
         while (true) {
             displayPrompt("Enter number of players (1-6): ");
             try {
-                String input = scanner.nextLine();
+                String input = readLine();
                 reprintInputLine("Enter number of players (1-6): ", input);
                 n = Integer.parseInt(input);
                 if (n >= 1 && n <= 6) return n;
@@ -79,17 +88,59 @@ public class ConsoleView implements GameView {
         }
     }
 
+    // Plays the text as a typewriter effect and waits for it; any key skips ahead
     public void printWithDelay(String text, int delayMillis) throws InterruptedException {
-        for (char c : text.toCharArray()) {
-            System.out.print(c);
-            Thread.sleep(delayMillis);
+        animator.typewriter(text, delayMillis);
+        finishAnimations();
+    }
+
+    // Queues whatever has been composed into the frame as a typewriter effect and returns at once.
+    // The intro and game-over screens are drawn this way, so setup can run while they play.
+    private void animateFrame(int delayMillis) {
+        String text = frame.toString();
+        frame.clear();
+        animator.typewriter(text, delayMillis);
+    }
+
+    private void flush() {
+        finishAnimations();
+        long start = System.nanoTime();
+        frame.flush();
+        Metrics.RENDER.recordSince(start);
+    }
+
+    /**
+     * Waits until queued effects have played, so nothing else is drawn into the middle of
+     * them. A key pressed meanwhile skips to the end; the key itself is swallowed.
+     */
+    private void finishAnimations() {
+        if (animator.isIdle()) return;
+        Terminal terminal = terminal();
+        Attributes previous = terminal.enterRawMode();
+        try {
+            NonBlockingReader reader = terminal.reader();
+            while (!animator.isIdle()) {
+                int c = reader.peek(10);
+                if (c >= 0) {
+                    reader.read();
+                    animator.skip();
+                } else if (c == NonBlockingReader.EOF) {
+                    animator.awaitIdle();
+                }
+            }
+        } catch (IOException e) {
+            animator.skip();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            animator.skip();
+        } finally {
+            terminal.setAttributes(previous);
         }
     }
-    
+
     public Player registration() throws InterruptedException {
-        Scanner scanner = new Scanner(System.in);
         displayPrompt("Enter your hero's name: ");
-        String name = scanner.nextLine();
+        String name = readLine();
         reprintInputLine("Enter your hero's name: ", name);
         int selected = displayMenu(new String[]{"Male", "Female"}, "Choose your hero's gender:");
         String gender = selected == 0 ? "Male" : "Female";
@@ -97,73 +148,54 @@ public class ConsoleView implements GameView {
     }
 
     public void displayPrompt(String message) {
-        String top = getTopBorder();
-        System.out.println(top);
-        System.out.print(LEFT_BORDER + message);
+        frame.top().text(LEFT_BORDER).text(message);
+        flush();
     }
 
     public void displayMenuTitle(String title) {
-        String top = getTopBorder();
-        
-        System.out.println(top);
-        
-        String[] lines = title.split("\n");
-        for (String line : lines) {
+        appendMenuTitle(title);
+        flush();
+    }
+
+    private void appendMenuTitle(String title) {
+        frame.top();
+        for (String line : title.split("\n")) {
             // Clean up if the user manually added the border to the string
             if (line.trim().startsWith("|   |")) {
                  line = line.replace("|   |", "").trim();
             }
-            
-            List<String> wrappedLines = wrapText(line, INNER_WIDTH);
-            for (String wrappedLine : wrappedLines) {
-                int leftPad = Math.max(0, (INNER_WIDTH - wrappedLine.length()) / 2);
-                int rightPad = Math.max(0, INNER_WIDTH - wrappedLine.length() - leftPad);
-                System.out.println(LEFT_BORDER + repeatString(" ", leftPad) + wrappedLine + repeatString(" ", rightPad) + RIGHT_BORDER);
-            }
+            frame.wrapped(line);
         }
-        
-        System.out.println(top);
+        frame.top();
     }
 
     public void displayMenuOption(String option, boolean selected) {
-        String prefix = selected ? "> " : "  ";
-        String content = prefix + option;
-        
-        int padding = Math.max(0, INNER_WIDTH - content.length());
-        
-        System.out.println(LEFT_BORDER + content + repeatString(" ", padding) + RIGHT_BORDER);
+        appendMenuOption(option, selected);
+        flush();
+    }
+
+    private void appendMenuOption(String option, boolean selected) {
+        frame.padded((selected ? "> " : "  ") + option);
     }
 
     public void displayMenuBottom() {
-        System.out.println(getBottomBorder());
+        frame.bottom();
+        flush();
     }
 
     public void displayMessage(String message) {
-        String top = getTopBorder();
-        String bottom = getBottomBorder();
-
-        System.out.println(top);
-        
-        String[] paragraphs = message.split("\n");
-        for (String paragraph : paragraphs) {
-            List<String> lines = wrapText(paragraph, INNER_WIDTH);
-            for (String line : lines) {
-                int leftPad = Math.max(0, (INNER_WIDTH - line.length()) / 2);
-                int rightPad = Math.max(0, INNER_WIDTH - line.length() - leftPad);
-                System.out.println(LEFT_BORDER + repeatString(" ", leftPad) + line + repeatString(" ", rightPad) + RIGHT_BORDER);
-            }
-        }
-        System.out.println(bottom);
+        frame.top().wrapped(message).bottom();
+        flush();
     }
 
     public void waitForInput() {
         displayPrompt("Press Enter to continue...");
         try {
-            Scanner scanner = new Scanner(System.in);
-            scanner.nextLine();
-        } catch (Exception e) {}
-        reprintInputLine("Press Enter to continue...", "");
-        System.out.println(getBottomBorder());
+            readLine();
+        } catch (UncheckedIOException e) {}
+        appendInputLine("Press Enter to continue...", "");
+        frame.bottom();
+        flush();
     }
 
     public void displayLogo() throws InterruptedException {
@@ -182,13 +214,14 @@ public class ConsoleView implements GameView {
             "                                                            "
         };
 
-        System.out.println(getTopBorder());
+        frame.top();
+        animateFrame(0);
         for (String line : logoLines) {
-            int leftPad = Math.max(0, (INNER_WIDTH - line.length()) / 2);
-            int rightPad = Math.max(0, INNER_WIDTH - line.length() - leftPad);
-            printWithDelay(LEFT_BORDER + repeatString(" ", leftPad) + line + repeatString(" ", rightPad) + RIGHT_BORDER + "\n", 2);
+            frame.centered(line);
         }
-        System.out.println(getBottomBorder());
+        animateFrame(2);
+        frame.bottom();
+        animateFrame(0);
     }
     
     public String getCardInfo(Card card){
@@ -211,105 +244,178 @@ public class ConsoleView implements GameView {
 
     @Override
     public int displayMenu(Object[] options, String title) {
-        try (Terminal terminal = TerminalBuilder.builder()
-                .system(true)
-                .build();
-            NonBlockingReader reader = terminal.reader()) {
-            
+        Terminal terminal;
+        try {
+            terminal = terminal();
+        } catch (UncheckedIOException e) {
+            displayMessage("Error displaying menu.");
+            return -1;
+        }
+        Attributes cooked = terminal.enterRawMode();
+        try {
             int selected = 0;
+            frame.text(CLEAR_SCREEN);
+            appendMenuTitle(title);
+            int firstOptionRow = frame.lineCount() + 1;
+            for (int i = 0; i < options.length; i++) {
+                appendMenuOption(options[i].toString(), i == selected);
+            }
+            frame.bottom();
+            int belowMenuRow = frame.lineCount() + 1;
+            flush();
+            // Rows can only be addressed while the whole menu fits on screen
+            boolean partialRedraw = terminal.getHeight() <= 0 || belowMenuRow <= terminal.getHeight();
+
             while (true) {
-                terminal.puts(org.jline.utils.InfoCmp.Capability.clear_screen);
-                
-                displayMenuTitle(title);
-                
-                for (int i = 0; i < options.length; i++) {
-                    displayMenuOption(options[i].toString(), i == selected);
+                MenuKey key = readKey();
+                if (key == null || key == MenuKey.SELECT) return selected;
+                int moved = selected;
+                // Arrow keys that arrived together (e.g. key repeat) are applied in one redraw
+                while (true) {
+                    if (key == MenuKey.UP) moved = (moved - 1 + options.length) % options.length;
+                    if (key == MenuKey.DOWN) moved = (moved + 1) % options.length;
+                    if (keys.peekCharacter(1) == NonBlockingReader.READ_EXPIRED) break;
+                    key = readKey();
+                    if (key == null || key == MenuKey.SELECT) return moved;
                 }
-                displayMenuBottom();
-                
-                terminal.flush();
+                if (moved == selected) continue;
 
-                int c = reader.read();
-                if (c == 27) {
-                    reader.read();
-                    int arrow = reader.read();
-                    if (arrow == 'A') selected = (selected - 1 + options.length) % options.length;
-                    if (arrow == 'B') selected = (selected + 1) % options.length; 
-                } else if (c == 10 || c == 13) {
-                    return selected;
+                if (partialRedraw) {
+                    moveTo(firstOptionRow + selected);
+                    appendMenuOption(options[selected].toString(), false);
+                    moveTo(firstOptionRow + moved);
+                    appendMenuOption(options[moved].toString(), true);
+                    moveTo(belowMenuRow);
+                } else {
+                    frame.text(CLEAR_SCREEN);
+                    appendMenuTitle(title);
+                    for (int i = 0; i < options.length; i++) {
+                        appendMenuOption(options[i].toString(), i == moved);
+                    }
+                    frame.bottom();
                 }
+                flush();
+                selected = moved;
             }
+        } finally {
+            terminal.setAttributes(cooked);
+        }
+    }
 
-        } catch (java.io.IOException e) {
-            displayMessage("Error displaying menu.");
-            return -1;
+    private void moveTo(int row) {
+        frame.text("\033[").text(Integer.toString(row)).text(";1H");
+    }
+
+    private Terminal terminal() {
+        if (terminal == null) {
+            try {
+                attach(TerminalBuilder.builder().system(true).build());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
         }
+        return terminal;
     }
 
-    public void displayGameOver(Player player) {
+    private void attach(Terminal terminal) {
+        this.terminal = terminal;
+        keys = new BindingReader(terminal.reader());
+        menuKeys = new KeyMap<>();
+        menuKeys.setAmbiguousTimeout(ESCAPE_TIMEOUT_MS);
+        menuKeys.setNomatch(MenuKey.OTHER);
+        menuKeys.setUnicode(MenuKey.OTHER);
+        menuKeys.bind(MenuKey.UP, "\033[A", "\033OA", KeyMap.key(terminal, Capability.key_up));
+        menuKeys.bind(MenuKey.DOWN, "\033[B", "\033OB", KeyMap.key(terminal, Capability.key_down));
+        menuKeys.bind(MenuKey.SELECT, "\r", "\n");
+    }
+
+    private MenuKey readKey() {
+        long start = System.nanoTime();
         try {
-            clearScreen();
-            String gameOverArt =
-                " .--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--. \n" +
-                "/ .. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\\n" +
-                " \\ \\/\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ \\/ /\n" +
-                " \\/ /`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'\\/ / \n" +
-                " / /\\                                                                                                        / /\\ \n" +
-                "/ /\\ \\                                                                                                      / /\\ \\\n" +
-                "\\ \\/ /                                                        )                                             \\ \\/ /\n" +
-                " \\/ /                         (                            ( /(                                              \\/ / \n" +
-                " / /\\                         )\\ )       )     )      (    )\\())   )      (   (                              / /\\ \n" +
-                "/ /\\ \\                       (()/(    ( /(    (      ))\\  ((_)\\   /((    ))\\  )(                            / /\\ \\\n" +
-                "\\ \\/ /                        /(_))_  )(_))   )\\  ' /((_)   ((_) (_))\\  /((_)(()\\                           \\ \\/ /\n" +
-                " \\/ /                        (_)) __|((_)_  _((_)) (_))    / _ \\ _)((_)(_))   ((_)                           \\/ / \n" +
-                " / /\\                          | (_ |/ _` || '  \\()/ -_)  | (_) |\\ V / / -_) | '_|                           / /\\ \n" +
-                "/ /\\ \\                          \\___|\\__,_||_|_|_| \\___|   \\___/  \\_/  \\___| |_|                            / /\\ \\\n" +
-                "\\ \\/ /                                                                                                      \\ \\/ /\n" +
-                " \\/ /                                                                                                        \\/ / \n" +
-                " / /\\.--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--./ /\\ \n" +
-                "/ /\\ \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\/\\ \\\n" +
-                "\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `' /\n" +
-                " `--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--' \n";
-                StringBuilder sb = new StringBuilder();
-                for (String line : gameOverArt.split("\n")) {
-                    int padding = Math.max(0, (TERMINAL_WIDTH - line.length()) / 2);
-                    sb.append(repeatString(" ", padding)).append(line).append("\n");
-                }
-                gameOverArt = sb.toString();
-            printWithDelay(gameOverArt, 2);
-            displayMessage("The winner is " + player.getName() + "!");
-        } catch (InterruptedException e) {
-            e.printStackTrace();
+            return keys.readBinding(menuKeys);
+        } finally {
+            Metrics.recordInputWait(System.nanoTime() - start);
         }
     }
 
-    public void reprintInputLine(String prompt, String input) {
-        // Move cursor up 1 line
-        System.out.print("\033[1A");
-        // Clear the line
-        System.out.print("\033[2K\r");
+    // Reads a line through the view's terminal, so no other reader competes for System.in
+    private String readLine() {
+        StringBuilder line = new StringBuilder();
+        long start = System.nanoTime();
+        try {
+            NonBlockingReader reader = terminal().reader();
+            int c;
+            while ((c = reader.read()) >= 0 && c != '\n' && c != '\r') {
+                line.append((char) c);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            Metrics.recordInputWait(System.nanoTime() - start);
+        }
+        return line.toString();
+    }
 
-        String content = prompt + input;
-        int padding = INNER_WIDTH - content.length();
-        
-        if (padding >= 0) {
-            System.out.println(LEFT_BORDER + content + repeatString(" ", padding) + RIGHT_BORDER);
-        } else {
-            System.out.println(LEFT_BORDER + content + RIGHT_BORDER);
+    @Override
+    public void close() {
+        animator.close();
+        if (terminal != null) {
+            try {
+                terminal.close();
+            } catch (IOException e) {
+                // Nothing left to restore
+            }
+            terminal = null;
         }
     }
 
-    public String repeatString(String str, int times) {
-        if (times <= 0) return "";
-        return new String(new char[times]).replace("\0", str);
+    public void displayGameOver(Player player) {
+        frame.text(CLEAR_SCREEN);
+        String gameOverArt =
+            " .--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--. \n" +
+            "/ .. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\\n" +
+            " \\ \\/\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ \\/ /\n" +
+            " \\/ /`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'\\/ / \n" +
+            " / /\\                                                                                                        / /\\ \n" +
+            "/ /\\ \\                                                                                                      / /\\ \\\n" +
+            "\\ \\/ /                                                        )                                             \\ \\/ /\n" +
+            " \\/ /                         (                            ( /(                                              \\/ / \n" +
+            " / /\\                         )\\ )       )     )      (    )\\())   )      (   (                              / /\\ \n" +
+            "/ /\\ \\                       (()/(    ( /(    (      ))\\  ((_)\\   /((    ))\\  )(                            / /\\ \\\n" +
+            "\\ \\/ /                        /(_))_  )(_))   )\\  ' /((_)   ((_) (_))\\  /((_)(()\\                           \\ \\/ /\n" +
+            " \\/ /                        (_)) __|((_)_  _((_)) (_))    / _ \\ _)((_)(_))   ((_)                           \\/ / \n" +
+            " / /\\                          | (_ |/ _` || '  \\()/ -_)  | (_) |\\ V / / -_) | '_|                           / /\\ \n" +
+            "/ /\\ \\                          \\___|\\__,_||_|_|_| \\___|   \\___/  \\_/  \\___| |_|                            / /\\ \\\n" +
+            "\\ \\/ /                                                                                                      \\ \\/ /\n" +
+            " \\/ /                                                                                                        \\/ / \n" +
+            " / /\\.--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--..--./ /\\ \n" +
+            "/ /\\ \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\.. \\/\\ \\\n" +
+            "\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `'\\ `' /\n" +
+            " `--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--'`--' \n";
+        for (String line : gameOverArt.split("\n")) {
+            frame.spaces((TERMINAL_WIDTH - line.length()) / 2).text(line).text("\n");
+        }
+        animateFrame(2);
+        displayMessage("The winner is " + player.getName() + "!");
+    }
+
+    public void reprintInputLine(String prompt, String input) {
+        appendInputLine(prompt, input);
+        flush();
+    }
+
+    private void appendInputLine(String prompt, String input) {
+        // Move the cursor up over the echoed input and clear that line
+        frame.text("\033[1A\033[2K\r").padded(prompt + input);
     }
 
     public void clearScreen() {
-        System.out.print("\033[H\033[2J");
-        System.out.flush();
+        frame.text(CLEAR_SCREEN);
+        flush();
     }
 
     public void displaySeparator() {
-        System.out.println("( ___ )" + repeatString("=", TERMINAL_WIDTH - 14) + "( ___ )");
+        frame.separator();
+        flush();
     }
 }
@@ -0,0 +1,21 @@
+package chaos_room.view;
+
+// Identifies which menu the controllers are asking about, so that a GameView
+// without a screen (e.g. a simulation policy) can answer it without parsing titles.
+public enum Decision {
+    // Manage Inventory, View Equipped Cards, Kick Open Door, End Turn
+    TURN_ACTION,
+    // Fight, Use Bonus Card and, while a Warrior may still rage, Warrior Rage
+    FIGHT_ACTION,
+    // One option per bonus card in inventory order, then Cancel
+    BONUS_CARD,
+    // One option per inventory card, then Cancel
+    RAGE_DISCARD,
+    // One option per inventory card, then Back
+    INVENTORY_CARD,
+    // Use card, Discard card, Cancel
+    CARD_ACTION,
+    // Replace the equipped item or character card, or keep it
+    REPLACE_CARD,
+    OTHER
+}
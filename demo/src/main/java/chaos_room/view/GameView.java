@@ -9,4 +9,13 @@ public interface GameView {
     String getCardInfo(Card card);
     void displayGameOver(Player player);
     int displayMenu(Object[] options, String title);
+
+    default int displayMenu(Decision decision, Object[] options, String title) {
+        return displayMenu(options, title);
+    }
+
+    // A headless view renders nothing, so callers may skip building messages and titles for it
+    default boolean isHeadless() {
+        return false;
+    }
 }
@@ -0,0 +1,183 @@
+package chaos_room.view;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+
+/**
+ * Reusable buffer that a whole screen is composed into before it is written out with a
+ * single write, so a redraw never reaches the terminal half-finished. Borders are built
+ * once and padding is copied from a shared run of spaces instead of being allocated.
+ */
+final class ScreenFrame {
+    static final int TERMINAL_WIDTH = 120;
+    static final String LEFT_BORDER = " |   |  ";
+    static final String RIGHT_BORDER = "  |   | ";
+    static final int INNER_WIDTH = TERMINAL_WIDTH - LEFT_BORDER.length() - RIGHT_BORDER.length();
+
+    private static final String TOP_BORDER = "( ___ )" + run('-', TERMINAL_WIDTH - 14) + "( ___ )";
+    private static final String BOTTOM_BORDER = "(_____)" + run('-', TERMINAL_WIDTH - 14) + "(_____)";
+    private static final String SEPARATOR = "( ___ )" + run('=', TERMINAL_WIDTH - 14) + "( ___ )";
+    private static final String SPACES = run(' ', TERMINAL_WIDTH);
+
+    private final OutputStream out;
+    private final StringBuilder buffer = new StringBuilder(4 * 1024);
+    private final CharsetEncoder encoder;
+    private ByteBuffer bytes = ByteBuffer.allocate(4 * 1024);
+
+    ScreenFrame(OutputStream out, Charset charset) {
+        this.out = out;
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    private static String run(char c, int length) {
+        char[] chars = new char[length];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+    ScreenFrame top() {
+        buffer.append(TOP_BORDER).append('\n');
+        return this;
+    }
+
+    ScreenFrame bottom() {
+        buffer.append(BOTTOM_BORDER).append('\n');
+        return this;
+    }
+
+    ScreenFrame separator() {
+        buffer.append(SEPARATOR).append('\n');
+        return this;
+    }
+
+    ScreenFrame text(CharSequence text) {
+        buffer.append(text);
+        return this;
+    }
+
+    ScreenFrame spaces(int count) {
+        while (count > 0) {
+            int chunk = Math.min(count, SPACES.length());
+            buffer.append(SPACES, 0, chunk);
+            count -= chunk;
+        }
+        return this;
+    }
+
+    // One bordered line, content centred
+    ScreenFrame centered(CharSequence line) {
+        return centered(line, 0, line.length());
+    }
+
+    private ScreenFrame centered(CharSequence line, int start, int end) {
+        int length = end - start;
+        int leftPad = Math.max(0, (INNER_WIDTH - length) / 2);
+        int rightPad = Math.max(0, INNER_WIDTH - length - leftPad);
+        buffer.append(LEFT_BORDER);
+        spaces(leftPad);
+        buffer.append(line, start, end);
+        spaces(rightPad);
+        buffer.append(RIGHT_BORDER).append('\n');
+        return this;
+    }
+
+    // One bordered line, content left-aligned
+    ScreenFrame padded(CharSequence content) {
+        buffer.append(LEFT_BORDER).append(content);
+        spaces(INNER_WIDTH - content.length());
+        buffer.append(RIGHT_BORDER).append('\n');
+        return this;
+    }
+
+    // Word-wraps every paragraph of the text to the inner width, each line centred
+    ScreenFrame wrapped(String text) {
+        int paragraphStart = 0;
+        while (paragraphStart <= text.length()) {
+            int paragraphEnd = text.indexOf('\n', paragraphStart);
+            if (paragraphEnd < 0) paragraphEnd = text.length();
+            wrapParagraph(text, paragraphStart, paragraphEnd);
+            paragraphStart = paragraphEnd + 1;
+        }
+        return this;
+    }
+
+    private void wrapParagraph(String text, int start, int end) {
+        int lineStart = -1;
+        int lineEnd = -1;
+        int wordStart = start;
+        while (wordStart <= end) {
+            int wordEnd = text.indexOf(' ', wordStart);
+            if (wordEnd < 0 || wordEnd > end) wordEnd = end;
+            if (wordEnd > wordStart) {
+                if (lineStart < 0) {
+                    lineStart = wordStart;
+                } else if (wordEnd - lineStart > INNER_WIDTH) {
+                    centered(text, lineStart, lineEnd);
+                    lineStart = wordStart;
+                }
+                lineEnd = wordEnd;
+            }
+            wordStart = wordEnd + 1;
+        }
+        if (lineStart >= 0) centered(text, lineStart, lineEnd);
+    }
+
+    int length() {
+        return buffer.length();
+    }
+
+    // Lines composed so far; the next line starts on screen row lineCount() + 1 after a clear
+    int lineCount() {
+        int lines = 0;
+        for (int i = 0; i < buffer.length(); i++) {
+            if (buffer.charAt(i) == '\n') lines++;
+        }
+        return lines;
+    }
+
+    void clear() {
+        buffer.setLength(0);
+    }
+
+    @Override
+    public String toString() {
+        return buffer.toString();
+    }
+
+    // Encodes the composed screen and hands it to the stream in one write
+    void flush() {
+        encoder.reset();
+        CharBuffer chars = CharBuffer.wrap(buffer);
+        ((Buffer) bytes).clear();
+        while (encoder.encode(chars, bytes, true).isOverflow()) {
+            grow();
+        }
+        while (encoder.flush(bytes).isOverflow()) {
+            grow();
+        }
+        buffer.setLength(0);
+        try {
+            out.write(bytes.array(), 0, bytes.position());
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void grow() {
+        ByteBuffer larger = ByteBuffer.allocate(bytes.capacity() * 2);
+        ((Buffer) bytes).flip();
+        larger.put(bytes);
+        bytes = larger;
+    }
+}
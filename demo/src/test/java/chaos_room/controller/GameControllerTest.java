@@ -1,6 +1,9 @@
 package chaos_room.controller;
 
 import chaos_room.model.*;
+import chaos_room.sim.GreedyPolicy;
+import chaos_room.sim.HeadlessView;
+import chaos_room.sim.Simulation;
 import chaos_room.view.ConsoleView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -40,4 +43,30 @@ class GameControllerTest {
     void testControllerInitialization() {
         assertNotNull(controller);
     }
+
+    @Test
+    void testHeadlessGameRunsToCompletion() {
+        player.starterPack();
+        GameController headless = new GameController(game, new HeadlessView(game, new GreedyPolicy()));
+        headless.setMaxTurns(Simulation.MAX_TURNS);
+
+        GameResult result = headless.playGame();
+
+        assertTrue(result.getTurns() <= Simulation.MAX_TURNS);
+        if (result.hasWinner()) {
+            assertSame(player, result.getWinner());
+            assertTrue(player.getLevel() >= GameController.WINNING_LEVEL);
+        }
+    }
+
+    @Test
+    void testTurnLimitStopsGameWithoutWinner() {
+        GameController headless = new GameController(game, new HeadlessView(game, (decision, g, p, optionCount) -> 3)); // Always end turn
+        headless.setMaxTurns(5);
+
+        GameResult result = headless.playGame();
+
+        assertFalse(result.hasWinner());
+        assertEquals(5, result.getTurns());
+    }
 }
\ No newline at end of file
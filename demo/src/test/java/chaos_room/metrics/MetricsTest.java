@@ -0,0 +1,106 @@
+package chaos_room.metrics;
+
+import chaos_room.controller.GameController;
+import chaos_room.model.Card;
+import chaos_room.model.CardType;
+import chaos_room.model.Game;
+import chaos_room.model.GameRandom;
+import chaos_room.model.Player;
+import chaos_room.sim.GreedyPolicy;
+import chaos_room.sim.Simulation;
+import chaos_room.view.Decision;
+import chaos_room.view.GameView;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsTest {
+
+    // Kicks the door every turn and fights whatever comes out
+    private static class KickingView implements GameView {
+        @Override
+        public int displayMenu(Decision decision, Object[] options, String title) {
+            return decision == Decision.TURN_ACTION ? 2 : 0;
+        }
+
+        @Override
+        public int displayMenu(Object[] options, String title) {
+            return 0;
+        }
+
+        @Override
+        public void displayMessage(String message) {
+        }
+
+        @Override
+        public void waitForInput() {
+        }
+
+        @Override
+        public String getCardInfo(Card card) {
+            return "";
+        }
+
+        @Override
+        public void displayGameOver(Player player) {
+        }
+    }
+
+    private static long cardsDrawn() {
+        long total = 0;
+        for (CardType type : CardType.values()) {
+            total += Metrics.CARDS_DRAWN.get(type);
+        }
+        return total + Metrics.CARDS_DRAWN.get(null);
+    }
+
+    @Test
+    void testPlayedGamesAreCountedAndSimulatedOnesAreNot() {
+        long drawn = cardsDrawn();
+        long turns = Metrics.TURN.getCount();
+        Simulation.playGame(2, new GreedyPolicy());
+        assertEquals(drawn, cardsDrawn());
+        assertEquals(turns, Metrics.TURN.getCount());
+
+        Game game = new Game(Simulation.newPlayers(2), new GameRandom(3));
+        for (Player player : game.getPlayers()) {
+            player.starterPack();
+        }
+        GameController controller = new GameController(game, new KickingView());
+        controller.setMaxTurns(6);
+        controller.playGame();
+        assertEquals(turns + 6, Metrics.TURN.getCount());
+        // Every turn draws a door card
+        assertTrue(cardsDrawn() >= drawn + 6);
+    }
+
+    @Test
+    void testEndpointServesPrometheusText() throws IOException {
+        Metrics.LEVELS_LOST.add(0);
+        try (MetricsServer server = new MetricsServer(0)) {
+            HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + server.getPort() + MetricsServer.PATH).openConnection();
+            assertEquals(200, connection.getResponseCode());
+            assertTrue(connection.getContentType().startsWith("text/plain; version=0.0.4"));
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            try (InputStream in = connection.getInputStream()) {
+                byte[] buffer = new byte[4096];
+                int n;
+                while ((n = in.read(buffer)) > 0) {
+                    body.write(buffer, 0, n);
+                }
+            }
+            String text = new String(body.toByteArray(), StandardCharsets.UTF_8);
+            assertTrue(text.contains("# TYPE chaos_room_fights_total counter\n"));
+            assertTrue(text.contains("chaos_room_fights_total{outcome=\"won\"} "));
+            assertTrue(text.contains("chaos_room_turn_seconds_count "));
+            assertTrue(text.contains("chaos_room_catalog_load_seconds_sum "));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package chaos_room.metrics;
+
+import chaos_room.model.Card;
+import chaos_room.model.CardCatalog;
+import chaos_room.model.CardType;
+import chaos_room.model.Encounter;
+import chaos_room.model.FightOutcome;
+import chaos_room.model.MonsterCard;
+import chaos_room.model.Player;
+import chaos_room.sim.BalanceSimulator;
+import chaos_room.sim.BalanceStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonsterHistogramsTest {
+
+    private static Encounter encounter(String monsterId, int monsterStrength) {
+        MonsterCard monster = new MonsterCard(monsterId, "Dragon", CardType.MONSTER, "Strong", monsterStrength, "Lose levels", 1, 1, 2, null, "drawPile", monsterStrength);
+        return new Encounter(monster, new Player("Hero", "Male"), monsterStrength, 5, false);
+    }
+
+    @Test
+    void testPercentilesAndClamping() {
+        Histogram histogram = new Histogram(-2, 5);
+        for (int value = 1; value <= 4; value++) {
+            histogram.record(value);
+        }
+        histogram.record(99);
+        histogram.record(-99);
+        assertEquals(6, histogram.getCount());
+        assertEquals(1, histogram.getCount(5));
+        assertEquals(1, histogram.getCount(-2));
+        assertEquals(-2, histogram.getPercentile(0.1));
+        assertEquals(2, histogram.getPercentile(0.5));
+        assertEquals(5, histogram.getPercentile(1));
+        assertThrows(IllegalArgumentException.class, () -> histogram.merge(new Histogram(0, 5)));
+    }
+
+    @Test
+    void testConcurrentRecordingMergesAcrossProcesses() throws InterruptedException {
+        MonsterHistograms shared = new MonsterHistograms();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    Encounter encounter = encounter("m1", 10);
+                    encounter.useBonusCard(3);
+                    encounter.setEscapeRoll(i % 6 + 1);
+                    shared.record(encounter, FightOutcome.DEFEATED, 2);
+                }
+            }));
+        }
+        for (Thread thread : threads) thread.start();
+        for (Thread thread : threads) thread.join();
+
+        MonsterHistograms.Outcomes outcomes = shared.get("m1");
+        assertEquals(4000, outcomes.getFights());
+        // A level 1 hero against strength 10
+        assertEquals(-9, outcomes.getStrengthGap().getPercentile(0.5));
+        assertEquals(4000, outcomes.getBonusCardsSpent().getCount(1));
+        assertEquals(3.5, outcomes.getEscapeRolls().getMean(), 0.01);
+        assertEquals(2, outcomes.getLevelsLost().getPercentile(0.9));
+
+        MonsterHistograms other = new MonsterHistograms();
+        other.record(encounter("m2", 1), FightOutcome.WON, 0);
+        other.mergeFrom(shared.encode());
+        assertEquals(4000, other.get("m1").getLevelsLost().getCount());
+        assertEquals(1, other.get("m2").getFights());
+        assertEquals(0, other.get("m2").getEscapeRolls().getCount());
+    }
+
+    @Test
+    void testSimulationsCollectEveryFight() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            BalanceStats stats = BalanceSimulator.run(200, 2, 21L, pool);
+            long fights = 0;
+            for (Card card : CardCatalog.getInstance().getDoorCards()) {
+                if (!(card instanceof MonsterCard)) continue;
+                MonsterCard monster = (MonsterCard) card;
+                MonsterHistograms.Outcomes outcomes = stats.getMonsterHistograms().get(monster.getId());
+                long won = stats.getFights(monster, FightOutcome.WON);
+                long escaped = stats.getFights(monster, FightOutcome.ESCAPED);
+                long defeated = stats.getFights(monster, FightOutcome.DEFEATED);
+                if (outcomes == null) {
+                    assertEquals(0, won + escaped + defeated);
+                    continue;
+                }
+                assertEquals(won + escaped + defeated, outcomes.getFights());
+                assertEquals(escaped + defeated, outcomes.getEscapeRolls().getCount());
+                assertEquals(defeated, outcomes.getLevelsLost().getCount());
+                fights += outcomes.getFights();
+            }
+            assertTrue(fights > 0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
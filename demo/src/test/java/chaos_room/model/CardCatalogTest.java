@@ -0,0 +1,100 @@
+package chaos_room.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardCatalogTest {
+
+    @Test
+    void testCatalogIsLoadedOnce() {
+        assertSame(CardCatalog.getInstance(), CardCatalog.getInstance());
+    }
+
+    @Test
+    void testCatalogContainsAllCardFiles() {
+        CardCatalog catalog = CardCatalog.getInstance();
+        assertEquals(24, catalog.getDoorCards().size()); // 13 monsters + 7 characters + 4 bonus
+        assertEquals(8, catalog.getTreasureCards().size()); // 5 equipment + 3 treasures
+    }
+
+    @Test
+    void testCatalogIsReadOnly() {
+        CardCatalog catalog = CardCatalog.getInstance();
+        assertThrows(UnsupportedOperationException.class, () -> catalog.getDoorCards().clear());
+        assertThrows(UnsupportedOperationException.class, () -> catalog.getTreasureCards().clear());
+    }
+
+    @Test
+    void testCatalogCardsAreFrozen() {
+        MonsterCard monster = (MonsterCard) CardCatalog.getInstance().getDoorCards().get(0);
+        assertTrue(monster.isFrozen());
+        assertThrows(IllegalStateException.class, () -> monster.setLevel(99));
+        assertThrows(UnsupportedOperationException.class, () -> monster.getTags().put("vsElf", 5));
+        assertFalse(new MonsterCard().isFrozen());
+    }
+
+    @Test
+    void testDrawsComeFromSharedCatalog() {
+        Player player = new Player("TestHero", "Male");
+        assertTrue(CardCatalog.getInstance().getDoorCards().contains(player.drawDoorCard()));
+        assertTrue(CardCatalog.getInstance().getTreasureCards().contains(player.drawTreasureCard()));
+    }
+
+    @Test
+    void testMissingCardFileIsReported() {
+        UncheckedIOException e = assertThrows(UncheckedIOException.class,
+                () -> CardJson.readCards("NoSuchCards.json", MonsterCard.class));
+        assertTrue(e.getMessage().contains("NoSuchCards.json"));
+    }
+
+    @Test
+    void testMalformedCardFileIsReported() {
+        UncheckedIOException e = assertThrows(UncheckedIOException.class,
+                () -> CardJson.readCards("MalformedCards.json", MonsterCard.class));
+        assertTrue(e.getMessage().contains("MalformedCards.json"));
+    }
+
+    @Test
+    void testMappedCatalogMatchesJsonCatalog(@TempDir Path dir) throws IOException {
+        CardCatalog json = CardCatalog.getInstance();
+        Path file = dir.resolve("cards.bin");
+        MappedCardCatalog.write(json, file);
+        CardCatalog mapped = CardCatalog.load(MappedCardCatalog.open(file));
+
+        assertEquals(json.getDoorCards().size(), mapped.getDoorCards().size());
+        assertEquals(json.getTreasureCards().size(), mapped.getTreasureCards().size());
+        for (int i = 0; i < json.size(); i++) {
+            Card expected = json.getCard(i);
+            Card actual = mapped.getCard(i);
+            assertSame(actual, mapped.getCard(i));
+            assertEquals(i, actual.getCatalogIndex());
+            assertEquals(expected.getClass(), actual.getClass());
+            assertEquals(expected.toString(), actual.toString());
+            assertEquals(expected.getDetails(), actual.getDetails());
+        }
+
+        MonsterCard expected = (MonsterCard) json.getDoorCards().get(0);
+        MonsterCard actual = (MonsterCard) mapped.getDoorCards().get(0);
+        assertEquals(expected.getNastyEffect(), actual.getNastyEffect());
+        assertEquals(expected.getTags(), actual.getTags());
+        assertEquals(expected.getLevelsLost(), actual.getLevelsLost());
+    }
+
+    @Test
+    void testMappedCatalogFindsCardsById(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("cards.bin");
+        MappedCardCatalog.write(CardCatalog.getInstance(), file);
+        MappedCardCatalog mapped = MappedCardCatalog.open(file);
+
+        for (Card card : CardCatalog.getInstance().getCards()) {
+            assertEquals(card.getCatalogIndex(), mapped.indexOf(card.getId()));
+        }
+        assertEquals(-1, mapped.indexOf("no-such-card"));
+    }
+}
@@ -0,0 +1,73 @@
+package chaos_room.model;
+
+import chaos_room.metrics.Metrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogWatcherTest {
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void testChangedCardsReachOnlyNewGames(@TempDir Path dir) throws IOException, InterruptedException {
+        for (String[] files : new String[][]{CardCatalog.DOOR_FILES, CardCatalog.TREASURE_FILES}) {
+            for (String file : files) {
+                try (InputStream in = getClass().getClassLoader().getResourceAsStream(file)) {
+                    Files.copy(in, dir.resolve(file));
+                }
+            }
+        }
+        CardCatalog original = CardCatalog.getInstance();
+        Game running = new Game(Collections.singletonList(new Player("Hero", "Male")), new GameRandom(1));
+        Path monsters = dir.resolve("MonsterCards.json");
+        String json = new String(Files.readAllBytes(monsters), StandardCharsets.UTF_8);
+
+        AtomicReference<RuntimeException> rejected = new AtomicReference<>();
+        CatalogWatcher.Listener listener = new CatalogWatcher.Listener() {
+            @Override
+            public void onRejected(Path directory, RuntimeException error) {
+                rejected.set(error);
+            }
+        };
+        try (CatalogWatcher watcher = new CatalogWatcher(dir, listener)) {
+            Files.write(monsters, json.replace("Stunned Grass", "Startled Grass").getBytes(StandardCharsets.UTF_8));
+            await(() -> watcher.getReloads() == 1);
+            assertTrue(watcher.getLastReloadNanos() > 0);
+
+            CardCatalog reloaded = CardCatalog.getInstance();
+            assertNotSame(original, reloaded);
+            assertEquals("Startled Grass", reloaded.getDoorCards().get(0).getName());
+            assertSame(original, running.getDeck().getCatalog());
+            assertEquals("Stunned Grass", original.getDoorCards().get(0).getName());
+            Game started = new Game(Collections.singletonList(new Player("Hero", "Male")), new GameRandom(1));
+            assertSame(reloaded, started.getDeck().getCatalog());
+
+            long failures = Metrics.CATALOG_RELOAD_FAILURES.get();
+            Files.write(monsters, json.replace("\"MON-002\"", "\"MON-001\"").getBytes(StandardCharsets.UTF_8));
+            await(() -> rejected.get() != null);
+            assertTrue(rejected.get().getMessage().contains("MON-001"));
+            assertTrue(Metrics.CATALOG_RELOAD_FAILURES.get() > failures);
+            assertSame(reloaded, CardCatalog.getInstance());
+            assertEquals(1, watcher.getReloads());
+        } finally {
+            CardCatalog.setInstance(original);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package chaos_room.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeckTest {
+
+    private CardCatalog catalog;
+    private Deck deck;
+
+    @BeforeEach
+    void setUp() {
+        catalog = CardCatalog.getInstance();
+        deck = new Deck(catalog, new Random(42));
+    }
+
+    @Test
+    void testDrawPileHandsOutEveryCardOnce() {
+        int doorCards = catalog.getDoorCards().size();
+        Set<Card> drawn = new HashSet<>();
+        for (int i = 0; i < doorCards; i++) {
+            Card card = deck.drawDoorCard();
+            assertTrue(catalog.getDoorCards().contains(card));
+            assertEquals(Deck.Zone.HAND, deck.getZone(card));
+            drawn.add(card);
+        }
+        assertEquals(doorCards, drawn.size());
+        assertEquals(0, deck.getDoorCardsLeft());
+        assertNull(deck.drawDoorCard()); // Nothing left to draw and nothing discarded
+    }
+
+    @Test
+    void testDiscardPileIsReshuffledWhenDrawPileRunsOut() {
+        int treasureCards = catalog.getTreasureCards().size();
+        Card first = null;
+        for (int i = 0; i < treasureCards; i++) {
+            Card card = deck.drawTreasureCard();
+            if (first == null) first = card;
+        }
+        deck.discard(first);
+        assertEquals(Deck.Zone.DISCARD_PILE, deck.getZone(first));
+        assertEquals(1, deck.getTreasureDiscardCount());
+
+        assertSame(first, deck.drawTreasureCard());
+        assertEquals(0, deck.getTreasureDiscardCount());
+        assertEquals(Deck.Zone.HAND, deck.getZone(first));
+    }
+
+    @Test
+    void testCardsCannotBeDiscardedTwiceOrFromDrawPile() {
+        Card drawn = deck.drawDoorCard();
+        deck.discard(drawn);
+        deck.discard(drawn);
+        assertEquals(1, deck.getDoorDiscardCount());
+
+        int left = deck.getDoorCardsLeft();
+        Card stillInPile = null;
+        for (Card card : catalog.getDoorCards()) {
+            if (deck.getZone(card) == Deck.Zone.DRAW_PILE) {
+                stillInPile = card;
+                break;
+            }
+        }
+        deck.discard(stillInPile);
+        assertEquals(1, deck.getDoorDiscardCount());
+        assertEquals(left, deck.getDoorCardsLeft());
+    }
+
+    @Test
+    void testPlayerZonesFollowTheCard() {
+        Player player = new Player("TestHero", "Male");
+        Game game = new Game(Collections.singletonList(player));
+        Card treasure = player.drawTreasureCard();
+        player.getInventory().add(treasure);
+
+        player.addCardToPlayerDeck(treasure);
+        player.getInventory().remove(treasure);
+        assertEquals(Deck.Zone.IN_PLAY, game.getDeck().getZone(treasure));
+
+        player.unequip(treasure);
+        assertEquals(Deck.Zone.HAND, game.getDeck().getZone(treasure));
+        assertTrue(player.getInventory().contains(treasure));
+
+        player.discard(treasure);
+        assertEquals(Deck.Zone.DISCARD_PILE, game.getDeck().getZone(treasure));
+        assertFalse(player.getInventory().contains(treasure));
+    }
+
+    @Test
+    void testCardsOutsideTheCatalogAreNotTracked() {
+        EquipmentCard sword = new EquipmentCard("sword", "Sword of Testing", CardType.EQUIPMENT, "Sharp blade", 3, "Hand", 150, "drawPile");
+        assertNull(deck.getZone(sword));
+        deck.discard(sword);
+        assertEquals(0, deck.getTreasureDiscardCount());
+    }
+}
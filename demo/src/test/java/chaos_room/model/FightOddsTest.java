@@ -0,0 +1,97 @@
+package chaos_room.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FightOddsTest {
+
+    private static MonsterCard monster(int level, Object levelsLost) {
+        return new MonsterCard("m1", "Dragon", CardType.MONSTER, "Strong", level, "Lose levels", 1, 1, levelsLost, null, "drawPile", level);
+    }
+
+    private static Card bonusCard(int bonus) {
+        return new OneTimeBonusCard("b" + bonus, "Potion", CardType.BONUS, "Bonus", 0, bonus, "drawPile");
+    }
+
+    private static Card otherCard() {
+        return new EquipmentCard("e1", "Helmet", CardType.EQUIPMENT, "Armor", 1, "head", 100, "drawPile");
+    }
+
+    @Test
+    void testBonusCardPlaysAreCounted() {
+        Player player = new Player("Hero", "Male");
+        player.getInventory().add(bonusCard(5));
+        player.getInventory().add(bonusCard(10));
+        player.getInventory().add(otherCard());
+        player.getInventory().add(bonusCard(5));
+        Encounter encounter = new Encounter(monster(10, 2), player, 10, 5, false);
+
+        FightOdds odds = FightOdds.of(encounter);
+        assertFalse(odds.isWinningNow());
+        assertEquals(1, odds.getCardsToWin());
+        assertEquals(1, odds.getBonusCardsToWin());
+        // Strength 1 needs 10 more: {10}, {5, 5}, {10, 5} twice and {10, 5, 5} out of 2^3 plays
+        assertEquals(5, odds.getWinningPlays());
+        assertEquals(8, odds.getPlays());
+        assertEquals(2 / 6.0, odds.getEscapeChance(), 1e-9);
+        assertEquals(4 / 6.0, odds.getBadStuffChance(), 1e-9);
+        // A level 1 player has no levels to lose
+        assertEquals(0, odds.getExpectedLevelsLost(), 1e-9);
+    }
+
+    @Test
+    void testWarriorRageAndDynamicLevelLoss() {
+        Player player = new Player("Hero", "Male");
+        player.setLevel(3);
+        player.getInventory().add(otherCard());
+        player.getInventory().add(otherCard());
+        Encounter encounter = new Encounter(monster(9, "dynamic"), player, 9, 7, true);
+
+        FightOdds odds = FightOdds.of(encounter);
+        assertEquals(2, odds.getCardsToWin());
+        assertEquals(0, odds.getBonusCardsToWin());
+        assertEquals(1, odds.getWinningPlays());
+        assertEquals(4, odds.getPlays());
+        assertEquals(0, odds.getEscapeChance(), 1e-9);
+        // A die roll of 1 costs one level, anything higher both levels above 1
+        assertEquals(11 / 6.0, odds.getExpectedLevelsLost(), 1e-9);
+
+        encounter.rage();
+        encounter.rage();
+        player.getInventory().clear();
+        FightOdds winning = FightOdds.of(encounter);
+        assertTrue(winning.isWinningNow());
+        assertEquals(0, winning.getCardsToWin());
+        assertEquals(1, winning.getWinChance(), 1e-9);
+        assertEquals(0, winning.getBadStuffChance(), 1e-9);
+    }
+
+    @Test
+    void testFixedLossIsNotCappedByTheDie() {
+        Player player = new Player("Hero", "Male");
+        player.setLevel(20);
+        assertEquals(10, FightOdds.of(new Encounter(monster(30, 10), player, 30, 5, false)).getExpectedLevelsLost(), 1e-9);
+        player.setLevel(8);
+        assertEquals(7, FightOdds.of(new Encounter(monster(30, 10), player, 30, 5, false)).getExpectedLevelsLost(), 1e-9);
+
+        // A bonus too large for the cache key takes the uncached path
+        player.setLevel(20);
+        player.getInventory().add(bonusCard(20));
+        assertEquals(10, FightOdds.of(new Encounter(monster(30, 10), player, 30, 5, false)).getExpectedLevelsLost(), 1e-9);
+    }
+
+    @Test
+    void testOddsAreCachedPerHandSignature() {
+        Player first = new Player("First", "Male");
+        first.getInventory().add(bonusCard(10));
+        first.getInventory().add(bonusCard(5));
+        Player second = new Player("Second", "Female");
+        second.getInventory().add(bonusCard(5));
+        second.getInventory().add(bonusCard(10));
+
+        FightOdds odds = FightOdds.of(new Encounter(monster(12, 1), first, 12, 5, false));
+        assertSame(odds, FightOdds.of(new Encounter(monster(12, 1), second, 12, 5, false)));
+        assertNotSame(odds, FightOdds.of(new Encounter(monster(13, 1), second, 13, 5, false)));
+    }
+}
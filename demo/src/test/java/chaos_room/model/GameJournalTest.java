@@ -0,0 +1,98 @@
+package chaos_room.model;
+
+import chaos_room.controller.GameController;
+import chaos_room.sim.GreedyPolicy;
+import chaos_room.sim.HeadlessView;
+import chaos_room.sim.Simulation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameJournalTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void testGameRandomMatchesRandom() {
+        Random expected = new Random(99);
+        GameRandom random = new GameRandom(99);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(expected.nextInt(6), random.nextInt(6));
+        }
+        long state = random.getState();
+        int next = random.nextInt();
+        random.setState(state);
+        assertEquals(next, random.nextInt());
+    }
+
+    @Test
+    void testSnapshotRoundTrip() {
+        Game game = new Game(Simulation.newPlayers(6), new GameRandom(5));
+        for (Player player : game.getPlayers()) {
+            player.starterPack();
+        }
+        game.getPlayers().get(0).addCardToPlayerDeck(game.getPlayers().get(0).getInventory().get(0));
+        game.nextTurn();
+
+        byte[] snapshot = GameSnapshot.capture(game);
+        Game restored = GameSnapshot.restore(snapshot);
+        assertArrayEquals(snapshot, GameSnapshot.capture(restored));
+        assertEquals(2, restored.getTurn());
+        assertEquals("Bot 2", restored.getCurrentPlayer().getName());
+        assertEquals(game.getRandom().nextInt(), restored.getRandom().nextInt());
+    }
+
+    @Test
+    void testReplayRebuildsEveryTurn() throws IOException {
+        Path file = dir.resolve("game.journal");
+        Game game = new Game(Simulation.newPlayers(4), new GameRandom(11));
+        Map<Integer, byte[]> turns = new TreeMap<>();
+        try (GameJournal journal = GameJournal.start(file, game)) {
+            journal.setCheckpointInterval(7);
+            for (Player player : game.getPlayers()) {
+                player.starterPack();
+            }
+            GameController controller = new GameController(game, new HeadlessView(game, new GreedyPolicy()));
+            // Stop at every turn boundary to remember what the game looked like there
+            for (int turn = 1; turn <= 200; turn++) {
+                controller.setMaxTurns(turn);
+                if (controller.playGame().hasWinner()) break;
+                turns.put(game.getTurn(), GameSnapshot.capture(game));
+            }
+        }
+        assertTrue(turns.size() > 20, "the game should last a while");
+
+        for (Map.Entry<Integer, byte[]> turn : turns.entrySet()) {
+            assertArrayEquals(turn.getValue(), GameSnapshot.capture(GameJournal.replay(file, turn.getKey())),
+                    "turn " + turn.getKey());
+        }
+        assertArrayEquals(GameSnapshot.capture(game), GameSnapshot.capture(GameJournal.replay(file)));
+    }
+
+    @Test
+    void testJournalIsReadableWithoutClosing() throws IOException {
+        Path file = dir.resolve("crash.journal");
+        Game game = new Game(Collections.singletonList(new Player("Ann", "Female")), new GameRandom(3));
+        GameJournal journal = GameJournal.start(file, game);
+        game.getPlayers().get(0).starterPack();
+        game.getPlayers().get(0).levelUp(2);
+
+        // As if the JVM had died here: the events are already in the file
+        Game replayed = GameJournal.replay(file);
+        assertEquals(3, replayed.getPlayers().get(0).getLevel());
+        assertEquals(4, replayed.getPlayers().get(0).getInventory().size());
+        journal.close();
+
+        assertThrows(IllegalArgumentException.class, () -> GameJournal.start(dir.resolve("plain.journal"),
+                new Game(Collections.singletonList(new Player("Bob", "Male")), new Random())));
+    }
+}
@@ -0,0 +1,135 @@
+package chaos_room.model;
+
+import chaos_room.sim.Simulation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSaveTest {
+    @TempDir
+    Path dir;
+
+    private static Game sixPlayerGame() {
+        Game game = new Game(Simulation.newPlayers(6), new GameRandom(8));
+        for (Player player : game.getPlayers()) {
+            player.starterPack();
+            player.levelUp(player.getName().length() % 3);
+        }
+        Player first = game.getPlayers().get(0);
+        first.addCardToPlayerDeck(first.getInventory().get(1));
+        for (int i = 0; i < 9; i++) {
+            game.nextTurn();
+        }
+        return game;
+    }
+
+    @Test
+    void testSaveAndLoad() throws IOException {
+        Game game = sixPlayerGame();
+        // A person may pick a bot-like name; only the flag makes a seat a bot
+        game.getPlayers().get(1).setBot(false);
+        byte[] bytes = GameSave.toBytes(game);
+        assertTrue(bytes.length < 400, "a 6-player save should stay small, was " + bytes.length);
+
+        Game loaded = GameSave.fromBytes(bytes);
+        assertEquals(10, loaded.getTurn());
+        assertTrue(loaded.getPlayers().get(0).isBot());
+        assertFalse(loaded.getPlayers().get(1).isBot());
+        assertEquals(game.getCurrentPlayer().getName(), loaded.getCurrentPlayer().getName());
+        for (int i = 0; i < 6; i++) {
+            Player expected = game.getPlayers().get(i);
+            Player actual = loaded.getPlayers().get(i);
+            assertEquals(expected.getLevel(), actual.getLevel());
+            assertEquals(expected.isBot(), actual.isBot());
+            assertEquals(expected.getInventory(), actual.getInventory());
+            assertEquals(expected.getPlayerDeck(), actual.getPlayerDeck());
+            assertEquals(expected.getStrength(), actual.getStrength());
+        }
+        assertEquals(game.getDeck().getDoorCardsLeft(), loaded.getDeck().getDoorCardsLeft());
+        assertEquals(game.getDeck().drawDoorCard(), loaded.getDeck().drawDoorCard());
+        assertArrayEquals(bytes, GameSave.toBytes(loaded));
+    }
+
+    @Test
+    void testDamagedSavesAreRefused() {
+        byte[] bytes = GameSave.toBytes(sixPlayerGame());
+        byte[] corrupt = bytes.clone();
+        corrupt[corrupt.length - 1] ^= 1;
+        assertThrows(IOException.class, () -> GameSave.fromBytes(corrupt));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 5);
+        assertThrows(IOException.class, () -> GameSave.fromBytes(truncated));
+        byte[] otherCards = bytes.clone();
+        otherCards[6] ^= 1;
+        assertThrows(IOException.class, () -> GameSave.fromBytes(otherCards));
+    }
+
+    @Test
+    void testAutosaveWritesEveryTurnInTheBackground() throws Exception {
+        Path file = dir.resolve("game.sav");
+        Game game = sixPlayerGame();
+        Autosave autosave = new Autosave(file);
+        game.addListener(autosave);
+        for (int i = 0; i < 5; i++) {
+            game.nextTurn();
+        }
+        autosave.close();
+        assertNull(autosave.getLastError());
+        assertEquals(15, GameSave.load(file).getTurn());
+        assertFalse(Files.exists(dir.resolve("game.sav.tmp")));
+
+        autosave.delete();
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void testLongNamesSurvive() throws IOException {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 40_000; i++) {
+            name.append('\u00e9');
+        }
+        Game game = new Game(Arrays.asList(new Player(name.toString(), "Female"), new Player("Bob", null)), new GameRandom(2));
+        Game loaded = GameSave.fromBytes(GameSave.toBytes(game));
+        assertEquals(name.toString(), loaded.getPlayers().get(0).getName());
+        assertEquals("Bob", loaded.getPlayers().get(1).getName());
+        assertNull(loaded.getPlayers().get(1).getGender());
+    }
+
+    @Test
+    void testCatalogsBeyondShortIndexes() throws IOException {
+        for (String file : CardCatalog.DOOR_FILES) {
+            try (InputStream in = getClass().getClassLoader().getResourceAsStream(file)) {
+                Files.copy(in, dir.resolve(file));
+            }
+        }
+        StringBuilder treasures = new StringBuilder("[");
+        for (int i = 0; i < 70_000; i++) {
+            if (i > 0) treasures.append(',');
+            treasures.append("{\"id\":\"TRE-").append(i).append("\",\"type\":\"treasure\",\"name\":\"Coin\",")
+                    .append("\"description\":\"\",\"value\":100}");
+        }
+        Files.write(dir.resolve(CardCatalog.TREASURE_FILES[0]), "[]".getBytes(StandardCharsets.UTF_8));
+        Files.write(dir.resolve(CardCatalog.TREASURE_FILES[1]), treasures.append(']').toString().getBytes(StandardCharsets.UTF_8));
+        CardCatalog catalog = CardCatalog.load(dir);
+
+        Game game = new Game(Simulation.newPlayers(2), new GameRandom(3), catalog);
+        Player first = game.getPlayers().get(0);
+        for (int i = 0; i < 4; i++) {
+            first.addToInventory(game.getDeck().drawTreasureCard());
+        }
+        assertTrue(first.getInventory().get(0).getCatalogIndex() > Short.MAX_VALUE);
+
+        Game loaded = GameSave.fromBytes(GameSave.toBytes(game), catalog);
+        assertEquals(first.getInventory(), loaded.getPlayers().get(0).getInventory());
+        assertEquals(game.getDeck().getTreasureCardsLeft(), loaded.getDeck().getTreasureCardsLeft());
+        assertEquals(game.getDeck().drawTreasureCard(), loaded.getDeck().drawTreasureCard());
+    }
+}
@@ -1,10 +1,15 @@
 package chaos_room.model;
 
+import chaos_room.sim.GreedyPolicy;
+import chaos_room.sim.Simulation;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -40,4 +45,56 @@ class GameTest {
         assertEquals(3, game.getTurn());
         assertEquals(player1, game.getCurrentPlayer());
     }
+
+    @Test
+    void testMonsterTagsAreEvaluatedWithoutTouchingTheCard() {
+        Map<String, Object> tags = new HashMap<>();
+        tags.put("undead", true);
+        tags.put("vsDwarf", 5);
+        MonsterCard horse = new MonsterCard("m1", "Undead Horse", CardType.MONSTER, "", 4, "", 2, 1, 2, tags, "drawPile", 4);
+
+        assertEquals(4, game.checkMonsterTags(horse, player1));
+
+        player1.addCardToPlayerDeck(new CharacterCard("race-dwarf", "Dwarf", CardType.RACE, "", null));
+        assertEquals(9, game.checkMonsterTags(horse, player1));
+        assertEquals(4, horse.getStrength());
+        assertEquals(4, game.checkMonsterTags(horse, player2));
+    }
+
+    @Test
+    void testEscapeTargetIsPerFight() {
+        Map<String, Object> slimeTags = new HashMap<>();
+        slimeTags.put("escapeBonus", -2);
+        MonsterCard slime = new MonsterCard("m2", "Slime", CardType.MONSTER, "", 4, "", 2, 1, 0, slimeTags, "drawPile", 4);
+        Map<String, Object> trapTags = new HashMap<>();
+        trapTags.put("noEscape", true);
+        MonsterCard trap = new MonsterCard("m3", "Trap", CardType.MONSTER, "", 1, "", 1, 1, 0, trapTags, "drawPile", 1);
+
+        int baseTarget = player1.getEscapeChances();
+        assertEquals(baseTarget + 2, game.getEscapeTarget(slime, player1));
+        assertEquals(baseTarget + 2, game.getEscapeTarget(slime, player1));
+        assertEquals(MonsterModifiers.NO_ESCAPE, game.getEscapeTarget(trap, player1));
+        assertEquals(baseTarget, player1.getEscapeChances());
+    }
+
+    @Test
+    void testLevelsLostIsDecodedOnce() {
+        assertEquals(2, MonsterModifiers.compile(null, 2).getLevelsLost());
+        assertEquals(3, MonsterModifiers.compile(null, "3").getLevelsLost());
+        assertTrue(MonsterModifiers.compile(null, "dynamic").isDynamicLevelsLost());
+        assertEquals(0, MonsterModifiers.compile(null, "none").getLevelsLost());
+    }
+
+    @Test
+    void testSeedReproducesTheGame() {
+        GameResult first = Simulation.playGame(Simulation.newPlayers(4), new GreedyPolicy(), new GameRandom(2024), null);
+        GameResult second = Simulation.playGame(Simulation.newPlayers(4), new GreedyPolicy(), new GameRandom(2024), null);
+        assertEquals(first.getTurns(), second.getTurns());
+        assertEquals(first.getWinner().getName(), second.getWinner().getName());
+
+        GameRandom parent = new GameRandom(5);
+        GameRandom split = parent.split();
+        assertEquals(split.getSeed(), new GameRandom(5).split().getSeed());
+        assertNotEquals(new GameRandom(5).nextLong(), split.nextLong());
+    }
 }
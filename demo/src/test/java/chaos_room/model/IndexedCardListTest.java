@@ -0,0 +1,95 @@
+package chaos_room.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedCardListTest {
+
+    private static MonsterCard monster(String id, String... tags) {
+        Map<String, Object> tagMap = new HashMap<>();
+        for (String tag : tags) {
+            tagMap.put(tag, true);
+        }
+        return new MonsterCard(id, id, CardType.MONSTER, "", 1, "", 1, 1, 0, tagMap, "drawPile", 1);
+    }
+
+    private static Card bonus(String id) {
+        return new OneTimeBonusCard(id, "Potion", CardType.BONUS, "Bonus", 0, 2, "drawPile");
+    }
+
+    @Test
+    void testIndexesFollowEveryChange() {
+        IndexedCardList cards = new IndexedCardList();
+        Card first = bonus("b1");
+        Card second = bonus("b2");
+        MonsterCard zombie = monster("m1", "undead");
+        cards.add(first);
+        cards.add(zombie);
+        cards.add(second);
+        assertEquals(Arrays.asList(first, second), cards.ofType(CardType.BONUS));
+        assertEquals(Collections.singletonList(zombie), cards.withTag("undead"));
+        assertSame(zombie, cards.findById("m1"));
+
+        Card inserted = bonus("b3");
+        cards.add(1, inserted);
+        assertEquals(Arrays.asList(first, inserted, second), cards.ofType(CardType.BONUS));
+
+        cards.remove(first);
+        cards.set(0, monster("m2", "undead", "vsDwarf"));
+        assertEquals(Collections.singletonList(second), cards.ofType(CardType.BONUS));
+        assertEquals(2, cards.count(CardType.MONSTER));
+        assertEquals("m2", cards.withTag("undead").get(0).getId());
+        assertEquals(1, cards.withTag("vsDwarf").size());
+        assertFalse(cards.containsId("b1"));
+
+        cards.clear();
+        assertEquals(0, cards.count(CardType.MONSTER));
+        assertTrue(cards.withTag("undead").isEmpty());
+        assertNull(cards.findById("m1"));
+        assertThrows(UnsupportedOperationException.class, () -> cards.ofType(CardType.BONUS).add(first));
+    }
+
+    @Test
+    void testDuplicateIdsStayFound() {
+        IndexedCardList cards = new IndexedCardList();
+        Card first = bonus("b1");
+        Card copy = bonus("b1");
+        cards.add(first);
+        cards.add(copy);
+        cards.remove(first);
+        assertSame(copy, cards.findById("b1"));
+    }
+
+    @Test
+    void testPlayerAndCatalogLookups() {
+        CardCatalog catalog = CardCatalog.getInstance();
+        for (Card card : catalog.getCards()) {
+            assertSame(card, catalog.getCard(card.getId()));
+            assertTrue(catalog.getCards(card.getType()).contains(card));
+        }
+        assertNull(catalog.getCard("no-such-card"));
+        List<MonsterCard> undead = catalog.getMonstersWithTag("undead");
+        assertFalse(undead.isEmpty());
+        for (MonsterCard monster : undead) {
+            assertTrue(monster.getTags().containsKey("undead"));
+        }
+
+        Player player = new Player("Hero", "Male");
+        Card dwarf = catalog.getCard("race-dwarf");
+        player.getInventory().add(dwarf);
+        player.addCardToPlayerDeck(dwarf);
+        player.removeFromInventory(dwarf);
+        assertTrue(player.hasCardInPlay("race-dwarf"));
+        assertEquals(Collections.singletonList(dwarf), player.getPlayerDeck(CardType.RACE));
+        assertTrue(player.getInventory(CardType.RACE).isEmpty());
+        player.discard(dwarf);
+        assertFalse(player.hasCardInPlay("race-dwarf"));
+    }
+}
@@ -3,6 +3,9 @@ package chaos_room.model;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class PlayerTest {
@@ -60,4 +63,82 @@ class PlayerTest {
         player.getInventory().remove(card);
         assertTrue(player.getInventory().isEmpty());
     }
+
+    @Test
+    void testEquipmentIsIndexedBySlot() {
+        EquipmentCard helmet = new EquipmentCard("helm", "Helmet", CardType.EQUIPMENT, "Hard", 2, "Head", 100, "drawPile");
+        EquipmentCard sword = new EquipmentCard("sword", "Sword of Testing", CardType.EQUIPMENT, "Sharp blade", 3, "Hand", 150, "drawPile");
+        player.addCardToPlayerDeck(helmet);
+        player.addCardToPlayerDeck(sword);
+
+        assertSame(helmet, player.getEquipped("Head"));
+        assertSame(sword, player.getEquipped("Hand"));
+        assertNull(player.getEquipped("Feet"));
+        assertEquals(6, player.getStrength()); // 1 (Level) + 2 (Helmet) + 3 (Sword)
+
+        player.unequip(helmet);
+        assertNull(player.getEquipped("Head"));
+        assertTrue(player.getInventory().contains(helmet));
+        assertEquals(4, player.getStrength());
+
+        player.discard(sword);
+        assertNull(player.getEquipped("Hand"));
+        assertEquals(1, player.getStrength());
+    }
+
+    @Test
+    void testRaceAndClassFollowCharacterCards() {
+        CharacterCard elf = new CharacterCard("race-elf", "Elf", CardType.RACE, "", null);
+        CharacterCard dwarf = new CharacterCard("race-dwarf", "Dwarf", CardType.RACE, "", null);
+        CharacterCard warrior = new CharacterCard("class-warrior", "Warrior", CardType.CLASS, "", null);
+        assertNull(player.getRace());
+        assertNull(player.getPlayerClass());
+
+        player.addCardToPlayerDeck(elf);
+        player.addCardToPlayerDeck(warrior);
+        assertSame(elf, player.getRace());
+        assertSame(warrior, player.getCharacterCard(CardType.CLASS));
+
+        // Replacing a race goes through CharacterCard.use, which discards the old one
+        player.discard(elf);
+        player.addCardToPlayerDeck(dwarf);
+        assertSame(dwarf, player.getRace());
+        assertSame(warrior, player.getPlayerClass());
+        // Named after the character card played first, whichever kind it is
+        assertEquals("Warrior", player.getPlayerCharacter());
+    }
+
+    @Test
+    void testTraitsFollowCharacterCards() {
+        CharacterCard elf = new CharacterCard("race-elf", "Elf", CardType.RACE, "", null);
+        CharacterCard dwarf = new CharacterCard("race-dwarf", "Dwarf", CardType.RACE, "", null);
+        CharacterCard warrior = new CharacterCard("class-warrior", "Warrior", CardType.CLASS, "", null);
+        Map<String, Object> tags = new HashMap<>();
+        tags.put("vsDwarf", 5);
+        tags.put("vsWarrior", 2);
+        MonsterCard monster = new MonsterCard("m1", "Horse", CardType.MONSTER, "", 4, "", 1, 1, 0, tags, "drawPile", 4);
+        assertEquals(0, player.getTraits());
+
+        player.addCardToPlayerDeck(elf);
+        player.addCardToPlayerDeck(warrior);
+        assertTrue(player.hasTrait(Trait.ELF));
+        assertTrue(player.hasTrait(Trait.WARRIOR));
+        assertFalse(player.hasTrait(Trait.DWARF));
+        assertEquals(6, monster.getModifiers().strengthAgainst(4, player));
+
+        player.discard(elf);
+        player.addCardToPlayerDeck(dwarf);
+        assertEquals(Trait.DWARF.mask() | Trait.WARRIOR.mask(), player.getTraits());
+        assertEquals(11, monster.getModifiers().strengthAgainst(4, player));
+
+        player.unequip(warrior);
+        assertFalse(player.hasTrait(Trait.WARRIOR));
+        assertEquals(9, monster.getModifiers().strengthAgainst(4, player));
+    }
+
+    @Test
+    void testPlayerDeckIsReadOnly() {
+        assertThrows(UnsupportedOperationException.class,
+                () -> player.getPlayerDeck().add(new CharacterCard("race-elf", "Elf", CardType.RACE, "", null)));
+    }
 }
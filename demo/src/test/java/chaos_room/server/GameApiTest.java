@@ -0,0 +1,189 @@
+package chaos_room.server;
+
+import chaos_room.model.CardJson;
+import chaos_room.model.Game;
+import chaos_room.model.GameJournal;
+import chaos_room.model.GameRandom;
+import chaos_room.model.GameSnapshot;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameApiTest {
+    private final GameApi api = new GameApi();
+
+    @AfterEach
+    void tearDown() {
+        api.close();
+    }
+
+    private JsonNode call(String method, String path, String body, Map<String, String> query) throws IOException {
+        String json = api.handle(method, path, query, body == null ? null : body.getBytes(StandardCharsets.UTF_8));
+        return json == null ? null : CardJson.mapper().readTree(json);
+    }
+
+    private JsonNode poll(String id, long after) throws IOException {
+        Map<String, String> query = new HashMap<>();
+        query.put("after", Long.toString(after));
+        query.put("wait", "5000");
+        return call("GET", "/games/" + id, null, query);
+    }
+
+    private static JsonNode findEvent(JsonNode state, long id) {
+        for (JsonNode event : state.get("events")) {
+            if (event.get("id").asLong() == id) return event;
+        }
+        return null;
+    }
+
+    @Test
+    void testMenusAreAnsweredThroughTheApi() throws IOException {
+        JsonNode created = call("POST", "/games", "{\"players\": [\"Ann\", \"Bob\"], \"seed\": 7}", null);
+        assertEquals(7, created.get("seed").asLong());
+        String id = created.get("id").asText();
+        long after = 0;
+        for (int i = 0; i < 40; i++) {
+            JsonNode state = poll(id, after);
+            assertFalse(state.get("over").asBoolean());
+            long menu = state.get("pendingMenu").asLong();
+            assertTrue(menu > 0, "the game should be waiting for a choice");
+            JsonNode event = findEvent(state, menu);
+            assertNotNull(event);
+            assertEquals("menu", event.get("type").asText());
+            int options = event.get("options").size();
+            int choice = "TURN_ACTION".equals(event.get("decision").asText()) ? 2 + i % 2 : options - 1;
+            if ("FIGHT_ACTION".equals(event.get("decision").asText())) choice = 0;
+            assertNull(call("POST", "/games/" + id + "/choice", "{\"menu\": " + menu + ", \"choice\": " + choice + "}", null));
+            after = state.get("lastEventId").asLong();
+        }
+
+        call("DELETE", "/games/" + id, null, null);
+        assertEquals(0, api.size());
+    }
+
+    @Test
+    void testBadRequestsAreRejected() throws IOException {
+        String id = call("POST", "/games", "{\"players\": [\"Ann\"]}", null).get("id").asText();
+        long menu = poll(id, 0).get("pendingMenu").asLong();
+
+        ApiException outOfRange = assertThrows(ApiException.class,
+                () -> call("POST", "/games/" + id + "/choice", "{\"menu\": " + menu + ", \"choice\": 99}", null));
+        assertEquals(400, outOfRange.getStatus());
+        ApiException stale = assertThrows(ApiException.class,
+                () -> call("POST", "/games/" + id + "/choice", "{\"menu\": " + (menu - 1) + ", \"choice\": 0}", null));
+        assertEquals(409, stale.getStatus());
+        assertEquals(404, assertThrows(ApiException.class, () -> call("GET", "/games/nope", null, Collections.emptyMap())).getStatus());
+        assertEquals(400, assertThrows(ApiException.class, () -> call("POST", "/games", "{\"players\": []}", null)).getStatus());
+    }
+
+    @Test
+    void testSessionsAreCapped() throws IOException {
+        try (GameApi capped = new GameApi(SessionThreads.newPerSessionExecutor("capped-"), 1)) {
+            String id = capped.create(Collections.singletonList("Ann"), new GameRandom(1)).getId();
+            ApiException full = assertThrows(ApiException.class, () -> capped.create(Collections.singletonList("Bob"), new GameRandom(2)));
+            assertEquals(503, full.getStatus());
+            capped.remove(id);
+            assertNotNull(capped.create(Collections.singletonList("Bob"), new GameRandom(2)));
+        }
+    }
+
+    @Test
+    void testEndedGamesGiveTheirSlotBack() throws InterruptedException {
+        try (GameApi capped = new GameApi(SessionThreads.newPerSessionExecutor("capped-"), 1)) {
+            GameSession first = capped.create(Collections.singletonList("Ann"), new GameRandom(1));
+            first.getView().awaitEvents(0, true, 5000);
+            // The game thread ends while the session stays listed for clients to read its last events
+            first.close();
+            long deadline = System.currentTimeMillis() + 5000;
+            GameSession second = null;
+            while (second == null) {
+                try {
+                    second = capped.create(Collections.singletonList("Bob"), new GameRandom(2));
+                } catch (ApiException e) {
+                    assertEquals(503, e.getStatus());
+                    assertTrue(System.currentTimeMillis() < deadline, "the slot was not given back");
+                    Thread.sleep(10);
+                }
+            }
+            assertEquals(2, capped.size());
+        }
+    }
+
+    @Test
+    void testGamesAreJournaledWhenConfigured(@TempDir Path dir) throws IOException, InterruptedException {
+        System.setProperty(GameJournal.DIR_PROPERTY, dir.toString());
+        try {
+            GameSession session = api.create(Collections.singletonList("Ann"), new GameRandom(4));
+            session.getView().awaitEvents(0, true, 5000);
+            // Parked at its first menu, so the journal holds everything up to here
+            Game replayed = GameJournal.replay(dir.resolve("api-" + session.getId() + ".journal"));
+            assertArrayEquals(GameSnapshot.capture(session.getGame()), GameSnapshot.capture(replayed));
+        } finally {
+            System.clearProperty(GameJournal.DIR_PROPERTY);
+        }
+    }
+
+    @Test
+    void testHttpServerServesTheApi() throws IOException {
+        try (GameHttpServer server = new GameHttpServer(new InetSocketAddress("127.0.0.1", 0), api,
+                Executors.newCachedThreadPool(GameApi.daemonThreads("http-test-")))) {
+            server.start();
+            HttpURLConnection post = (HttpURLConnection) new URL("http://127.0.0.1:" + server.getPort() + "/api/games").openConnection();
+            post.setRequestMethod("POST");
+            post.setDoOutput(true);
+            try (OutputStream out = post.getOutputStream()) {
+                out.write("{\"players\": [\"Ann\"]}".getBytes(StandardCharsets.UTF_8));
+            }
+            assertEquals(200, post.getResponseCode());
+            String id = CardJson.mapper().readTree(read(post.getInputStream())).get("id").asText();
+
+            HttpURLConnection events = (HttpURLConnection) new URL("http://127.0.0.1:" + server.getPort() + "/api/games/" + id + "/events").openConnection();
+            assertEquals("text/event-stream; charset=utf-8", events.getContentType());
+            InputStream stream = events.getInputStream();
+            StringBuilder received = new StringBuilder();
+            // Read until the first menu has been pushed
+            while (!received.toString().contains("\"type\":\"menu\"")) {
+                int c = stream.read();
+                assertTrue(c >= 0);
+                received.append((char) c);
+            }
+            assertTrue(received.toString().startsWith("id: 1\ndata: {"));
+            events.disconnect();
+
+            HttpURLConnection missing = (HttpURLConnection) new URL("http://127.0.0.1:" + server.getPort() + "/api/games/nope").openConnection();
+            assertEquals(404, missing.getResponseCode());
+            HttpURLConnection noGame = (HttpURLConnection) new URL("http://127.0.0.1:" + server.getPort() + "/api/events").openConnection();
+            assertEquals(404, noGame.getResponseCode());
+            HttpURLConnection badQuery = (HttpURLConnection) new URL("http://127.0.0.1:" + server.getPort() + "/api/games/" + id + "?after=%zz").openConnection();
+            assertEquals(400, badQuery.getResponseCode());
+        }
+    }
+
+    private static String read(InputStream in) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            bytes.write(buffer, 0, n);
+        }
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,102 @@
+package chaos_room.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSocketServerTest {
+    private final GameSocketServer server;
+
+    GameSocketServerTest() throws IOException {
+        server = new GameSocketServer(new InetSocketAddress("127.0.0.1", 0), SessionThreads.newPerSessionExecutor("player-"));
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    // Reads until the server stops at a prompt or a question
+    private static String readUntil(InputStream in, String end) throws IOException {
+        ByteArrayOutputStream text = new ByteArrayOutputStream();
+        while (!text.toString("UTF-8").endsWith(end)) {
+            int b = in.read();
+            if (b < 0) fail("connection closed after: " + text);
+            text.write(b);
+        }
+        return text.toString("UTF-8");
+    }
+
+    private static void send(OutputStream out, String line) throws IOException {
+        out.write((line + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    @Test
+    void testConnectionsBeyondTheCapAreTurnedAway() throws Exception {
+        try (GameSocketServer capped = new GameSocketServer(new InetSocketAddress("127.0.0.1", 0),
+                SessionThreads.newPerSessionExecutor("capped-"), 1)) {
+            capped.start();
+            try (Socket first = new Socket("127.0.0.1", capped.getPort())) {
+                first.setSoTimeout(5000);
+                assertTrue(readUntil(first.getInputStream(), "name?\r\n").startsWith("Welcome"));
+                try (Socket second = new Socket("127.0.0.1", capped.getPort())) {
+                    second.setSoTimeout(5000);
+                    assertTrue(readUntil(second.getInputStream(), "\r\n").contains("full"));
+                    assertEquals(-1, second.getInputStream().read());
+                }
+            }
+            // The first game ends with its connection and gives its slot back
+            long deadline = System.currentTimeMillis() + 5000;
+            while (true) {
+                try (Socket third = new Socket("127.0.0.1", capped.getPort())) {
+                    third.setSoTimeout(5000);
+                    if (readUntil(third.getInputStream(), "\r\n").startsWith("Welcome")) break;
+                }
+                assertTrue(System.currentTimeMillis() < deadline, "the slot was not given back");
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    @Test
+    void testGameIsPlayedOverTheSocket() throws Exception {
+        try (Socket socket = new Socket("127.0.0.1", server.getPort())) {
+            socket.setSoTimeout(5000);
+            InputStream in = socket.getInputStream();
+            OutputStream out = socket.getOutputStream();
+            assertTrue(readUntil(in, "name?\r\n").startsWith("Welcome"));
+            send(out, "Ann");
+
+            String screen = readUntil(in, "\r\n" + SocketGameView.PROMPT);
+            assertTrue(screen.contains("1) "), screen);
+            send(out, "seven");
+            assertTrue(readUntil(in, "\r\n" + SocketGameView.PROMPT).startsWith("Type a number"));
+            send(out, "99");
+            assertTrue(readUntil(in, "\r\n" + SocketGameView.PROMPT).startsWith("Type a number"));
+
+            for (int i = 0; i < 30; i++) {
+                send(out, "1");
+                readUntil(in, "\r\n" + SocketGameView.PROMPT);
+            }
+            assertEquals(1, server.getSessionCount());
+        }
+
+        // Hanging up ends the session on the server
+        long deadline = System.currentTimeMillis() + 5000;
+        while (server.getSessionCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, server.getSessionCount());
+    }
+}
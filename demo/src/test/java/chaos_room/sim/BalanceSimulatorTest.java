@@ -0,0 +1,50 @@
+package chaos_room.sim;
+
+import chaos_room.model.Card;
+import chaos_room.model.CardCatalog;
+import chaos_room.model.FightOutcome;
+import chaos_room.model.MonsterCard;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BalanceSimulatorTest {
+
+    @Test
+    void testSameSeedGivesSameReportWhateverTheThreadCount() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool parallel = new ForkJoinPool(4);
+        try {
+            BalanceStats first = BalanceSimulator.run(12_000, 3, 42L, single);
+            BalanceStats second = BalanceSimulator.run(12_000, 3, 42L, parallel);
+
+            assertEquals(12_000, first.getGames());
+            assertEquals(first.getGames(), second.getGames());
+            assertEquals(first.getUnfinishedGames(), second.getUnfinishedGames());
+            assertEquals(first.getAverageRoundsToWin(), second.getAverageRoundsToWin());
+            for (Card card : CardCatalog.getInstance().getDoorCards()) {
+                if (!(card instanceof MonsterCard)) continue;
+                for (FightOutcome outcome : FightOutcome.values()) {
+                    assertEquals(first.getFights((MonsterCard) card, outcome), second.getFights((MonsterCard) card, outcome));
+                }
+            }
+        } finally {
+            single.shutdown();
+            parallel.shutdown();
+        }
+    }
+
+    @Test
+    void testEveryFinishedGameIsCounted() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            BalanceStats stats = BalanceSimulator.run(1_000, 2, 7L, pool);
+            assertTrue(stats.getAverageRoundsToWin() > 0);
+            assertTrue(stats.getRoundsToWinPercentile(0.5) <= stats.getRoundsToWinPercentile(0.9));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package chaos_room.sim;
+
+import chaos_room.controller.GameController;
+import chaos_room.model.Game;
+import chaos_room.model.GameRandom;
+import chaos_room.model.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MctsPolicyTest {
+    private static final long BUDGET_MILLIS = 10;
+
+    @Test
+    void testBotPlaysAgainstGreedyWithinItsBudget() {
+        ExecutorService executor = Executors.newFixedThreadPool(1);
+        try {
+            List<Player> players = Simulation.newPlayers(2);
+            GameRandom random = new GameRandom(5);
+            Game game = new Game(players, random);
+            for (Player player : players) {
+                player.starterPack();
+            }
+            MctsPolicy mcts = new MctsPolicy(BUDGET_MILLIS, 3, 2, executor, random.split());
+            long[] slowest = new long[1];
+            int[] rollouts = new int[1];
+            Map<Player, DecisionPolicy> bots = new IdentityHashMap<>();
+            bots.put(players.get(0), (decision, g, player, optionCount) -> {
+                long start = System.nanoTime();
+                int choice = mcts.choose(decision, g, player, optionCount);
+                slowest[0] = Math.max(slowest[0], System.nanoTime() - start);
+                rollouts[0] = Math.max(rollouts[0], mcts.getLastRollouts());
+                assertTrue(choice >= 0 && choice < optionCount);
+                return choice;
+            });
+            GameController controller = new GameController(game, new BotSeatView(game, new HeadlessView(game, new GreedyPolicy()), bots));
+            controller.setMaxTurns(20);
+            controller.playGame();
+
+            assertTrue(rollouts[0] > 0, "no decision was searched");
+            // Generous for a loaded build machine; the search itself stops at the budget
+            assertTrue(slowest[0] < TimeUnit.MILLISECONDS.toNanos(BUDGET_MILLIS + 200), "a decision took " + slowest[0] / 1_000_000 + " ms");
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
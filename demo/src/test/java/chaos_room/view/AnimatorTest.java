@@ -0,0 +1,47 @@
+package chaos_room.view;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnimatorTest {
+
+    @Test
+    void testDisabledAnimatorWritesAtOnce() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Animator animator = new Animator(out, StandardCharsets.UTF_8, false)) {
+            animator.typewriter("Welcome, hero!", 1000);
+            assertTrue(animator.isIdle());
+            assertEquals("Welcome, hero!", new String(out.toByteArray(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testEffectsPlayInOrderOffTheCallingThread() throws InterruptedException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Animator animator = new Animator(out, StandardCharsets.UTF_8, true)) {
+            animator.typewriter("abc", 5);
+            animator.typewriter("---", 0);
+            animator.awaitIdle();
+            assertEquals("abc---", new String(out.toByteArray(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testSkipFinishesEveryQueuedEffect() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Animator animator = new Animator(out, StandardCharsets.UTF_8, true)) {
+            animator.typewriter("a very slow intro", 10_000);
+            animator.typewriter(" and more", 10_000);
+            assertFalse(animator.isIdle());
+
+            animator.skip();
+
+            assertTrue(animator.isIdle());
+            assertEquals("a very slow intro and more", new String(out.toByteArray(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package chaos_room.view;
+
+import org.jline.terminal.Terminal;
+import org.jline.terminal.TerminalBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsoleViewTest {
+    private static final String[] OPTIONS = {"Fight", "Use Bonus Card", "Run", "Cancel"};
+
+    private static Terminal scriptedTerminal(PipedInputStream keys) throws IOException {
+        return TerminalBuilder.builder().system(false).streams(keys, new ByteArrayOutputStream())
+                .type(Terminal.TYPE_DUMB).build();
+    }
+
+    @Test
+    void testArrowKeysRedrawOnlyTheChangedOptions() throws Exception {
+        PipedOutputStream typing = new PipedOutputStream();
+        PipedInputStream keys = new PipedInputStream(typing);
+        ByteArrayOutputStream screen = new ByteArrayOutputStream();
+        try (Terminal terminal = scriptedTerminal(keys)) {
+            ConsoleView view = new ConsoleView(terminal, screen, StandardCharsets.UTF_8);
+            Thread typist = new Thread(() -> {
+                try {
+                    // Each key is only typed once the screen has reacted to the previous one
+                    int drawn = 0;
+                    for (String key : new String[]{"\033[B", "\033[B", "\r"}) {
+                        while (screen.size() == drawn) {
+                            Thread.sleep(5);
+                        }
+                        drawn = screen.size();
+                        typing.write(key.getBytes(StandardCharsets.UTF_8));
+                        typing.flush();
+                    }
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            typist.start();
+
+            assertEquals(2, view.displayMenu(OPTIONS, "Choose combat action:"));
+            typist.join();
+        }
+
+        String output = screen.toString(StandardCharsets.UTF_8.name());
+        // The title is painted once; each key press only rewrites two option rows (4-7)
+        assertEquals(output.indexOf("Choose combat action:"), output.lastIndexOf("Choose combat action:"));
+        assertTrue(output.contains("\033[4;1H" + ScreenFrame.LEFT_BORDER + "  Fight"));
+        assertTrue(output.contains("\033[5;1H" + ScreenFrame.LEFT_BORDER + "> Use Bonus Card"));
+        assertTrue(output.contains("\033[6;1H" + ScreenFrame.LEFT_BORDER + "> Run"));
+    }
+
+    @Test
+    void testKeysThatArriveTogetherAreCoalesced() throws Exception {
+        PipedOutputStream typing = new PipedOutputStream();
+        PipedInputStream keys = new PipedInputStream(typing);
+        ByteArrayOutputStream screen = new ByteArrayOutputStream();
+        typing.write("\033[B\033[B\033[B\033[A\r".getBytes(StandardCharsets.UTF_8));
+        try (Terminal terminal = scriptedTerminal(keys)) {
+            ConsoleView view = new ConsoleView(terminal, screen, StandardCharsets.UTF_8);
+            assertEquals(2, view.displayMenu(OPTIONS, "Choose combat action:"));
+        }
+        assertFalse(screen.toString(StandardCharsets.UTF_8.name()).contains(";1H"));
+    }
+}
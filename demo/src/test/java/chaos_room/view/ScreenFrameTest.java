@@ -0,0 +1,67 @@
+package chaos_room.view;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScreenFrameTest {
+
+    // Records how many writes reach the stream
+    private static class CountingStream extends ByteArrayOutputStream {
+        int writes;
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            writes++;
+            super.write(b, off, len);
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            writes++;
+            super.write(b);
+        }
+    }
+
+    @Test
+    void testScreenIsWrittenInOneWrite() throws IOException {
+        CountingStream out = new CountingStream();
+        ConsoleView view = new ConsoleView(out, StandardCharsets.UTF_8);
+
+        view.displayMessage("Congratulations! You have defeated the monster.\nYou gain 2 treasures and 1 levels.");
+
+        assertEquals(1, out.writes);
+        String[] lines = out.toString(StandardCharsets.UTF_8.name()).split("\n");
+        assertEquals(4, lines.length);
+        for (String line : lines) {
+            assertEquals(ScreenFrame.TERMINAL_WIDTH, line.length());
+        }
+        assertTrue(lines[1].contains("Congratulations! You have defeated the monster."));
+    }
+
+    @Test
+    void testLongTextIsWrappedToInnerWidth() throws IOException {
+        CountingStream out = new CountingStream();
+        ScreenFrame frame = new ScreenFrame(out, StandardCharsets.UTF_8);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 60; i++) {
+            text.append("word").append(i).append(' ');
+        }
+
+        frame.wrapped(text.toString()).flush();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8.name()).split("\n");
+        assertTrue(lines.length > 1);
+        StringBuilder rejoined = new StringBuilder();
+        for (String line : lines) {
+            assertEquals(ScreenFrame.TERMINAL_WIDTH, line.length());
+            rejoined.append(line, ScreenFrame.LEFT_BORDER.length(), line.length() - ScreenFrame.RIGHT_BORDER.length()).append(' ');
+        }
+        assertEquals(text.toString().trim(), rejoined.toString().trim().replaceAll(" +", " "));
+        assertEquals(0, frame.length());
+    }
+}